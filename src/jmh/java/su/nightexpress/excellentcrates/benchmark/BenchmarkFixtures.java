@@ -0,0 +1,108 @@
+package su.nightexpress.excellentcrates.benchmark;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockito.Mockito;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.api.crate.Reward;
+import su.nightexpress.excellentcrates.config.Keys;
+import su.nightexpress.excellentcrates.crate.impl.Crate;
+import su.nightexpress.excellentcrates.crate.impl.Rarity;
+import su.nightexpress.excellentcrates.crate.limit.CooldownMode;
+import su.nightexpress.excellentcrates.crate.limit.LimitValues;
+import su.nightexpress.excellentcrates.crate.reward.impl.CommandReward;
+import su.nightexpress.excellentcrates.data.DataManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic crates and a mocked plugin for benchmarks. The plugin is a Mockito mock with a real
+ * {@link DataManager}, Bukkit API is provided by MockBukkit. Nothing is read from or written to disk.
+ */
+public class BenchmarkFixtures {
+
+    public static final int  RARITIES = 5;
+    public static final long SEED     = 42L;
+
+    private static ServerMock server;
+
+    @NotNull
+    public static synchronized ServerMock server() {
+        if (server == null) {
+            server = MockBukkit.mock();
+        }
+        return server;
+    }
+
+    public static synchronized void shutdown() {
+        if (server != null) {
+            MockBukkit.unmock();
+            server = null;
+        }
+        Keys.clear();
+    }
+
+    @NotNull
+    public static CratesPlugin createPlugin() {
+        server();
+
+        CratesPlugin plugin = Mockito.mock(CratesPlugin.class);
+        Mockito.when(plugin.getName()).thenReturn("ExcellentCrates");
+
+        DataManager dataManager = new DataManager(plugin);
+        Mockito.when(plugin.getDataManager()).thenReturn(dataManager);
+
+        Keys.load(plugin);
+        return plugin;
+    }
+
+    @NotNull
+    public static Player createPlayer() {
+        return server().addPlayer();
+    }
+
+    /**
+     * Creates a crate with the given amount of command rewards split between {@link #RARITIES} rarities.
+     * Every 4th reward has per-player limits, so player filtering has to look up limit data.
+     */
+    @NotNull
+    public static Crate createCrate(@NotNull CratesPlugin plugin, int rewardCount) {
+        Crate crate = new Crate(plugin, Path.of("benchmark.yml"), "benchmark");
+        Random random = new Random(SEED);
+
+        List<Rarity> rarities = new ArrayList<>();
+        for (int index = 0; index < RARITIES; index++) {
+            rarities.add(new Rarity(plugin, "rarity_" + index, "Rarity " + index, 10 + random.nextInt(90)));
+        }
+
+        List<Reward> rewards = new ArrayList<>(rewardCount);
+        for (int index = 0; index < rewardCount; index++) {
+            CommandReward reward = new CommandReward(plugin, crate, "reward_" + index, rarities.get(index % RARITIES));
+            reward.setWeight(1 + random.nextInt(100));
+            if (index % 4 == 0) {
+                reward.setLimits(new LimitValues(true, CooldownMode.CUSTOM, -1, 5, 0L, 3600L));
+            }
+            rewards.add(reward);
+        }
+
+        crate.setRewards(rewards);
+        return crate;
+    }
+
+    /**
+     * Creates global and player limit entries for every reward of the crate.
+     */
+    public static void createRewardLimits(@NotNull CratesPlugin plugin, @NotNull Crate crate, @NotNull Player player) {
+        DataManager dataManager = plugin.getDataManager();
+
+        crate.getRewards().forEach(reward -> {
+            dataManager.getRewardLimitOrCreate(reward, null);
+            dataManager.getRewardLimitOrCreate(reward, player);
+        });
+    }
+}
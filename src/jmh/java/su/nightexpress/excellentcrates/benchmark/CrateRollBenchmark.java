@@ -0,0 +1,62 @@
+package su.nightexpress.excellentcrates.benchmark;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.api.crate.Reward;
+import su.nightexpress.excellentcrates.crate.impl.Crate;
+
+import java.util.List;
+import java.util.Set;
+
+@State(Scope.Benchmark)
+public class CrateRollBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    public int rewards;
+
+    private Crate  crate;
+    private Player player;
+    private Reward reward;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CratesPlugin plugin = BenchmarkFixtures.createPlugin();
+
+        this.crate = BenchmarkFixtures.createCrate(plugin, this.rewards);
+        this.player = BenchmarkFixtures.createPlayer();
+        this.reward = this.crate.getRewards().iterator().next();
+
+        BenchmarkFixtures.createRewardLimits(plugin, this.crate, this.player);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFixtures.shutdown();
+    }
+
+    @Benchmark
+    public Reward rollReward() {
+        return this.crate.rollReward();
+    }
+
+    @Benchmark
+    public Reward rollRewardForPlayer() {
+        return this.crate.rollReward(this.player);
+    }
+
+    @Benchmark
+    public Set<Reward> getRewards() {
+        return this.crate.getRewards();
+    }
+
+    @Benchmark
+    public List<Reward> getRewardsForPlayer() {
+        return this.crate.getRewards(this.player);
+    }
+
+    @Benchmark
+    public double getRollChance() {
+        return this.reward.getRollChance();
+    }
+}
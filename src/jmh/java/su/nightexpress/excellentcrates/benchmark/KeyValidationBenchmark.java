@@ -0,0 +1,39 @@
+package su.nightexpress.excellentcrates.benchmark;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.key.UuidAntiDupeManager;
+
+/**
+ * Validation of a key that is already in the valid UUID cache, which is the path of every key use.
+ */
+@State(Scope.Benchmark)
+public class KeyValidationBenchmark {
+
+    private UuidAntiDupeManager manager;
+    private ItemStack           keyItem;
+    private Player              player;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CratesPlugin plugin = BenchmarkFixtures.createPlugin();
+
+        this.manager = new UuidAntiDupeManager(plugin);
+        this.player = BenchmarkFixtures.createPlayer();
+        this.keyItem = new ItemStack(Material.TRIPWIRE_HOOK);
+        this.manager.injectUuid(this.keyItem);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFixtures.shutdown();
+    }
+
+    @Benchmark
+    public boolean validateKeyUuid() {
+        return this.manager.validateKeyUuid(this.keyItem, this.player);
+    }
+}
@@ -0,0 +1,47 @@
+package su.nightexpress.excellentcrates.benchmark;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.api.crate.Reward;
+import su.nightexpress.excellentcrates.crate.impl.Crate;
+import su.nightexpress.excellentcrates.data.DataManager;
+import su.nightexpress.excellentcrates.data.reward.RewardData;
+
+@State(Scope.Benchmark)
+public class RewardLimitBenchmark {
+
+    @Param({"10", "1000", "5000"})
+    public int rewards;
+
+    private DataManager dataManager;
+    private Player      player;
+    private Reward      reward;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CratesPlugin plugin = BenchmarkFixtures.createPlugin();
+        Crate crate = BenchmarkFixtures.createCrate(plugin, this.rewards);
+
+        this.dataManager = plugin.getDataManager();
+        this.player = BenchmarkFixtures.createPlayer();
+        this.reward = crate.getRewards().iterator().next();
+
+        BenchmarkFixtures.createRewardLimits(plugin, crate, this.player);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFixtures.shutdown();
+    }
+
+    @Benchmark
+    public RewardData getGlobalLimit() {
+        return this.dataManager.getRewardLimit(this.reward, null);
+    }
+
+    @Benchmark
+    public RewardData getPlayerLimit() {
+        return this.dataManager.getRewardLimit(this.reward, this.player);
+    }
+}
@@ -0,0 +1,57 @@
+package su.nightexpress.excellentcrates.benchmark;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.crate.impl.Crate;
+import su.nightexpress.excellentcrates.opening.inventory.InventoryOpening;
+import su.nightexpress.excellentcrates.opening.inventory.spinner.SpinMode;
+import su.nightexpress.excellentcrates.opening.inventory.spinner.SpinStep;
+import su.nightexpress.excellentcrates.opening.inventory.spinner.SpinnerData;
+import su.nightexpress.excellentcrates.opening.inventory.spinner.impl.RewardSpinner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class RewardSpinnerBenchmark {
+
+    private static final int[] SLOTS    = {18, 19, 20, 21, 22, 23, 24, 25, 26};
+    private static final int   WIN_SLOT = 22;
+
+    @Param({"10", "100", "1000", "5000"})
+    public int rewards;
+
+    private RewardSpinner spinner;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CratesPlugin plugin = BenchmarkFixtures.createPlugin();
+        Crate crate = BenchmarkFixtures.createCrate(plugin, this.rewards);
+        Player player = BenchmarkFixtures.createPlayer();
+        BenchmarkFixtures.createRewardLimits(plugin, crate, player);
+
+        InventoryOpening opening = Mockito.mock(InventoryOpening.class, Answers.RETURNS_DEEP_STUBS);
+        Mockito.when(opening.getInventory()).thenReturn(BenchmarkFixtures.server().createInventory(null, 45));
+        Mockito.when(opening.getConfig().getWinSlots()).thenReturn(new int[]{WIN_SLOT});
+        Mockito.when(opening.getCrate()).thenReturn(crate);
+        Mockito.when(opening.getPlayer()).thenReturn(player);
+        Mockito.when(opening.getRewards()).thenReturn(new ArrayList<>());
+
+        SpinnerData data = new SpinnerData("benchmark", SpinMode.INDEPENDENT, SLOTS, 0, List.of(new SpinStep(50, 1)), null);
+        this.spinner = new RewardSpinner(data, opening, crate.getRarities());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFixtures.shutdown();
+    }
+
+    @Benchmark
+    public ItemStack createItem() {
+        return this.spinner.createItem(SLOTS[0]);
+    }
+}
@@ -0,0 +1,49 @@
+package su.nightexpress.excellentcrates.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.*;
+import su.nightexpress.excellentcrates.data.crate.UserCrateData;
+import su.nightexpress.excellentcrates.data.serialize.UserCrateDataSerializer;
+
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serialization of user crate data as it is stored in the database, a map of crate ID to data.
+ */
+@State(Scope.Benchmark)
+public class UserCrateDataBenchmark {
+
+    private static final Type MAP_TYPE = new TypeToken<Map<String, UserCrateData>>() {}.getType();
+
+    @Param({"1", "10", "100"})
+    public int crates;
+
+    private Gson                       gson;
+    private Map<String, UserCrateData> dataMap;
+    private String                     json;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.gson = new GsonBuilder().registerTypeAdapter(UserCrateData.class, new UserCrateDataSerializer()).create();
+
+        this.dataMap = new LinkedHashMap<>();
+        for (int index = 0; index < this.crates; index++) {
+            this.dataMap.put("crate_" + index, new UserCrateData(System.currentTimeMillis() + index * 1000L, index, index % 10));
+        }
+        this.json = this.gson.toJson(this.dataMap, MAP_TYPE);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return this.gson.toJson(this.dataMap, MAP_TYPE);
+    }
+
+    @Benchmark
+    public Map<String, UserCrateData> deserialize() {
+        return this.gson.fromJson(this.json, MAP_TYPE);
+    }
+}
@@ -0,0 +1,59 @@
+package su.nightexpress.excellentcrates.sync;
+
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.*;
+import su.nightexpress.excellentcrates.benchmark.BenchmarkFixtures;
+import su.nightexpress.excellentcrates.data.crate.UserCrateData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Encoding and decoding of USER_UPDATE messages, the most frequent and largest sync message.
+ * Located in the sync package to use package-private codec methods of {@link RedisSyncManager}.
+ */
+@State(Scope.Benchmark)
+public class RedisMessageBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int entries;
+
+    private RedisSyncManager           manager;
+    private UUID                       userId;
+    private Map<String, Integer>       keys;
+    private Map<String, UserCrateData> crateData;
+    private String                     message;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.manager = new RedisSyncManager(BenchmarkFixtures.createPlugin());
+        this.userId = UUID.randomUUID();
+        this.keys = new LinkedHashMap<>();
+        this.crateData = new LinkedHashMap<>();
+
+        for (int index = 0; index < this.entries; index++) {
+            this.keys.put("key_" + index, index);
+            this.crateData.put("crate_" + index, new UserCrateData(System.currentTimeMillis(), index, index % 10));
+        }
+
+        this.message = this.encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkFixtures.shutdown();
+    }
+
+    @Benchmark
+    public String encode() {
+        JsonObject data = this.manager.writeUserData(this.userId, this.keys, this.crateData);
+        return this.manager.encodeMessage(this.manager.createMessage("USER_UPDATE", data));
+    }
+
+    @Benchmark
+    public RedisSyncManager.UserUpdate decode() {
+        JsonObject root = this.manager.decodeMessage(this.message);
+        return this.manager.readUserData(root.getAsJsonObject("data"));
+    }
+}
@@ -1,59 +1,326 @@
 package su.nightexpress.excellentcrates;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import su.nightexpress.excellentcrates.api.crate.Reward;
 import su.nightexpress.excellentcrates.config.Config;
 import su.nightexpress.excellentcrates.crate.impl.Crate;
 import su.nightexpress.nightcore.util.text.NightMessage;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * Writes reward logs from a single background thread. The game thread only captures entry data and puts it in a
+ * bounded queue, formatting and file I/O happen on the writer thread through a long-lived buffered channel.
+ */
 public class CrateLogger {
 
-    private final CratesPlugin plugin;
-    private final DateTimeFormatter formatter;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CratesPlugin               plugin;
+    private final DateTimeFormatter          formatter;
+    private final BlockingQueue<LogEntry>    queue;
+    private final ByteBuffer                 buffer;
+    private final Gson                       gson;
+    private final AtomicLong                 dropped;
+    private final Path                       logFile;
+    private final Path                       archiveDir;
+
+    private Thread      writerThread;
+    private FileChannel channel;
+    private LocalDate   fileDate;
+
+    private volatile boolean active;
 
     public CrateLogger(@NotNull CratesPlugin plugin) {
         this.plugin = plugin;
         this.formatter = DateTimeFormatter.ofPattern(Config.LOGS_DATE_FORMAT.get());
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, Config.LOGS_QUEUE_SIZE.get()));
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.gson = new Gson();
+        this.dropped = new AtomicLong();
+        this.logFile = Path.of(plugin.getDataFolder().getAbsolutePath(), Config.FILE_LOGS);
+        this.archiveDir = Path.of(plugin.getDataFolder().getAbsolutePath(), Config.DIR_LOGS_ARCHIVE);
+    }
+
+    public void setup() {
+        if (!Config.LOGS_TO_CONSOLE.get() && !Config.LOGS_TO_FILE.get()) return;
+
+        this.active = true;
+        this.writerThread = new Thread(this::runWriter, "ExcellentCrates-Logger");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    public void shutdown() {
+        if (!this.active) return;
+
+        // Writer notices the flag on its next poll timeout and drains the queue before exiting.
+        this.active = false;
+        try {
+            this.writerThread.join(5000L);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    public int getQueueSize() {
+        return this.queue.size();
     }
 
     public void logReward(@NotNull Player player, @NotNull Reward reward) {
+        if (!this.active) return;
+
         Crate crate = reward.getCrate();
+        LogEntry entry = new LogEntry(System.currentTimeMillis(), player.getUniqueId(), player.getName(),
+            crate.getId(), crate.getName(), reward.getId(), reward.getName(), reward.getRarity().getId(), reward.getWeight());
+
+        this.enqueue(entry);
+    }
 
-        String text = player.getName() + " won " + reward.getName() +
-            " (ID: " + reward.getId() + ", Weight: " + reward.getWeight() + ")" +
-            " from " + crate.getName() + " (ID: " + crate.getId() + ")";
+    private void enqueue(@NotNull LogEntry entry) {
+        if (this.queue.offer(entry)) return;
+
+        // Never wait on a server (or region) thread, a slow disk must not stall the tick.
+        if (Config.LOGS_OVERFLOW_POLICY.get() == OverflowPolicy.BLOCK && !Bukkit.isPrimaryThread()) {
+            try {
+                // Bounded wait, so a stuck disk can never freeze the calling thread for good.
+                if (this.queue.offer(entry, 50L, TimeUnit.MILLISECONDS)) return;
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
 
-        this.log(text);
+        this.dropped.incrementAndGet();
     }
 
-    private void log(@NotNull String text) {
-        if (!Config.LOGS_TO_CONSOLE.get() && !Config.LOGS_TO_FILE.get()) return;
+    private void runWriter() {
+        List<LogEntry> batch = new ArrayList<>();
+        long reportedDrops = 0L;
 
-        text = NightMessage.stripTags(text);
+        while (this.active || !this.queue.isEmpty()) {
+            try {
+                LogEntry first = this.queue.poll(250L, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    this.queue.drainTo(batch);
+                    this.writeBatch(batch);
+                    batch.clear();
+                }
+                this.flush();
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
 
-        if (Config.LOGS_TO_CONSOLE.get()) {
-            this.plugin.info(text);
+            long drops = this.dropped.get();
+            if (drops != reportedDrops) {
+                this.plugin.warn("Crate logger queue is full, dropped " + (drops - reportedDrops) + " log entries.");
+                reportedDrops = drops;
+            }
         }
-        if (Config.LOGS_TO_FILE.get()) {
-            String date = LocalDateTime.now().format(this.formatter);
-            String path = this.plugin.getDataFolder() + "/" + Config.FILE_LOGS;
-            BufferedWriter output;
-            try {
-                output = new BufferedWriter(new FileWriter(path, true));
-                output.append("[").append(date).append("] ").append(text);
-                output.newLine();
-                output.close();
+
+        this.flush();
+        this.closeChannel();
+    }
+
+    private void writeBatch(@NotNull List<LogEntry> batch) {
+        for (LogEntry entry : batch) {
+            String text = NightMessage.stripTags(entry.toText());
+
+            if (Config.LOGS_TO_CONSOLE.get()) {
+                this.plugin.info(text);
             }
-            catch (IOException exception) {
-                exception.printStackTrace();
+            if (Config.LOGS_TO_FILE.get()) {
+                String line = Config.LOGS_FORMAT.get() == LogFormat.JSON ? this.toJson(entry) : this.toPlain(entry, text);
+                this.write(entry.timestamp(), line);
             }
         }
     }
+
+    @NotNull
+    private String toPlain(@NotNull LogEntry entry, @NotNull String text) {
+        String date = LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.timestamp()), ZoneId.systemDefault()).format(this.formatter);
+        return "[" + date + "] " + text;
+    }
+
+    @NotNull
+    private String toJson(@NotNull LogEntry entry) {
+        JsonObject object = new JsonObject();
+        object.addProperty("time", entry.timestamp());
+        object.addProperty("playerId", entry.playerId().toString());
+        object.addProperty("playerName", entry.playerName());
+        object.addProperty("crateId", entry.crateId());
+        object.addProperty("crateName", NightMessage.stripTags(entry.crateName()));
+        object.addProperty("rewardId", entry.rewardId());
+        object.addProperty("rewardName", NightMessage.stripTags(entry.rewardName()));
+        object.addProperty("rarity", entry.rarityId());
+        object.addProperty("weight", entry.weight());
+        return this.gson.toJson(object);
+    }
+
+    private void write(long timestamp, @NotNull String line) {
+        byte[] bytes = (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+
+        try {
+            this.rotateIfNeeded(timestamp, bytes.length);
+
+            FileChannel channel = this.getChannel();
+            if (channel == null) return;
+
+            if (bytes.length > this.buffer.remaining()) {
+                this.flush();
+            }
+            if (bytes.length > this.buffer.capacity()) {
+                channel.write(ByteBuffer.wrap(bytes));
+                return;
+            }
+            this.buffer.put(bytes);
+        }
+        catch (IOException exception) {
+            this.plugin.error("Could not write crate log: " + exception.getMessage());
+            this.closeChannel();
+        }
+    }
+
+    private void flush() {
+        if (this.buffer.position() == 0 || this.channel == null) return;
+
+        try {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+        }
+        catch (IOException exception) {
+            this.plugin.error("Could not flush crate log: " + exception.getMessage());
+            this.closeChannel();
+        }
+        finally {
+            this.buffer.clear();
+        }
+    }
+
+    @Nullable
+    private FileChannel getChannel() throws IOException {
+        if (this.channel == null) {
+            Files.createDirectories(this.logFile.getParent());
+            this.channel = FileChannel.open(this.logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            this.fileDate = Files.size(this.logFile) == 0L ? LocalDate.now() : LocalDate.ofInstant(Files.getLastModifiedTime(this.logFile).toInstant(), ZoneId.systemDefault());
+        }
+        return this.channel;
+    }
+
+    private void closeChannel() {
+        if (this.channel == null) return;
+
+        try {
+            this.channel.close();
+        }
+        catch (IOException exception) {
+            this.plugin.error("Could not close crate log: " + exception.getMessage());
+        }
+        this.channel = null;
+    }
+
+    private void rotateIfNeeded(long timestamp, int incoming) throws IOException {
+        FileChannel channel = this.getChannel();
+        if (channel == null) return;
+
+        LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+        long maxSize = Config.LOGS_ROTATION_MAX_SIZE.get() * 1024L * 1024L;
+        long size = channel.size() + this.buffer.position();
+
+        boolean byDate = Config.LOGS_ROTATION_DAILY.get() && !date.equals(this.fileDate);
+        boolean bySize = maxSize > 0L && size > 0L && size + incoming > maxSize;
+        if (!byDate && !bySize) return;
+
+        this.flush();
+        LocalDate archiveDate = this.fileDate;
+        this.closeChannel();
+        this.archive(archiveDate);
+    }
+
+    private void archive(@NotNull LocalDate date) throws IOException {
+        if (!Files.exists(this.logFile) || Files.size(this.logFile) == 0L) return;
+
+        Files.createDirectories(this.archiveDir);
+
+        String baseName = Config.FILE_LOGS.replace(".log", "") + "-" + date;
+        int index = 1;
+        Path target;
+        do {
+            target = this.archiveDir.resolve(baseName + "-" + index++ + ".log.gz");
+        }
+        while (Files.exists(target));
+
+        try (InputStream input = Files.newInputStream(this.logFile);
+             OutputStream output = new GZIPOutputStream(Files.newOutputStream(target), BUFFER_SIZE)) {
+            input.transferTo(output);
+        }
+
+        Files.delete(this.logFile);
+    }
+
+    public enum OverflowPolicy {
+        /** Drop new entries when the queue is full. */
+        DROP,
+        /** Wait a short time for free space in the queue, then drop. Entries from the server thread are dropped at once. */
+        BLOCK
+    }
+
+    public enum LogFormat {
+        TEXT,
+        JSON
+    }
+
+    private record LogEntry(long timestamp,
+                            @NotNull UUID playerId,
+                            @NotNull String playerName,
+                            @NotNull String crateId,
+                            @NotNull String crateName,
+                            @NotNull String rewardId,
+                            @NotNull String rewardName,
+                            @NotNull String rarityId,
+                            double weight) {
+
+        @NotNull
+        public String toText() {
+            return this.playerName + " won " + this.rewardName +
+                " (ID: " + this.rewardId + ", Weight: " + this.weight + ")" +
+                " from " + this.crateName + " (ID: " + this.crateId + ")";
+        }
+    }
 }
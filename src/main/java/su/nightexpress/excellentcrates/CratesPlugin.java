@@ -4,19 +4,29 @@ import org.jetbrains.annotations.NotNull;
 import su.nightexpress.excellentcrates.api.addon.CratesAddon;
 import su.nightexpress.excellentcrates.command.BaseCommands;
 import su.nightexpress.excellentcrates.command.antidupe.AntiDupeCommands;
+import su.nightexpress.excellentcrates.command.history.HistoryCommands;
+import su.nightexpress.excellentcrates.command.metrics.MetricsCommands;
+import su.nightexpress.excellentcrates.command.metrics.ProfileCommands;
 import su.nightexpress.excellentcrates.config.*;
 import su.nightexpress.excellentcrates.crate.CrateManager;
+import su.nightexpress.excellentcrates.crate.cooldown.CooldownManager;
+import su.nightexpress.excellentcrates.crate.reward.broadcast.RewardBroadcaster;
+import su.nightexpress.excellentcrates.crate.reward.command.RewardCommandQueue;
 import su.nightexpress.excellentcrates.data.DataHandler;
 import su.nightexpress.excellentcrates.data.DataManager;
+import su.nightexpress.excellentcrates.data.history.OpeningHistoryManager;
 import su.nightexpress.excellentcrates.dialog.CrateDialogs;
 import su.nightexpress.excellentcrates.editor.EditorManager;
 import su.nightexpress.excellentcrates.hologram.HologramManager;
 import su.nightexpress.excellentcrates.hooks.impl.PlaceholderHook;
 import su.nightexpress.excellentcrates.key.KeyManager;
 import su.nightexpress.excellentcrates.key.UuidAntiDupeManager;
+import su.nightexpress.excellentcrates.mailbox.MailboxManager;
+import su.nightexpress.excellentcrates.metrics.MetricsManager;
 import su.nightexpress.excellentcrates.opening.OpeningManager;
 import su.nightexpress.excellentcrates.opening.ProviderRegistry;
 import su.nightexpress.excellentcrates.registry.CratesRegistries;
+import su.nightexpress.excellentcrates.reload.HotReloadManager;
 import su.nightexpress.excellentcrates.user.UserManager;
 import su.nightexpress.nightcore.NightPlugin;
 import su.nightexpress.nightcore.config.PluginDetails;
@@ -36,16 +46,23 @@ public class CratesPlugin extends NightPlugin {
 
     private DataHandler dataHandler;
     private DataManager dataManager;
+    private OpeningHistoryManager historyManager;
+    private HotReloadManager hotReloadManager;
     private UserManager userManager;
     private HologramManager hologramManager;
     private OpeningManager  openingManager;
     private KeyManager      keyManager;
     private UuidAntiDupeManager uuidAntiDupeManager;
     private CrateManager    crateManager;
+    private CooldownManager cooldownManager;
+    private RewardCommandQueue rewardCommandQueue;
+    private MailboxManager  mailboxManager;
+    private RewardBroadcaster rewardBroadcaster;
     private EditorManager   editorManager;
     private RedisSyncManager redisSyncManager;
     private CrateLogger     crateLogger;
     private CrateDialogs    dialogs;
+    private MetricsManager  metricsManager;
 
     @Override
     @NotNull
@@ -76,6 +93,7 @@ public class CratesPlugin extends NightPlugin {
         this.loadEngine();
 
         this.crateLogger = new CrateLogger(this);
+        this.crateLogger.setup();
 
         this.dataHandler = new DataHandler(this);
         this.dataHandler.setup();
@@ -83,9 +101,24 @@ public class CratesPlugin extends NightPlugin {
         this.dataManager = new DataManager(this);
         this.dataManager.setup();
 
+        this.historyManager = new OpeningHistoryManager(this);
+        this.historyManager.setup();
+
         this.userManager = new UserManager(this, this.dataHandler);
         this.userManager.setup();
 
+        this.cooldownManager = new CooldownManager(this);
+        this.cooldownManager.setup();
+
+        this.rewardCommandQueue = new RewardCommandQueue(this);
+        this.rewardCommandQueue.setup();
+
+        this.mailboxManager = new MailboxManager(this);
+        this.mailboxManager.setup();
+
+        this.rewardBroadcaster = new RewardBroadcaster(this);
+        this.rewardBroadcaster.setup();
+
         this.openingManager = new OpeningManager(this);
         this.openingManager.setup();
 
@@ -120,22 +153,38 @@ public class CratesPlugin extends NightPlugin {
             this.hologramManager.setup();
         }
 
+        if (Config.HOT_RELOAD_ENABLED.get()) {
+            this.hotReloadManager = new HotReloadManager(this);
+            this.hotReloadManager.setup();
+        }
+
+        this.metricsManager = new MetricsManager(this);
+        this.metricsManager.setup();
+
         this.loadCommands();
     }
 
     @Override
     public void disable() {
+        if (this.metricsManager != null) this.metricsManager.shutdown();
+        if (this.hotReloadManager != null) this.hotReloadManager.shutdown();
         if (this.dialogs != null) this.dialogs.shutdown();
         if (this.editorManager != null) this.editorManager.shutdown();
         if (this.openingManager != null) this.openingManager.shutdown();
         if (this.uuidAntiDupeManager != null) this.uuidAntiDupeManager.shutdown();
         if (this.keyManager != null) this.keyManager.shutdown();
         if (this.crateManager != null) this.crateManager.shutdown();
+        if (this.rewardCommandQueue != null) this.rewardCommandQueue.shutdown();
+        if (this.mailboxManager != null) this.mailboxManager.shutdown();
+        if (this.rewardBroadcaster != null) this.rewardBroadcaster.shutdown();
+        if (this.cooldownManager != null) this.cooldownManager.shutdown();
         if (this.hologramManager != null) this.hologramManager.shutdown();
         if (this.userManager != null) this.userManager.shutdown();
         if (this.dataManager != null) this.dataManager.shutdown();
+        if (this.historyManager != null) this.historyManager.shutdown();
         if (this.dataHandler != null) this.dataHandler.shutdown();
         if (this.redisSyncManager != null) this.redisSyncManager.shutdown();
+        if (this.crateLogger != null) this.crateLogger.shutdown();
 
         if (Plugins.hasPlaceholderAPI()) {
             PlaceholderHook.shutdown();
@@ -162,6 +211,9 @@ public class CratesPlugin extends NightPlugin {
         this.rootCommand = NightCommand.forPlugin(this, root -> {
             new BaseCommands(this).load(root);
             AntiDupeCommands.load(this, root);
+            HistoryCommands.load(this, root);
+            MetricsCommands.load(this, root);
+            ProfileCommands.load(this, root);
         });
     }
 
@@ -188,6 +240,16 @@ public class CratesPlugin extends NightPlugin {
         return this.crateLogger;
     }
 
+    @NotNull
+    public OpeningHistoryManager getHistoryManager() {
+        return this.historyManager;
+    }
+
+    @NotNull
+    public MetricsManager getMetricsManager() {
+        return this.metricsManager;
+    }
+
     @NotNull
     public DataHandler getDataHandler() {
         return this.dataHandler;
@@ -228,6 +290,26 @@ public class CratesPlugin extends NightPlugin {
         return this.crateManager;
     }
 
+    @NotNull
+    public CooldownManager getCooldownManager() {
+        return this.cooldownManager;
+    }
+
+    @NotNull
+    public RewardCommandQueue getRewardCommandQueue() {
+        return this.rewardCommandQueue;
+    }
+
+    @NotNull
+    public MailboxManager getMailboxManager() {
+        return this.mailboxManager;
+    }
+
+    @NotNull
+    public RewardBroadcaster getRewardBroadcaster() {
+        return this.rewardBroadcaster;
+    }
+
     @NotNull
     public Optional<RedisSyncManager> getRedisSyncManager() {
         return Optional.ofNullable(this.redisSyncManager);
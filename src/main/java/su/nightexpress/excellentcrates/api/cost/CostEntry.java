@@ -17,6 +17,20 @@ public interface CostEntry {
 
     int countPossibleOpenings(@NotNull Player player);
 
+    /**
+     * Same as {@link #countPossibleOpenings(Player)}, but may use recently fetched data instead of asking the source.
+     */
+    default int estimatePossibleOpenings(@NotNull Player player) {
+        return this.countPossibleOpenings(player);
+    }
+
+    /**
+     * Loads player's data used by this entry in background, so later checks do not wait for it.
+     */
+    default void prefetch(@NotNull Player player) {
+
+    }
+
     boolean hasEnough(@NotNull Player player);
 
     void take(@NotNull Player player);
@@ -73,8 +73,22 @@ public interface Reward extends Writeable {
 
     void setLimits(@NotNull LimitValues limitValues);
 
+    /**
+     * Returns a modifiable copy of the reward's preview item.
+     */
     @NotNull ItemStack getPreviewItem();
 
+    /**
+     * Returns the pre-rendered preview item shared between all callers. The returned instance must not be modified,
+     * use {@link #getPreviewItem()} when a modifiable copy is required.
+     */
+    @NotNull ItemStack getCachedPreviewItem();
+
+    /**
+     * Returns a value that changes whenever the reward or its crate has been edited.
+     */
+    long getVersion();
+
     @NotNull AdaptedItem getPreview();
 
     void setPreview(@NotNull AdaptedItem preview);
@@ -12,6 +12,7 @@ import su.nightexpress.excellentcrates.crate.cost.Cost;
 import su.nightexpress.excellentcrates.crate.impl.Crate;
 import su.nightexpress.excellentcrates.crate.impl.CrateSource;
 import su.nightexpress.excellentcrates.crate.impl.OpenOptions;
+import su.nightexpress.excellentcrates.hooks.impl.PlaceholderCache;
 import su.nightexpress.excellentcrates.key.CrateKey;
 import su.nightexpress.nightcore.commands.Arguments;
 import su.nightexpress.nightcore.commands.Commands;
@@ -159,6 +160,15 @@ public class BaseCommands {
             .withArguments(CommandArguments.crossServerPlayerName(plugin), CommandArguments.forCrate(plugin))
             .executes(this::resetCrateCooldown)
         );
+
+        if (plugin.getMailboxManager().isEnabled()) {
+            nodeBuilder.branch(Commands.literal("mailbox")
+                .description(Lang.COMMAND_MAILBOX_DESC)
+                .permission(Perms.COMMAND_MAILBOX)
+                .playerOnly()
+                .executes((context, arguments) -> this.openMailbox(context))
+            );
+        }
     }
 
     @NotNull
@@ -207,6 +217,11 @@ Lang.COMMAND_DROP_DONE.message().send(context.getSender(), replacer -> replacer
         return true;
     }
 
+    private boolean openMailbox(@NotNull CommandContext context) {
+        plugin.getMailboxManager().openMailbox(context.getPlayerOrThrow());
+        return true;
+    }
+
     private boolean giveCrate(@NotNull CommandContext context, @NotNull ParsedArguments arguments) {
         Crate crate = arguments.get(CommandArguments.CRATE, Crate.class);
         int amount = arguments.getInt(CommandArguments.AMOUNT, 1);
@@ -323,7 +338,9 @@ Lang.COMMAND_DROP_DONE.message().send(context.getSender(), replacer -> replacer
 
             Crate crate = arguments.get(CommandArguments.CRATE, Crate.class);
             user.getCrateData(crate).setOpenCooldown(0);
+            plugin.getCooldownManager().scheduleOpenCooldown(user.getId(), crate, 0L);
             plugin.getUserManager().save(user);
+            PlaceholderCache.invalidate(user.getId());
 
             Lang.COMMAND_RESET_COOLDOWN_DONE.message().send(context.getSender(), replacer -> replacer
                 .replace(Placeholders.PLAYER_NAME, user.getName())
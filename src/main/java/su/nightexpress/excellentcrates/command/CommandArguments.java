@@ -26,6 +26,8 @@ public class CommandArguments {
     public static final String Z      = "z";
     public static final String WORLD  = "world";
 
+    private static final int REMOTE_NAME_SUGGESTIONS = 50;
+
     @NotNull
     public static ArgumentNodeBuilder<Crate> forCrate(@NotNull CratesPlugin plugin) {
         return Commands.argument(CRATE, (context, string) -> Optional.ofNullable(plugin.getCrateManager().getCrateById(string)).orElseThrow(() -> CommandSyntaxException.custom(Lang.ERROR_COMMAND_INVALID_CRATE_ARGUMENT)))
@@ -52,7 +54,8 @@ public class CommandArguments {
                     names.addAll(Players.playerNames());
                 }
                 plugin.getRedisSyncManager().ifPresent(redis -> {
-                    names.addAll(redis.getAllPlayerNames());
+                    String input = reader.getCursorArgument();
+                    names.addAll(redis.completePlayerNames(input == null ? "" : input, REMOTE_NAME_SUGGESTIONS));
                 });
                 return names.stream().distinct().sorted().toList();
             });
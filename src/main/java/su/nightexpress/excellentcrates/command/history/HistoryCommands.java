@@ -0,0 +1,161 @@
+package su.nightexpress.excellentcrates.command.history;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.command.CommandArguments;
+import su.nightexpress.excellentcrates.config.Config;
+import su.nightexpress.excellentcrates.config.Perms;
+import su.nightexpress.excellentcrates.crate.impl.Crate;
+import su.nightexpress.excellentcrates.data.DataHandler;
+import su.nightexpress.excellentcrates.data.history.HistoryFilter;
+import su.nightexpress.excellentcrates.data.history.HistoryPage;
+import su.nightexpress.excellentcrates.data.history.OpeningHistoryManager;
+import su.nightexpress.excellentcrates.data.history.OpeningRecord;
+import su.nightexpress.nightcore.commands.Arguments;
+import su.nightexpress.nightcore.commands.Commands;
+import su.nightexpress.nightcore.commands.builder.HubNodeBuilder;
+import su.nightexpress.nightcore.commands.context.ParsedArguments;
+import su.nightexpress.nightcore.util.Lists;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin commands for browsing the opening history
+ */
+public class HistoryCommands {
+
+    private static final String ARG_HOURS = "hours";
+    private static final String ARG_PAGE  = "page";
+
+    private static final int PAGE_SIZE     = 10;
+    private static final int DEFAULT_HOURS = 24;
+
+    public static void load(@NotNull CratesPlugin plugin, @NotNull HubNodeBuilder root) {
+        root.branch(Commands.hub("history")
+            .description("Browse crate opening history")
+            .permission(Perms.COMMAND_HISTORY)
+            .branch(Commands.literal("player")
+                .description("Show rewards won by a player")
+                .permission(Perms.COMMAND_HISTORY)
+                .withArguments(
+                    CommandArguments.crossServerPlayerName(plugin),
+                    Arguments.integer(ARG_HOURS, 1).localized("hours").optional().suggestions((reader, context) -> Lists.newList("1", "24", "168")),
+                    Arguments.integer(ARG_PAGE, 1).localized("page").optional()
+                )
+                .executes((context, arguments) -> executePlayer(plugin, context.getSender(), arguments))
+            )
+            .branch(Commands.literal("crate")
+                .description("Show rewards won from a crate")
+                .permission(Perms.COMMAND_HISTORY)
+                .withArguments(
+                    CommandArguments.forCrate(plugin),
+                    Arguments.integer(ARG_HOURS, 1).localized("hours").optional().suggestions((reader, context) -> Lists.newList("1", "24", "168")),
+                    Arguments.integer(ARG_PAGE, 1).localized("page").optional()
+                )
+                .executes((context, arguments) -> executeCrate(plugin, context.getSender(), arguments))
+            )
+            .branch(Commands.literal("count")
+                .description("Count won rewards by rarity and crate")
+                .permission(Perms.COMMAND_HISTORY)
+                .withArguments(
+                    Arguments.integer(ARG_HOURS, 1).localized("hours").optional().suggestions((reader, context) -> Lists.newList("1", "24", "168"))
+                )
+                .executes((context, arguments) -> executeCount(plugin, context.getSender(), arguments))
+            )
+        );
+    }
+
+    private static boolean isDisabled(@NotNull CratesPlugin plugin, @NotNull CommandSender sender) {
+        if (plugin.getHistoryManager().isEnabled()) return false;
+
+        sender.sendMessage("§c[ExcellentCrates] Opening history is disabled in the config.");
+        return true;
+    }
+
+    private static long getSince(@NotNull ParsedArguments arguments) {
+        int hours = arguments.getInt(ARG_HOURS, DEFAULT_HOURS);
+        return System.currentTimeMillis() - TimeUnit.HOURS.toMillis(hours);
+    }
+
+    private static boolean executePlayer(@NotNull CratesPlugin plugin, @NotNull CommandSender sender, @NotNull ParsedArguments arguments) {
+        if (isDisabled(plugin, sender)) return false;
+
+        String name = arguments.getString(CommandArguments.PLAYER);
+        Player target = Bukkit.getPlayerExact(name);
+
+        HistoryFilter filter = HistoryFilter.create().since(getSince(arguments));
+        if (target != null) {
+            filter.player(target.getUniqueId());
+        }
+        else {
+            filter.player(name);
+        }
+
+        showPage(plugin, sender, "Rewards of " + name, filter, arguments.getInt(ARG_PAGE, 1));
+        return true;
+    }
+
+    private static boolean executeCrate(@NotNull CratesPlugin plugin, @NotNull CommandSender sender, @NotNull ParsedArguments arguments) {
+        if (isDisabled(plugin, sender)) return false;
+
+        Crate crate = arguments.get(CommandArguments.CRATE, Crate.class);
+        HistoryFilter filter = HistoryFilter.create().crate(crate.getId()).since(getSince(arguments));
+
+        showPage(plugin, sender, "Rewards from " + crate.getId(), filter, arguments.getInt(ARG_PAGE, 1));
+        return true;
+    }
+
+    private static boolean executeCount(@NotNull CratesPlugin plugin, @NotNull CommandSender sender, @NotNull ParsedArguments arguments) {
+        if (isDisabled(plugin, sender)) return false;
+
+        int hours = arguments.getInt(ARG_HOURS, DEFAULT_HOURS);
+        HistoryFilter filter = HistoryFilter.create().since(getSince(arguments));
+        OpeningHistoryManager manager = plugin.getHistoryManager();
+
+        plugin.runTaskAsync(() -> {
+            Map<String, Long> byRarity = manager.countBy(filter, DataHandler.COLUMN_HISTORY_RARITY_ID);
+            Map<String, Long> byCrate = manager.countBy(filter, DataHandler.COLUMN_HISTORY_CRATE_ID);
+
+            sender.sendMessage("§6=== Rewards won in the last " + hours + "h ===");
+            if (byRarity.isEmpty()) {
+                sender.sendMessage("§7No rewards found.");
+                return;
+            }
+
+            sender.sendMessage("§eBy rarity:");
+            byRarity.forEach((rarity, amount) -> sender.sendMessage("§7- §f" + rarity + "§7: §a" + amount));
+            sender.sendMessage("§eBy crate:");
+            byCrate.forEach((crate, amount) -> sender.sendMessage("§7- §f" + crate + "§7: §a" + amount));
+        });
+        return true;
+    }
+
+    private static void showPage(@NotNull CratesPlugin plugin, @NotNull CommandSender sender, @NotNull String title,
+                                 @NotNull HistoryFilter filter, int page) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(Config.LOGS_DATE_FORMAT.get());
+
+        plugin.runTaskAsync(() -> {
+            HistoryPage result = plugin.getHistoryManager().query(filter, page, PAGE_SIZE);
+
+            sender.sendMessage("§6=== " + title + " §7(page " + result.page() + "/" + result.getMaxPage() + ", " + result.total() + " total) §6===");
+            if (result.records().isEmpty()) {
+                sender.sendMessage("§7No rewards found.");
+                return;
+            }
+
+            for (OpeningRecord record : result.records()) {
+                String date = LocalDateTime.ofInstant(Instant.ofEpochMilli(record.timestamp()), ZoneId.systemDefault()).format(formatter);
+                sender.sendMessage("§7[" + date + "] §f" + record.playerName() + " §7won §f" + record.rewardId() +
+                    " §7(" + record.rarityId() + ") from §f" + record.crateId());
+            }
+        });
+    }
+}
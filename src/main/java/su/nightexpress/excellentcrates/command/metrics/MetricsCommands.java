@@ -0,0 +1,88 @@
+package su.nightexpress.excellentcrates.command.metrics;
+
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.config.Perms;
+import su.nightexpress.excellentcrates.hooks.impl.PlaceholderCache;
+import su.nightexpress.excellentcrates.metrics.Counter;
+import su.nightexpress.excellentcrates.metrics.Metrics;
+import su.nightexpress.excellentcrates.metrics.Timer;
+import su.nightexpress.excellentcrates.sync.RedisSyncManager;
+import su.nightexpress.nightcore.commands.Commands;
+import su.nightexpress.nightcore.commands.builder.HubNodeBuilder;
+
+/**
+ * Admin command for viewing plugin metrics
+ */
+public class MetricsCommands {
+
+    public static void load(@NotNull CratesPlugin plugin, @NotNull HubNodeBuilder root) {
+        root.branch(Commands.literal("metrics")
+            .description("View timings and counters of plugin subsystems")
+            .permission(Perms.COMMAND_METRICS)
+            .executes((context, arguments) -> executeMetrics(plugin, context.getSender()))
+        );
+    }
+
+    private static boolean executeMetrics(@NotNull CratesPlugin plugin, @NotNull CommandSender sender) {
+        if (!Metrics.isEnabled()) {
+            sender.sendMessage("§c[ExcellentCrates] Metrics are disabled in the config.");
+            return true;
+        }
+
+        sender.sendMessage("§6=== Crate Metrics ===");
+        sender.sendMessage("§eOpenings: §f" + Metrics.OPENINGS_STARTED.get() + " started, " + Metrics.OPENINGS_FINISHED.get() + " finished, "
+            + Metrics.OPENINGS_CANCELLED.get() + " cancelled, " + plugin.getOpeningManager().getOpenings().size() + " active");
+        sender.sendMessage("§eRolls: §f" + Metrics.REWARD_ROLLS.get() + " §7(" + String.format("%.1f", plugin.getMetricsManager().getRollsPerSecond()) + "/s)");
+
+        sender.sendMessage("§6--- Timings (avg / p99 / max) ---");
+        sendTimer(sender, "Opening Tick", Metrics.OPENING_TICK);
+        sendTimer(sender, "Crate Effects", Metrics.CRATE_EFFECTS);
+        sendTimer(sender, "Hologram Update", Metrics.HOLOGRAM_UPDATE);
+        sendTimer(sender, "Data Save", Metrics.DATA_SAVE);
+        sendTimer(sender, "Data Sync", Metrics.DATA_SYNC);
+
+        sender.sendMessage("§6--- Database ---");
+        sender.sendMessage("§eStatements: §f" + Metrics.DB_STATEMENTS.get());
+        sendTimer(sender, "Reads", Metrics.DB_SELECT);
+        sendTimer(sender, "Writes", Metrics.DB_UPDATE);
+
+        RedisSyncManager sync = plugin.getRedisSyncManager().orElse(null);
+        if (sync != null && sync.isActive()) {
+            sender.sendMessage("§6--- Redis ---");
+            sender.sendMessage("§eMessages: §f" + Metrics.REDIS_OUT.get() + " out, " + Metrics.REDIS_IN.get() + " in, "
+                + Metrics.REDIS_FAILURES.get() + " failed, " + sync.getPendingPublishes() + " queued");
+            sendTimer(sender, "Publish", Metrics.REDIS_PUBLISH);
+            sendTimer(sender, "Handle", Metrics.REDIS_HANDLE);
+        }
+
+        PlaceholderCache.Stats placeholders = PlaceholderCache.getStats();
+
+        sender.sendMessage("§6--- Other ---");
+        sender.sendMessage("§eHologram Packets: §f" + Metrics.HOLOGRAM_PACKETS.get());
+        sender.sendMessage("§eAnti-Dupe Cache Hit Rate: §f" + formatRate(Metrics.ANTIDUPE_HITS, Metrics.ANTIDUPE_MISSES));
+        sender.sendMessage("§ePlaceholder Cache Hit Rate: §f" + String.format("%.2f%%", placeholders.hitRate() * 100D) + " §7(" + placeholders.entries() + " entries)");
+        sender.sendMessage("§eLog Entries Dropped: §f" + plugin.getCrateLogger().getDroppedCount());
+        sender.sendMessage("§eHistory Records Dropped: §f" + plugin.getHistoryManager().getDroppedCount());
+        return true;
+    }
+
+    private static void sendTimer(@NotNull CommandSender sender, @NotNull String name, @NotNull Timer timer) {
+        sender.sendMessage("§e" + name + ": §f" + formatMillis(timer.getMeanNanos()) + " / " + formatMillis(timer.getPercentileNanos(99))
+            + " / " + formatMillis(timer.getMaxNanos()) + " §7(" + timer.getCount() + " samples)");
+    }
+
+    @NotNull
+    private static String formatMillis(double nanos) {
+        return String.format("%.2fms", nanos / 1_000_000D);
+    }
+
+    @NotNull
+    private static String formatRate(@NotNull Counter hits, @NotNull Counter misses) {
+        long total = hits.get() + misses.get();
+        if (total == 0L) return "-";
+
+        return String.format("%.2f%%", (double) hits.get() / total * 100D);
+    }
+}
@@ -0,0 +1,137 @@
+package su.nightexpress.excellentcrates.command.metrics;
+
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.config.Perms;
+import su.nightexpress.excellentcrates.metrics.profiler.CrateProfiler;
+import su.nightexpress.excellentcrates.metrics.profiler.ProfileNode;
+import su.nightexpress.excellentcrates.metrics.profiler.ProfileSection;
+import su.nightexpress.excellentcrates.metrics.profiler.ProfileSession;
+import su.nightexpress.nightcore.commands.Arguments;
+import su.nightexpress.nightcore.commands.Commands;
+import su.nightexpress.nightcore.commands.builder.HubNodeBuilder;
+import su.nightexpress.nightcore.commands.context.ParsedArguments;
+import su.nightexpress.nightcore.util.Lists;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Admin commands for profiling crate workloads
+ */
+public class ProfileCommands {
+
+    private static final String ARG_SECONDS = "seconds";
+
+    private static final int    TOP_SIZE     = 10;
+    private static final int    MAX_SECONDS  = 600;
+    private static final String DIR_PROFILES = "profiles";
+
+    private static final DateTimeFormatter FILE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void load(@NotNull CratesPlugin plugin, @NotNull HubNodeBuilder root) {
+        root.branch(Commands.hub("profile")
+            .description("Profile crate openings, effects, holograms and rewards")
+            .permission(Perms.COMMAND_PROFILE)
+            .branch(Commands.literal("start")
+                .description("Start profiling, optionally for a number of seconds")
+                .permission(Perms.COMMAND_PROFILE)
+                .withArguments(
+                    Arguments.integer(ARG_SECONDS, 1, MAX_SECONDS).localized("seconds").optional().suggestions((reader, context) -> Lists.newList("30", "60", "300"))
+                )
+                .executes((context, arguments) -> executeStart(plugin, context.getSender(), arguments))
+            )
+            .branch(Commands.literal("stop")
+                .description("Stop profiling and show the report")
+                .permission(Perms.COMMAND_PROFILE)
+                .executes((context, arguments) -> executeStop(plugin, context.getSender()))
+            )
+        );
+    }
+
+    private static boolean executeStart(@NotNull CratesPlugin plugin, @NotNull CommandSender sender, @NotNull ParsedArguments arguments) {
+        ProfileSession session = CrateProfiler.startSession();
+        if (session == null) {
+            sender.sendMessage("§c[ExcellentCrates] Profiler is already running. Use §e/crate profile stop§c first.");
+            return false;
+        }
+
+        int seconds = arguments.getInt(ARG_SECONDS, 0);
+        if (seconds > 0) {
+            plugin.getFoliaScheduler().runLater(() -> {
+                if (CrateProfiler.stopSession(session)) {
+                    report(plugin, sender, session);
+                }
+            }, seconds * 20L);
+            sender.sendMessage("§a[ExcellentCrates] Profiler started for §e" + seconds + "§a seconds.");
+        }
+        else {
+            sender.sendMessage("§a[ExcellentCrates] Profiler started. Use §e/crate profile stop§a to see the report.");
+        }
+
+        if (!session.hasAllocations()) {
+            sender.sendMessage("§7Allocation tracking is not supported by this JVM, only time is measured.");
+        }
+        return true;
+    }
+
+    private static boolean executeStop(@NotNull CratesPlugin plugin, @NotNull CommandSender sender) {
+        ProfileSession session = CrateProfiler.stopSession();
+        if (session == null) {
+            sender.sendMessage("§c[ExcellentCrates] Profiler is not running.");
+            return false;
+        }
+
+        report(plugin, sender, session);
+        return true;
+    }
+
+    private static void report(@NotNull CratesPlugin plugin, @NotNull CommandSender sender, @NotNull ProfileSession session) {
+        double ticks = session.getTicks();
+        List<ProfileNode> nodes = session.getTopNodes(TOP_SIZE);
+
+        sender.sendMessage("§6=== Crate Profile §7(" + String.format("%.1f", session.getDurationNanos() / 1_000_000_000D) + "s, " + (long) ticks + " ticks)§6 ===");
+        if (nodes.isEmpty()) {
+            sender.sendMessage("§7Nothing was recorded.");
+            return;
+        }
+
+        int position = 1;
+        for (ProfileNode node : nodes) {
+            ProfileSection section = node.getSection();
+            if (section == null) continue;
+
+            String line = "§e" + position++ + ". §fcrate §e" + node.getCrateId() + "§f's §e" + node.getName() + " " + section.getId()
+                + " §fcosts §e" + String.format("%.3f", node.getSelfNanos() / 1_000_000D / ticks) + " ms/tick"
+                + " §facross §e" + String.format("%.1f", node.getCalls() / ticks) + " " + section.getUnit();
+            if (session.hasAllocations()) {
+                line += "§f, §e" + String.format("%.1f", node.getSelfBytes() / 1024D / ticks) + " KB/tick";
+            }
+            sender.sendMessage(line);
+        }
+
+        String name = "profile-" + LocalDateTime.ofInstant(Instant.ofEpochMilli(session.getStartedMillis()), ZoneId.systemDefault()).format(FILE_FORMAT);
+        Path directory = plugin.getDataFolder().toPath().resolve(DIR_PROFILES);
+
+        plugin.getFoliaScheduler().runAsync(() -> {
+            try {
+                session.writeCollapsedTime(directory.resolve(name + ".txt"));
+                if (session.hasAllocations()) {
+                    session.writeCollapsedAllocations(directory.resolve(name + "-alloc.txt"));
+                }
+                sender.sendMessage("§7Flame graph stacks saved to §f" + DIR_PROFILES + "/" + name + ".txt");
+            }
+            catch (IOException exception) {
+                plugin.error("Could not save profile '" + name + "': " + exception.getMessage());
+                exception.printStackTrace();
+                sender.sendMessage("§c[ExcellentCrates] Could not save the profile, see console for details.");
+            }
+        });
+    }
+}
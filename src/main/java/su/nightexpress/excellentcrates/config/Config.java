@@ -3,11 +3,13 @@ package su.nightexpress.excellentcrates.config;
 import org.bukkit.entity.Display;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import su.nightexpress.excellentcrates.CrateLogger;
 import su.nightexpress.excellentcrates.hologram.HologramTemplate;
 import su.nightexpress.excellentcrates.hooks.HookId;
 import su.nightexpress.excellentcrates.util.CrateUtils;
 import su.nightexpress.nightcore.config.ConfigValue;
 import su.nightexpress.nightcore.util.Enums;
+import su.nightexpress.nightcore.util.Lists;
 import su.nightexpress.nightcore.util.Plugins;
 import su.nightexpress.nightcore.util.bukkit.NightItem;
 import su.nightexpress.nightcore.util.time.TimeFormatType;
@@ -33,6 +35,7 @@ public class Config {
 
     public static final String FILE_MILESTONES = "milestones.yml";
     public static final String FILE_LOGS       = "openings.log";
+    public static final String DIR_LOGS_ARCHIVE = "/logs/";
 
     public static final ConfigValue<String> LOGS_DATE_FORMAT = ConfigValue.create("Logs.DateFormat",
         "dd/MM/yyyy HH:mm:ss",
@@ -49,6 +52,76 @@ public class Config {
         "Sets whether or not all crate openings & reward wins will be logged to a file."
     );
 
+    public static final ConfigValue<CrateLogger.LogFormat> LOGS_FORMAT = ConfigValue.create("Logs.Format",
+        CrateLogger.LogFormat.class, CrateLogger.LogFormat.TEXT,
+        "Sets format of the log file lines.",
+        "TEXT - Human readable lines.",
+        "JSON - One JSON object per line (JSON Lines), suitable for later analysis.",
+        "[Default is TEXT]"
+    );
+
+    public static final ConfigValue<Integer> LOGS_QUEUE_SIZE = ConfigValue.create("Logs.Queue.Size",
+        10_000,
+        "Max. amount of log entries waiting to be written by the background logger thread.",
+        "[Default is 10000]"
+    );
+
+    public static final ConfigValue<CrateLogger.OverflowPolicy> LOGS_OVERFLOW_POLICY = ConfigValue.create("Logs.Queue.OverflowPolicy",
+        CrateLogger.OverflowPolicy.class, CrateLogger.OverflowPolicy.DROP,
+        "Controls what happens when the log queue is full.",
+        "DROP - New entries are dropped and counted.",
+        "BLOCK - Async threads wait up to 50ms for free space before dropping the entry.",
+        "        Entries logged from the server thread are always dropped at once, it never waits.",
+        "[Default is DROP]"
+    );
+
+    public static final ConfigValue<Integer> LOGS_ROTATION_MAX_SIZE = ConfigValue.create("Logs.Rotation.MaxSize",
+        10,
+        "Max. size (in megabytes) of the log file before it gets archived into the '" + DIR_LOGS_ARCHIVE + "' folder.",
+        "Set to 0 to disable size based rotation.",
+        "[Default is 10]"
+    );
+
+    public static final ConfigValue<Boolean> LOGS_ROTATION_DAILY = ConfigValue.create("Logs.Rotation.Daily",
+        true,
+        "When enabled, log file is archived at the first write of a new day.",
+        "[Default is true]"
+    );
+
+    public static final ConfigValue<Boolean> HISTORY_ENABLED = ConfigValue.create("Data.OpeningHistory.Enabled",
+        true,
+        "When enabled, every won reward is stored in the '_opening_history' database table.",
+        "History can be browsed with the '/crate history' command.",
+        "[Default is true]"
+    );
+
+    public static final ConfigValue<Integer> HISTORY_RETENTION_DAYS = ConfigValue.create("Data.OpeningHistory.Retention_Days",
+        30,
+        "Sets how many days of opening history are kept in the database.",
+        "Older days are pruned automatically every hour.",
+        "Set to 0 to keep history forever.",
+        "[Default is 30]"
+    );
+
+    public static final ConfigValue<Integer> HISTORY_FLUSH_INTERVAL = ConfigValue.create("Data.OpeningHistory.Flush_Interval",
+        5,
+        "Sets how often (in seconds) queued history entries are written to the database.",
+        "[Default is 5]"
+    );
+
+    public static final ConfigValue<Integer> HISTORY_BATCH_SIZE = ConfigValue.create("Data.OpeningHistory.Batch_Size",
+        500,
+        "Max. amount of history entries written in a single database batch.",
+        "[Default is 500]"
+    );
+
+    public static final ConfigValue<Integer> HISTORY_QUEUE_SIZE = ConfigValue.create("Data.OpeningHistory.Queue_Size",
+        50_000,
+        "Max. amount of history entries waiting to be written.",
+        "When the queue is full, new entries are dropped and counted.",
+        "[Default is 50000]"
+    );
+
 
 
     public static final ConfigValue<Boolean> DATA_REWARD_LIMITS_SYNC_ENABLED = ConfigValue.create("Data.Rewards.Limits.Synchronize",
@@ -112,6 +185,43 @@ public class Config {
         "",
         "Optional node identifier. If empty, a random UUID is used at runtime."
     );
+    public static final ConfigValue<Boolean> REDIS_ATOMIC_GLOBAL_LIMITS = ConfigValue.create("Redis.AtomicGlobalLimits",
+        false,
+        "When enabled, global reward limits (amount and cooldown) are checked and counted in Redis by an atomic script.",
+        "This prevents two servers from giving out the last available roll of a reward at the same time.",
+        "Other servers refresh changed limits from Redis instead of reloading all reward limits from the database.",
+        "[*] Requires Redis to be enabled."
+    );
+    public static final ConfigValue<Integer> REDIS_PRESENCE_HEARTBEAT = ConfigValue.create("Redis.Presence.Heartbeat_Interval",
+        10,
+        "How often (in seconds) this node announces that it is alive, together with its online player count.",
+        "Other nodes request a full player list only when the count does not match their view."
+    );
+    public static final ConfigValue<Integer> REDIS_PRESENCE_TTL = ConfigValue.create("Redis.Presence.Node_TTL",
+        35,
+        "Time (in seconds) after which a node without heartbeats is considered offline and its players are forgotten."
+    );
+
+    public static final ConfigValue<Boolean> METRICS_ENABLED = ConfigValue.create("Metrics.Enabled",
+        true,
+        "Whether timings and counters of openings, holograms, database and Redis sync are collected.",
+        "Use '/crate metrics' to view them."
+    );
+
+    public static final ConfigValue<Boolean> METRICS_PROMETHEUS_ENABLED = ConfigValue.create("Metrics.Prometheus.Enabled",
+        false,
+        "When enabled, metrics are served in Prometheus text format at http://<Host>:<Port>/metrics"
+    );
+
+    public static final ConfigValue<String> METRICS_PROMETHEUS_HOST = ConfigValue.create("Metrics.Prometheus.Host",
+        "127.0.0.1",
+        "Address the metrics endpoint listens on. Keep it local unless the port is protected by a firewall."
+    );
+
+    public static final ConfigValue<Integer> METRICS_PROMETHEUS_PORT = ConfigValue.create("Metrics.Prometheus.Port",
+        9464,
+        "Port of the metrics endpoint."
+    );
 
     public static final ConfigValue<Boolean> FEATURE_MASS_OPENING = ConfigValue.create("Features.MassOpening",
         true,
@@ -119,6 +229,21 @@ public class Config {
     );
 
 
+    public static final ConfigValue<Long> PLACEHOLDER_CACHE_TTL = ConfigValue.create("Features.PlaceholderCacheTime",
+        1000L,
+        "Sets for how long (in milliseconds) player placeholder values (keys, available openings, cooldown, etc.) are cached.",
+        "Cached values are dropped earlier when player's keys, openings or cooldowns are changed.",
+        "Set to 0 to disable caching."
+    );
+
+    public static final ConfigValue<Long> COST_BALANCE_CACHE_TTL = ConfigValue.create("Features.BalanceCacheTime",
+        5000L,
+        "Sets for how long (in milliseconds) player currency balances are cached for display purposes (available openings, cost menus, etc.).",
+        "Balances are fetched in background on join and refreshed in background when outdated, so database economies do not block the server.",
+        "Crate openings always check the actual balance.",
+        "Set to 0 to disable caching."
+    );
+
     public static final ConfigValue<Boolean> MILESTONES_ENABLED = ConfigValue.create("Milestones.Enabled",
         true,
         "Controls whether Milestones feature is enabled.");
@@ -130,6 +255,30 @@ public class Config {
         "[Default is 300 (5 min)]"
     );
 
+    public static final ConfigValue<Integer> CONFIG_LOADER_THREADS = ConfigValue.create("Crate.Loading.Threads",
+        0,
+        "Sets amount of threads used to load crate and key files on startup and reload.",
+        "Use 1 to load files one by one, 0 to pick automatically (up to 4)."
+    );
+
+    public static final ConfigValue<Boolean> CONFIG_SNAPSHOT_CACHE = ConfigValue.create("Crate.Loading.SnapshotCache",
+        false,
+        "When enabled, parsed crate and key files are cached in a binary form in the '.cache' folder.",
+        "Files that were not changed since the last load are read from the cache without YAML parsing."
+    );
+
+    public static final ConfigValue<Boolean> HOT_RELOAD_ENABLED = ConfigValue.create("Crate.HotReload.Enabled",
+        false,
+        "When enabled, changed crate, key, preview and opening files are reloaded automatically, one by one.",
+        "Other crates, their holograms and running openings are not affected.",
+        "[*] Plugin config and language files still require the reload command."
+    );
+
+    public static final ConfigValue<Integer> HOT_RELOAD_DEBOUNCE = ConfigValue.create("Crate.HotReload.Debounce",
+        750,
+        "Sets how long (in milliseconds) a file must stay unchanged before it is reloaded."
+    );
+
     public static final ConfigValue<NightItem> CRATE_LINK_TOOL = ConfigValue.create("Crate.LinkTool",
         CrateUtils.getDefaultLinkTool(),
         "Sets the Link Tool item layout."
@@ -164,6 +313,19 @@ public class Config {
         "Sets how often (in seconds) crate holograms will update."
     );
 
+    public static final ConfigValue<List<String>> CRATE_HOLOGRAM_GLOBAL_PLACEHOLDERS = ConfigValue.create("Crate.Holograms.GlobalPlaceholders",
+        Lists.newList("server_", "excellentcrates_latest_"),
+        "List of " + Plugins.PLACEHOLDER_API + " placeholder prefixes (without '%') that do not depend on a player.",
+        "Such placeholders are resolved once per tick for all holograms and players, instead of per each player.",
+        "Other placeholders are resolved per player and cached for the time set below."
+    );
+
+    public static final ConfigValue<Long> CRATE_HOLOGRAM_PLACEHOLDER_CACHE_TTL = ConfigValue.create("Crate.Holograms.PlaceholderCacheTime",
+        1000L,
+        "Sets for how long (in milliseconds) per-player " + Plugins.PLACEHOLDER_API + " values in holograms are cached.",
+        "Set to 0 to disable caching."
+    );
+
     public static final ConfigValue<Display.Billboard> CRATE_HOLOGRAM_BILLBOARD = ConfigValue.create("Crate.Holograms.Billboard",
         Display.Billboard.class, Display.Billboard.VERTICAL,
         "Controls if crate holograms should pivot to face player when rendered.",
@@ -255,6 +417,78 @@ public class Config {
         "By default it uses Left Click to preview crates, and Right Click to open them."
     );
 
+    public static final ConfigValue<Boolean> REWARD_COMMAND_QUEUE_ENABLED = ConfigValue.create("Crate.Rewards.Command_Queue.Enabled",
+        true,
+        "When enabled, commands of rewards are dispatched from a queue with a time budget per tick,",
+        "so mass openings of command rewards are spread across several ticks instead of freezing one.",
+        "Commands of a player are always dispatched in the order they were given."
+    );
+
+    public static final ConfigValue<Double> REWARD_COMMAND_QUEUE_TICK_BUDGET = ConfigValue.create("Crate.Rewards.Command_Queue.Tick_Budget",
+        2D,
+        "Sets how much time (in milliseconds) per tick can be spent on reward commands.",
+        "At least one command is dispatched each tick, even if it exceeds the budget."
+    );
+
+    public static final ConfigValue<Integer> REWARD_COMMAND_QUEUE_PROGRESS = ConfigValue.create("Crate.Rewards.Command_Queue.Progress_Threshold",
+        20,
+        "Players with at least this many queued commands see the delivery progress in the action bar.",
+        "Set to 0 to disable."
+    );
+
+    public static final ConfigValue<List<String>> REWARD_COMMAND_QUEUE_MERGE = ConfigValue.create("Crate.Rewards.Command_Queue.Merge",
+        Lists.newList("eco give * {amount}"),
+        "List of command patterns that can be merged into a single command when queued for the same player.",
+        "Use '*' for any single argument and '{amount}' for a number, amounts of merged commands are summed.",
+        "Commands are merged only if all arguments except amount are equal, e.g. 'eco give Steve 100' and 'eco give Steve 50' become 'eco give Steve 150'.",
+        "[*] Add only commands whose result does not depend on order of other commands."
+    );
+
+    public static final ConfigValue<Boolean> REWARD_MAILBOX_ENABLED = ConfigValue.create("Crate.Rewards.Mailbox.Enabled",
+        true,
+        "When enabled, reward items that do not fit in player's inventory are kept in a mailbox instead of being dropped.",
+        "Players claim them with the '/crate mailbox' command."
+    );
+
+    public static final ConfigValue<Integer> REWARD_MAILBOX_MAX_ITEMS = ConfigValue.create("Crate.Rewards.Mailbox.Max_Items",
+        270,
+        "Max. amount of item stacks a player can have in the mailbox. Items over the limit are dropped.",
+        "Set to 0 for unlimited."
+    );
+
+    public static final ConfigValue<Integer> REWARD_BROADCAST_WINDOW = ConfigValue.create("Crate.Rewards.Broadcast.Window",
+        20,
+        "Time (in ticks) to collect broadcast rewards won by a player from the same crate before they are announced.",
+        "Rewards won within this time are announced in a single summary message. Set to 0 to announce them on the next tick."
+    );
+
+    public static final ConfigValue<Integer> REWARD_BROADCAST_SERVER_BURST = ConfigValue.create("Crate.Rewards.Broadcast.Server_Limit.Burst",
+        10,
+        "Max. amount of reward broadcasts that can be sent on the server at once."
+    );
+
+    public static final ConfigValue<Integer> REWARD_BROADCAST_SERVER_PER_MINUTE = ConfigValue.create("Crate.Rewards.Broadcast.Server_Limit.Per_Minute",
+        30,
+        "Amount of reward broadcasts the server can send per minute after the burst is used.",
+        "Broadcasts over the limit are delayed and merged with later wins of the same player."
+    );
+
+    public static final ConfigValue<Integer> REWARD_BROADCAST_PLAYER_BURST = ConfigValue.create("Crate.Rewards.Broadcast.Player_Limit.Burst",
+        3,
+        "Max. amount of reward broadcasts that can be sent for a single player at once."
+    );
+
+    public static final ConfigValue<Integer> REWARD_BROADCAST_PLAYER_PER_MINUTE = ConfigValue.create("Crate.Rewards.Broadcast.Player_Limit.Per_Minute",
+        6,
+        "Amount of reward broadcasts that can be sent for a single player per minute after the burst is used."
+    );
+
+    public static final ConfigValue<Boolean> REWARD_BROADCAST_NETWORK_RELAY = ConfigValue.create("Crate.Rewards.Broadcast.Network_Relay",
+        false,
+        "When enabled, reward broadcasts are also shown on other servers of the network.",
+        "[*] Requires Redis sync to be enabled. Crates and rewards must have the same IDs on all servers."
+    );
+
     public static final ConfigValue<Boolean> HOLOGRAMS_ENABLED = ConfigValue.create("Holograms.Enabled",
         true,
         "Controls whether the Holograms feature is available.",
@@ -47,6 +47,7 @@ public class Lang implements LangContainer {
     public static final TextLocale COMMAND_PREVIEW_DESC        = LangEntry.builder("Command.Preview.Desc").text("Open crate preview.");
     public static final TextLocale COMMAND_RESET_COOLDOWN_DESC = LangEntry.builder("Command.ResetCooldown.Desc").text("Reset player's crate open cooldown.");
     public static final TextLocale COMMAND_MENU_DESC           = LangEntry.builder("Command.Menu.Desc").text("Open crate menu.");
+    public static final TextLocale COMMAND_MAILBOX_DESC        = LangEntry.builder("Command.Mailbox.Desc").text("Open reward mailbox.");
 
     public static final MessageLocale COMMAND_DROP_DONE = LangEntry.builder("Command.Drop.Done").chatMessage(
         GRAY.wrap("Dropped " + SOFT_YELLOW.wrap(CRATE_NAME) + " at " + SOFT_YELLOW.wrap(LOCATION_X + ", " + LOCATION_Y + ", " + LOCATION_Z) + " in " + SOFT_YELLOW.wrap(LOCATION_WORLD) + "."));
@@ -162,6 +163,15 @@ public class Lang implements LangContainer {
         " "
     );
 
+    public static final MessageLocale CRATE_OPEN_REWARD_UNAVAILABLE = LangEntry.builder("Crate.Open.RewardUnavailable").message(
+        MessageData.CHAT_NO_PREFIX,
+        " ",
+        RED.and(BOLD).wrap("REWARD UNAVAILABLE:"),
+        RED.wrap("» ") + GRAY.wrap("Crate: ") + WHITE.wrap(CRATE_NAME),
+        RED.wrap("» ") + GRAY.wrap("Reward ") + WHITE.wrap(REWARD_NAME) + GRAY.wrap(" was taken on another server, the open cost is refunded."),
+        " "
+    );
+
     public static final MessageLocale CRATE_OPEN_RESULT_INFO = LangEntry.builder("Crate.Rewards").message(
         MessageData.CHAT_NO_PREFIX,
         " ",
@@ -178,6 +188,26 @@ public class Lang implements LangContainer {
         GRAY.wrap("You completed " + GREEN.wrap(MILESTONE_OPENINGS + " Openings ") + "milestone and got " + GREEN.wrap(REWARD_NAME) + " as reward!")
     );
 
+    public static final MessageLocale CRATE_REWARD_COMMANDS_PROGRESS = LangEntry.builder("Crate.Reward.Commands.Progress").actionBarMessage(
+        GRAY.wrap("Delivering rewards... " + SOFT_YELLOW.wrap(GENERIC_CURRENT + "/" + GENERIC_MAX))
+    );
+
+    public static final MessageLocale MAILBOX_STORED = LangEntry.builder("Mailbox.Stored").chatMessage(
+        GRAY.wrap("Your inventory is full! " + SOFT_YELLOW.wrap(GENERIC_AMOUNT) + " reward item(s) were sent to your mailbox: " + SOFT_YELLOW.wrap("/crate mailbox"))
+    );
+
+    public static final MessageLocale MAILBOX_NOTIFY = LangEntry.builder("Mailbox.Notify").chatMessage(
+        GRAY.wrap("You have " + SOFT_YELLOW.wrap(GENERIC_AMOUNT) + " unclaimed reward item(s) in your mailbox: " + SOFT_YELLOW.wrap("/crate mailbox"))
+    );
+
+    public static final MessageLocale MAILBOX_EMPTY = LangEntry.builder("Mailbox.Empty").chatMessage(
+        GRAY.wrap("Your mailbox is empty.")
+    );
+
+    public static final MessageLocale MAILBOX_NO_SPACE = LangEntry.builder("Mailbox.NoSpace").chatMessage(
+        GRAY.wrap("Not enough space in your inventory to claim " + SOFT_RED.wrap("more") + " items.")
+    );
+
     public static final MessageLocale CRATE_OPEN_REWARD_BROADCAST = LangEntry.builder("Crate.Open.Reward.Broadcast").message(
         MessageData.chat().usePrefix(false).sound(Sound.BLOCK_NOTE_BLOCK_BELL).build(),
         " ",
@@ -187,6 +217,17 @@ public class Lang implements LangContainer {
         " "
     );
 
+    public static final MessageLocale CRATE_OPEN_REWARD_BROADCAST_SUMMARY = LangEntry.builder("Crate.Open.Reward.BroadcastSummary").message(
+        MessageData.chat().usePrefix(false).sound(Sound.BLOCK_NOTE_BLOCK_BELL).build(),
+        " ",
+        GRAY.wrap(LIGHT_PURPLE.wrap(PLAYER_DISPLAY_NAME) + " opened " + LIGHT_PURPLE.wrap(CRATE_NAME) + " and received " + LIGHT_PURPLE.wrap(GENERIC_AMOUNT) + " rewards: " + GENERIC_REWARDS),
+        " ",
+        GRAY.wrap("Purchase keys: " + OPEN_URL.with("https://YOUR_LINK_HERE.xyz").wrap(LIGHT_PURPLE.wrap("[Click to open Store]"))),
+        " "
+    );
+
+    public static final TextLocale CRATE_OPEN_REWARD_BROADCAST_ENTRY = LangEntry.builder("Crate.Open.Reward.BroadcastEntry").text(LIGHT_PURPLE.wrap(REWARD_NAME) + GRAY.wrap(" x" + GENERIC_AMOUNT));
+
     public static final MessageLocale CRATE_PREVIEW_ERROR_COOLDOWN = LangEntry.builder("Crate.Preview.Error.Cooldown").chatMessage(
         GRAY.wrap("You can preview this crate again in " + SOFT_RED.wrap(GENERIC_TIME))
     );
@@ -353,6 +394,16 @@ public class Lang implements LangContainer {
         )
         .build();
 
+    public static final IconLocale UI_MAILBOX_CLAIM_ALL = LangEntry.iconBuilder("UI.Mailbox.ClaimAll")
+        .rawName(GREEN.and(BOLD).wrap("Claim All"))
+        .rawLore(
+            GRAY.wrap("Move as many items as fit"),
+            GRAY.wrap("into your inventory."),
+            "",
+            GREEN.wrap("→ " + UNDERLINED.wrap("Click to claim"))
+        )
+        .build();
+
     public static final TextLocale EDITOR_TITLE_MAIN             = LangEntry.builder("Editor.Title.Main").text(BLACK.wrap("ExcellentCrates Editor"));
     public static final TextLocale EDITOR_TITLE_CRATE_LIST       = LangEntry.builder("Editor.Title.Crates").text(BLACK.wrap("Crates Editor"));
     public static final TextLocale EDITOR_TITLE_CRATE_SETTINGS   = LangEntry.builder("Editor.Title.Crate.Settings").text(BLACK.wrap("Crate Settings"));
@@ -39,6 +39,10 @@ public class Perms {
     public static final UniPermission COMMAND_PREVIEW_OTHERS     = new UniPermission(PREFIX_COMMAND + "preview.others");
     public static final UniPermission COMMAND_RESETCOOLDOWN      = new UniPermission(PREFIX_COMMAND + "resetcooldown");
     public static final UniPermission COMMAND_ANTIDUPE           = new UniPermission(PREFIX_COMMAND + "antidupe");
+    public static final UniPermission COMMAND_HISTORY            = new UniPermission(PREFIX_COMMAND + "history");
+    public static final UniPermission COMMAND_METRICS            = new UniPermission(PREFIX_COMMAND + "metrics");
+    public static final UniPermission COMMAND_PROFILE            = new UniPermission(PREFIX_COMMAND + "profile");
+    public static final UniPermission COMMAND_MAILBOX            = new UniPermission(PREFIX_COMMAND + "mailbox", "Allows to open the reward mailbox.", TRUE);
 
     public static final UniPermission BYPASS_CRATE_COOLDOWN  = new UniPermission(PREFIX_BYPASS + "crate.opencooldown");
 
@@ -64,7 +68,11 @@ public class Perms {
             COMMAND_PREVIEW,
             COMMAND_PREVIEW_OTHERS,
             COMMAND_RESETCOOLDOWN,
-            COMMAND_ANTIDUPE
+            COMMAND_ANTIDUPE,
+            COMMAND_HISTORY,
+            COMMAND_METRICS,
+            COMMAND_PROFILE,
+            COMMAND_MAILBOX
         );
 
         BYPASS.addChildren(
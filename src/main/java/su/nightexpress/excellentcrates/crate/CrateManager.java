@@ -4,6 +4,7 @@ import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.World;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
@@ -21,6 +22,7 @@ import su.nightexpress.excellentcrates.config.Config;
 import su.nightexpress.excellentcrates.config.Keys;
 import su.nightexpress.excellentcrates.config.Lang;
 import su.nightexpress.excellentcrates.crate.cost.Cost;
+import su.nightexpress.excellentcrates.crate.cost.CostCache;
 import su.nightexpress.excellentcrates.crate.effect.CrateEffect;
 import su.nightexpress.excellentcrates.crate.effect.EffectId;
 import su.nightexpress.excellentcrates.crate.impl.*;
@@ -30,16 +32,25 @@ import su.nightexpress.excellentcrates.crate.menu.MilestonesMenu;
 import su.nightexpress.excellentcrates.crate.menu.OpeningAmountMenu;
 import su.nightexpress.excellentcrates.crate.menu.OpeningCostMenu;
 import su.nightexpress.excellentcrates.crate.menu.PreviewMenu;
+import su.nightexpress.excellentcrates.data.DataManager;
 import su.nightexpress.excellentcrates.data.crate.GlobalCrateData;
 import su.nightexpress.excellentcrates.data.crate.UserCrateData;
 import su.nightexpress.excellentcrates.data.reward.RewardData;
 import su.nightexpress.excellentcrates.hologram.HologramTemplate;
+import su.nightexpress.excellentcrates.hooks.impl.PlaceholderCache;
+import su.nightexpress.excellentcrates.metrics.Metrics;
+import su.nightexpress.excellentcrates.metrics.profiler.CrateProfiler;
+import su.nightexpress.excellentcrates.metrics.profiler.ProfileSection;
 import su.nightexpress.excellentcrates.registry.CratesRegistries;
+import su.nightexpress.excellentcrates.sync.RedisLimitStore;
 import su.nightexpress.excellentcrates.user.CrateUser;
 import su.nightexpress.excellentcrates.util.CrateUtils;
 import su.nightexpress.excellentcrates.util.InteractType;
 import su.nightexpress.excellentcrates.util.ItemHelper;
+import su.nightexpress.excellentcrates.util.config.AsyncConfigWriter;
+import su.nightexpress.excellentcrates.util.config.ParallelConfigLoader;
 import su.nightexpress.excellentcrates.util.pos.WorldPos;
+import su.nightexpress.excellentcrates.util.pos.WorldPosIndex;
 import su.nightexpress.nightcore.config.FileConfig;
 import su.nightexpress.nightcore.core.config.CoreLang;
 import su.nightexpress.nightcore.manager.AbstractManager;
@@ -58,11 +69,13 @@ import java.util.UUID;
 
 public class CrateManager extends AbstractManager<CratesPlugin> {
 
+    private static final int MAX_REPLACEMENT_ROLLS = 5;
+
     private final Map<String, Rarity>      rarityByIdMap;
     private final Map<String, Crate>       crateByIdMap;
-    private final Map<WorldPos, Crate>     crateByPosMap;
+    private final WorldPosIndex<Crate>     crateByPosIndex;
+    private final AsyncConfigWriter        configWriter;
     private final Map<String, PreviewMenu> previewByIdMap;
-    private final Map<UUID, Long>          previewCooldown;
 
     private OpeningCostMenu   costMenu;
     private OpeningAmountMenu amountMenu;
@@ -72,13 +85,14 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
         super(plugin);
         this.rarityByIdMap = new HashMap<>();
         this.crateByIdMap = new HashMap<>();
-        this.crateByPosMap = new HashMap<>();
+        this.crateByPosIndex = new WorldPosIndex<>();
+        this.configWriter = new AsyncConfigWriter(plugin);
         this.previewByIdMap = new HashMap<>();
-        this.previewCooldown = new HashMap<>();
     }
 
     @Override
     protected void onLoad() {
+        this.configWriter.start();
         this.updateHologramTemplates();
 
         this.loadRarities();
@@ -88,22 +102,26 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
         this.plugin.runTask(task -> this.reportProblems()); // After everything is loaded.
 
         this.addListener(new CrateListener(this.plugin, this));
+        this.plugin.getServer().getOnlinePlayers().forEach(this::prefetchCosts);
 
         this.addAsyncTask(this::playCrateEffects, 1L);
-        this.addAsyncTask(this::saveCrates, Config.CRATE_SAVE_INTERVAL.get());
+        // Settings are captured on the main thread, the files are written by the config writer.
+        this.addTask(this::saveCrates, Config.CRATE_SAVE_INTERVAL.get());
     }
 
     @Override
     protected void onShutdown() {
         this.saveCrates();
+        this.configWriter.shutdown();
 
         if (this.milestonesMenu != null) this.milestonesMenu.clear();
 
         this.previewByIdMap.values().forEach(PreviewMenu::clear);
         this.previewByIdMap.clear();
         this.crateByIdMap.clear();
-        this.crateByPosMap.clear();
+        this.crateByPosIndex.clear();
         this.rarityByIdMap.clear();
+        CostCache.clear();
     }
 
     private void updateHologramTemplates() {
@@ -177,20 +195,20 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
     }
 
     private void loadCrates() {
-        for (File file : FileUtil.getFiles(plugin.getDataFolder() + Config.DIR_CRATES, false)) {
+        ParallelConfigLoader<Crate> loader = new ParallelConfigLoader<>(this.plugin, "Crate", file -> {
             String id = Strings.varStyle(FileConfig.getName(file)).orElseThrow(); // TODO Handle
+            return new Crate(this.plugin, file.toPath(), id);
+        }, Crate::loadFrom);
 
-            Crate crate = new Crate(plugin, file.toPath(), id);
-            this.loadCrate(crate);
-        }
+        // Files are parsed in parallel, crates are registered here in file order.
+        loader.loadAll(FileUtil.getFiles(plugin.getDataFolder() + Config.DIR_CRATES, false)).forEach(this::registerCrate);
         this.plugin.info("Loaded " + this.crateByIdMap.size() + " crates.");
     }
 
     private void loadCrate(@NotNull Crate crate) {
         try {
             crate.load();
-            this.crateByIdMap.put(crate.getId(), crate);
-            this.addCratePositions(crate);
+            this.registerCrate(crate);
         }
         catch (IllegalStateException exception) {
             this.plugin.error("Crate '" + crate.getPath() + "' can not be loaded.");
@@ -198,12 +216,96 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
         }
     }
 
+    private void registerCrate(@NotNull Crate crate) {
+        this.crateByIdMap.put(crate.getId(), crate);
+        this.addCratePositions(crate);
+    }
+
+    /**
+     * Reloads a single crate from its file, or unloads it if the file was deleted. The file is parsed on the calling
+     * thread, then the crate is looked up and swapped on the main thread. Other crates, their holograms and effects are not touched.
+     */
+    public void reloadCrate(@NotNull File file) {
+        String id = Strings.varStyle(FileConfig.getName(file)).orElse(null);
+        if (id == null) return;
+
+        if (!file.exists()) {
+            this.plugin.runNextTick(() -> this.unloadCrate(id));
+            return;
+        }
+
+        Crate crate = new Crate(this.plugin, file.toPath(), id);
+        try {
+            crate.loadFrom(FileConfig.load(file.toPath()));
+        }
+        catch (RuntimeException exception) {
+            this.plugin.error("Crate '" + file.getPath() + "' can not be reloaded, the current version is kept.");
+            exception.printStackTrace();
+            return;
+        }
+
+        this.plugin.runNextTick(() -> this.replaceCrate(crate));
+    }
+
+    private void replaceCrate(@NotNull Crate crate) {
+        Crate old = this.crateByIdMap.get(crate.getId());
+        if (old != null && !old.isFileChangedExternally()) return; // Saved by the plugin itself.
+
+        if (old != null) {
+            if (old.isDirty()) {
+                this.plugin.warn("Unsaved editor changes of crate '" + old.getId() + "' were replaced by changes from the file.");
+            }
+            old.removeHologram();
+            this.crateByPosIndex.removeValue(old);
+            this.evictPreviewTemplates(old.getId());
+        }
+
+        this.registerCrate(crate);
+        crate.createHologram();
+        crate.collectProblems().print(this.plugin.getLogger());
+        this.plugin.info("Reloaded crate '" + crate.getId() + "'.");
+    }
+
+    private void unloadCrate(@NotNull String id) {
+        Crate crate = this.crateByIdMap.remove(id);
+        if (crate == null) return;
+
+        crate.removeHologram();
+        this.crateByPosIndex.removeValue(crate);
+        this.evictPreviewTemplates(id);
+        this.plugin.info("Unloaded crate '" + id + "' (file removed).");
+    }
+
+    private void evictPreviewTemplates(@NotNull String crateId) {
+        this.previewByIdMap.values().forEach(menu -> menu.evictTemplate(crateId));
+    }
+
+    /**
+     * Reloads a single preview menu from its file, or removes it if the file was deleted.
+     */
+    public void reloadPreview(@NotNull File file) {
+        String id = FileConfig.getName(file).toLowerCase();
+        FileConfig config = file.exists() ? FileConfig.load(file.toPath()) : null;
+
+        this.plugin.runNextTick(() -> {
+            PreviewMenu old = config == null ? this.previewByIdMap.remove(id) : this.previewByIdMap.put(id, new PreviewMenu(this.plugin, config));
+            if (old != null) old.clear();
+
+            this.plugin.info((config == null ? "Removed" : "Reloaded") + " preview '" + id + "'.");
+        });
+    }
+
     private void reportProblems() {
         this.getCrates().forEach(crate -> crate.collectProblems().print(this.plugin.getLogger()));
     }
 
     private void saveCrates() {
-        this.getCrates().forEach(Crate::saveIfDirty);
+        this.getCrates().forEach(crate -> crate.saveIfDirtyAsync(this.configWriter));
+    }
+
+    @NotNull
+    public AsyncConfigWriter getConfigWriter() {
+        return this.configWriter;
     }
 
     public int countCrates() {
@@ -299,21 +401,41 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
 
     @Nullable
     public Crate getCrateByBlock(@NotNull Block block) {
-        return this.getCrateByLocation(block.getLocation());
+        return this.crateByPosIndex.get(block);
     }
 
     @Nullable
     public Crate getCrateByLocation(@NotNull Location location) {
-        WorldPos pos = WorldPos.from(location);
-        return this.crateByPosMap.get(pos);
+        return this.crateByPosIndex.get(location);
+    }
+
+    @Nullable
+    public Crate getCrateByPos(@NotNull WorldPos pos) {
+        return this.crateByPosIndex.get(pos);
+    }
+
+    /**
+     * @return Crate block positions located in the given chunk.
+     */
+    @NotNull
+    public List<WorldPos> getCratePositionsInChunk(@NotNull Chunk chunk) {
+        return this.crateByPosIndex.getInChunk(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+    }
+
+    public boolean hasCratesInChunk(@NotNull Chunk chunk) {
+        return this.crateByPosIndex.hasInChunk(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
     }
 
     public void removeCratePositions(@NotNull Crate crate) {
-        crate.getBlockPositions().forEach(this.crateByPosMap::remove);
+        this.crateByPosIndex.removeAll(crate.getBlockPositions());
+    }
+
+    public void removeCratePositions(@NotNull Collection<WorldPos> positions) {
+        this.crateByPosIndex.removeAll(positions);
     }
 
     public void addCratePositions(@NotNull Crate crate) {
-        crate.getBlockPositions().forEach(pos -> this.crateByPosMap.put(pos, crate));
+        this.crateByPosIndex.putAll(crate.getBlockPositions(), crate);
     }
 
     public void createCrate(@NotNull String id) {
@@ -351,7 +473,8 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
 
         this.plugin.getDataManager().handleCrateRemoval(crate);
         this.crateByIdMap.remove(crate.getId());
-        this.crateByPosMap.values().removeIf(stored -> stored == crate);
+        this.crateByPosIndex.removeValue(crate);
+        this.evictPreviewTemplates(crate.getId());
         return true;
     }
 
@@ -599,6 +722,7 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
 
         if (realCost != null) {
             realCost.takeAll(player);
+            PlaceholderCache.invalidate(player);
         }
 
         ItemStack item = source.getItem();
@@ -639,30 +763,145 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
     }
 
     public void giveReward(@NotNull Player player, @NotNull Reward reward) {
-        reward.giveContent(player);
+        this.giveReward(player, reward, null);
+    }
+
+    /**
+     * Gives the reward to the player. Rewards with global limits are reserved in the Redis limit store first and given
+     * only if the reservation succeeds. If another server took the last roll, a replacement reward is rolled.
+     * @param refund Called when neither the reward nor a replacement can be given, to give back what the player paid.
+     */
+    public void giveReward(@NotNull Player player, @NotNull Reward reward, @Nullable Runnable refund) {
+        if (this.hasGlobalReservation(reward)) {
+            this.reserveAndGive(player, reward, refund, 0);
+            return;
+        }
+        this.deliverReward(player, reward, true);
+    }
+
+    private void deliverReward(@NotNull Player player, @NotNull Reward reward, boolean countGlobal) {
+        CrateProfiler.Sample sample = CrateProfiler.start(reward.getCrate(), ProfileSection.REWARD, reward.getId());
+        try {
+            reward.giveContent(player);
 
+            Crate crate = reward.getCrate();
+            GlobalCrateData globalData = this.plugin.getDataManager().getCrateDataOrCreate(crate);
+
+            globalData.setLatestReward(reward);
+            globalData.setSaveRequired(true);
+
+            if (reward.isBroadcast()) {
+                this.plugin.getRewardBroadcaster().submit(player, reward);
+            }
+
+            this.addRollCount(player, reward, countGlobal);
+            this.plugin.getCrateLogger().logReward(player, reward);
+            this.plugin.getHistoryManager().record(player, reward);
+
+            CrateObtainRewardEvent event = new CrateObtainRewardEvent(reward, player);
+            this.plugin.getPluginManager().callEvent(event);
+        }
+        finally {
+            CrateProfiler.stop(sample);
+        }
+    }
+
+    private boolean hasGlobalReservation(@NotNull Reward reward) {
+        LimitValues limits = reward.getLimits();
+        if (!limits.isEnabled() || !(limits.isGlobalAmountLimited() || limits.hasGlobalCooldown())) return false;
+
+        return this.plugin.getDataManager().getGlobalLimitStore() != null;
+    }
+
+    /**
+     * Takes a roll of the reward's global limit in the Redis limit store in background and gives the reward once it is taken.
+     * The roll is counted locally right away, so other rolls of this server see it while Redis is being asked.
+     */
+    private void reserveAndGive(@NotNull Player player, @NotNull Reward reward, @Nullable Runnable refund, int attempt) {
+        DataManager dataManager = this.plugin.getDataManager();
+        RedisLimitStore store = dataManager.getGlobalLimitStore();
+        if (store == null) {
+            this.deliverReward(player, reward, true);
+            return;
+        }
+
+        LimitValues limits = reward.getLimits();
         Crate crate = reward.getCrate();
-        GlobalCrateData globalData = this.plugin.getDataManager().getCrateDataOrCreate(crate);
+        RewardData globalData = dataManager.getRewardLimitOrCreate(reward, null);
+        int seedRolls = globalData.getRolls();
+        long seedCooldownUntil = globalData.getCooldownUntil();
+        long cooldownUntil = limits.hasGlobalCooldown() ? limits.generateGlobalCooldown() : 0L;
 
-        globalData.setLatestReward(reward);
+        globalData.addRoll(1);
+        if (limits.hasGlobalCooldown()) {
+            globalData.setCooldownUntil(cooldownUntil);
+            this.plugin.getCooldownManager().scheduleRewardCooldown(reward, null, cooldownUntil);
+        }
         globalData.setSaveRequired(true);
 
-        if (reward.isBroadcast()) {
-            Lang.CRATE_OPEN_REWARD_BROADCAST.message().broadcast(replacer -> replacer
-                .replace(Placeholders.forPlayerWithPAPI(player))
-                .replace(crate.replacePlaceholders())
-                .replace(reward.replacePlaceholders())
+        this.plugin.getFoliaScheduler().runAsync(() -> {
+            RedisLimitStore.LimitState state = store.tryAcquire(crate.getId(), reward.getId(),
+                limits.isGlobalAmountLimited() ? limits.getGlobalAmount() : -1,
+                cooldownUntil,
+                limits.hasGlobalCooldown(),
+                seedRolls,
+                seedCooldownUntil
             );
-        }
 
-        this.addRollCount(player, reward);
-        this.plugin.getCrateLogger().logReward(player, reward);
+            this.plugin.getFoliaScheduler().runNextTick(() -> {
+                if (state == null) {
+                    // Redis is down, the local count is used as without the store.
+                    this.deliverReward(player, reward, false);
+                    return;
+                }
+
+                globalData.setSaveRequired(true);
+
+                if (state.acquired()) {
+                    // Rolls counted locally meanwhile are not in this state yet, so local data is never lowered.
+                    globalData.setRolls(Math.max(globalData.getRolls(), state.rolls()));
+                    globalData.setCooldownUntil(Math.max(globalData.getCooldownUntil(), state.cooldownUntil()));
+                    this.plugin.getRedisSyncManager().ifPresent(sync -> sync.publishRewardLimitInvalidate(crate.getId(), reward.getId()));
+                    this.deliverReward(player, reward, false);
+                    return;
+                }
 
-        CrateObtainRewardEvent event = new CrateObtainRewardEvent(reward, player);
-        this.plugin.getPluginManager().callEvent(event);
+                // The roll counted locally was not taken, the cooldown is the one set by the other server.
+                globalData.setRolls(Math.max(globalData.getRolls() - 1, state.rolls()));
+                globalData.setCooldownUntil(state.cooldownUntil());
+                this.giveReplacement(player, reward, refund, attempt + 1);
+            });
+        });
+    }
+
+    private void giveReplacement(@NotNull Player player, @NotNull Reward lost, @Nullable Runnable refund, int attempt) {
+        Crate crate = lost.getCrate();
+
+        // Local limit data was just updated from Redis, so the lost reward is filtered out here.
+        if (attempt <= MAX_REPLACEMENT_ROLLS && crate.hasRewards(player, null)) {
+            Reward replacement = crate.rollReward(player);
+            if (this.hasGlobalReservation(replacement)) {
+                this.reserveAndGive(player, replacement, refund, attempt);
+            }
+            else {
+                this.deliverReward(player, replacement, true);
+            }
+            return;
+        }
+
+        this.plugin.warn("Reward '" + lost.getId() + "' of crate '" + crate.getId() + "' is no longer available for " + player.getName() + " (global limit reached on another server).");
+        if (refund != null) refund.run();
+        Lang.CRATE_OPEN_REWARD_UNAVAILABLE.message().send(player, replacer -> replacer
+            .replace(crate.replacePlaceholders())
+            .replace(lost.replacePlaceholders())
+        );
     }
 
     public void addRollCount(@NotNull Player player, @NotNull Reward reward) {
+        this.addRollCount(player, reward, true);
+    }
+
+    private void addRollCount(@NotNull Player player, @NotNull Reward reward, boolean countGlobal) {
         LimitValues limits = reward.getLimits();
         if (!limits.isEnabled()) return;
 
@@ -672,8 +911,9 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
         boolean updatedGlobal = false;
         boolean updatedPlayer = false;
 
-        if (limits.hasGlobalCooldown()) {
+        if (countGlobal && limits.hasGlobalCooldown()) {
             globalData.setCooldownUntil(limits.generateGlobalCooldown());
+            this.plugin.getCooldownManager().scheduleRewardCooldown(reward, null, globalData.getCooldownUntil());
             globalData.addRoll(1);
             globalData.setSaveRequired(true);
             updatedGlobal = true;
@@ -683,6 +923,7 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
         playerData = this.plugin.getDataManager().getRewardLimitOrCreate(reward, player);
         if (limits.hasPlayerCooldown()) {
             playerData.setCooldownUntil(limits.generatePlayerCooldown());
+            this.plugin.getCooldownManager().scheduleRewardCooldown(reward, player, playerData.getCooldownUntil());
         }
         if (limits.isPlayerAmountLimited()) {
             playerData.addRoll(1);
@@ -705,18 +946,11 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
     }
 
     public void setPreviewCooldown(@NotNull Player player) {
-        long timestamp = System.currentTimeMillis() + Config.CRATE_PREVIEW_COOLDOWN.get();
-        this.previewCooldown.put(player.getUniqueId(), timestamp);
+        this.plugin.getCooldownManager().setPreviewCooldown(player);
     }
 
     public long getPreviewCooldown(@NotNull Player player) {
-        long timestamp = this.previewCooldown.getOrDefault(player.getUniqueId(), 0L);
-        if (System.currentTimeMillis() < timestamp) {
-            return timestamp;
-        }
-
-        this.removePreviewCooldown(player);
-        return 0L;
+        return this.plugin.getCooldownManager().getPreviewCooldown(player);
     }
 
     public boolean hasPreviewCooldown(@NotNull Player player) {
@@ -724,10 +958,23 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
     }
 
     public void removePreviewCooldown(@NotNull Player player) {
-        this.previewCooldown.remove(player.getUniqueId());
+        this.plugin.getCooldownManager().removePreviewCooldown(player);
+    }
+
+    /**
+     * Loads player's balances of all currencies used by crate costs in background.
+     */
+    public void prefetchCosts(@NotNull Player player) {
+        this.getCrates().stream()
+            .flatMap(crate -> crate.getCosts().stream())
+            .filter(Cost::isAvailable)
+            .flatMap(cost -> cost.getEntries().stream())
+            .forEach(entry -> entry.prefetch(player));
     }
 
     public void playCrateEffects() {
+        long started = Metrics.CRATE_EFFECTS.start();
+
         this.getCrates().forEach(crate -> {
             if (!crate.isEffectEnabled()) return;
 
@@ -742,12 +989,20 @@ public class CrateManager extends AbstractManager<CratesPlugin> {
                 Location location = worldPos.toLocation();
                 if (location == null) return;
 
-                CrateUtils.getPlayersForEffects(location).forEach(player -> {
-                    effect.playStep(location, particle, player);
-                });
+                CrateProfiler.Sample sample = CrateProfiler.start(crate, ProfileSection.EFFECT, effect.getId());
+                try {
+                    CrateUtils.getPlayersForEffects(location).forEach(player -> {
+                        effect.playStep(location, particle, player);
+                    });
+                }
+                finally {
+                    CrateProfiler.stop(sample);
+                }
             });
         });
 
         CratesRegistries.getEffects().forEach(CrateEffect::addTickCount);
+
+        Metrics.CRATE_EFFECTS.stop(started);
     }
 }
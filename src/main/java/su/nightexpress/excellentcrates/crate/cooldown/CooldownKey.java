@@ -0,0 +1,45 @@
+package su.nightexpress.excellentcrates.crate.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Identifies a scheduled cooldown. Player ID is null for global reward cooldowns and the daily reset.
+ */
+public record CooldownKey(@NotNull Type type, @Nullable UUID playerId, @Nullable String crateId, @Nullable String rewardId) {
+
+    public enum Type {
+        PREVIEW,
+        CRATE_OPEN,
+        REWARD,
+        DAILY_RESET
+    }
+
+    private static final CooldownKey DAILY_RESET = new CooldownKey(Type.DAILY_RESET, null, null, null);
+
+    @NotNull
+    public static CooldownKey preview(@NotNull UUID playerId) {
+        return new CooldownKey(Type.PREVIEW, playerId, null, null);
+    }
+
+    @NotNull
+    public static CooldownKey crateOpen(@NotNull UUID playerId, @NotNull String crateId) {
+        return new CooldownKey(Type.CRATE_OPEN, playerId, crateId, null);
+    }
+
+    @NotNull
+    public static CooldownKey reward(@Nullable UUID playerId, @NotNull String crateId, @NotNull String rewardId) {
+        return new CooldownKey(Type.REWARD, playerId, crateId, rewardId);
+    }
+
+    @NotNull
+    public static CooldownKey dailyReset() {
+        return DAILY_RESET;
+    }
+
+    public boolean isGlobal() {
+        return this.playerId == null;
+    }
+}
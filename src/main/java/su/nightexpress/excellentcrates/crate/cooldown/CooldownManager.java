@@ -0,0 +1,194 @@
+package su.nightexpress.excellentcrates.crate.cooldown;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.api.crate.Reward;
+import su.nightexpress.excellentcrates.config.Config;
+import su.nightexpress.excellentcrates.crate.impl.Crate;
+import su.nightexpress.excellentcrates.hooks.impl.PlaceholderCache;
+import su.nightexpress.nightcore.lib.folialib.wrapper.task.WrappedTask;
+import su.nightexpress.nightcore.manager.AbstractManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Tracks expiry of crate preview, crate open and reward cooldowns in a {@link TimerWheel} and notifies listeners
+ * when they expire, so caches depending on them (placeholders, holograms) are refreshed right away. Also performs
+ * the daily reset as a single scheduled event.
+ * <p>
+ * Cooldown timestamps are still stored in user and reward data, which remain the source of truth. The wheel only
+ * tells when they run out.
+ */
+public class CooldownManager extends AbstractManager<CratesPlugin> {
+
+    private static final long RESOLUTION    = 1000L;
+    private static final int  MAX_SCHEDULED = 200_000;
+
+    private final Map<UUID, Long>             previewCooldowns;
+    private final List<Consumer<CooldownKey>> expiryListeners;
+    private final List<Runnable>              dailyResetListeners;
+
+    private TimerWheel<CooldownKey> wheel;
+    private WrappedTask             tickTask;
+
+    public CooldownManager(@NotNull CratesPlugin plugin) {
+        super(plugin);
+        this.previewCooldowns = new ConcurrentHashMap<>();
+        this.expiryListeners = new CopyOnWriteArrayList<>();
+        this.dailyResetListeners = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    protected void onLoad() {
+        long now = System.currentTimeMillis();
+
+        synchronized (this) {
+            this.wheel = new TimerWheel<>(RESOLUTION, now);
+            this.wheel.schedule(CooldownKey.dailyReset(), DailyReset.refresh());
+        }
+
+        this.addExpiryListener(key -> {
+            if (key.isGlobal()) {
+                PlaceholderCache.clear();
+            }
+            else {
+                PlaceholderCache.invalidate(Objects.requireNonNull(key.playerId()));
+            }
+        });
+        this.addDailyResetListener(PlaceholderCache::clear);
+
+        this.tickTask = this.plugin.getFoliaScheduler().runTimer(this::tick, 20L, 20L);
+    }
+
+    @Override
+    protected void onShutdown() {
+        if (this.tickTask != null) {
+            this.tickTask.cancel();
+            this.tickTask = null;
+        }
+
+        synchronized (this) {
+            if (this.wheel != null) this.wheel.clear();
+        }
+        this.previewCooldowns.clear();
+        this.expiryListeners.clear();
+        this.dailyResetListeners.clear();
+    }
+
+    /**
+     * Adds a listener called on the global region thread when a scheduled cooldown expires.
+     */
+    public void addExpiryListener(@NotNull Consumer<CooldownKey> listener) {
+        this.expiryListeners.add(listener);
+    }
+
+    /**
+     * Adds a listener called on the global region thread at midnight, when all daily cooldowns end.
+     */
+    public void addDailyResetListener(@NotNull Runnable listener) {
+        this.dailyResetListeners.add(listener);
+    }
+
+    public synchronized int getScheduledCount() {
+        return this.wheel == null ? 0 : this.wheel.size();
+    }
+
+    private void tick() {
+        List<CooldownKey> expired = new ArrayList<>();
+
+        synchronized (this) {
+            if (this.wheel == null) return;
+
+            this.wheel.advance(System.currentTimeMillis(), expired::add);
+        }
+
+        // Listeners may schedule cooldowns again, so they are called outside of the lock.
+        expired.forEach(this::handleExpiry);
+    }
+
+    private void handleExpiry(@NotNull CooldownKey key) {
+        if (key.type() == CooldownKey.Type.DAILY_RESET) {
+            long next = DailyReset.refresh();
+            synchronized (this) {
+                this.wheel.schedule(key, next);
+            }
+            this.dailyResetListeners.forEach(this::callListener);
+            return;
+        }
+
+        if (key.type() == CooldownKey.Type.PREVIEW) {
+            this.previewCooldowns.remove(Objects.requireNonNull(key.playerId()));
+        }
+
+        this.expiryListeners.forEach(listener -> this.callListener(() -> listener.accept(key)));
+    }
+
+    private void callListener(@NotNull Runnable listener) {
+        try {
+            listener.run();
+        }
+        catch (Exception exception) {
+            this.plugin.error("Could not handle cooldown expiry: " + exception.getMessage());
+            exception.printStackTrace();
+        }
+    }
+
+    private synchronized void schedule(@NotNull CooldownKey key, long expireTime) {
+        if (this.wheel == null) return;
+        // Past the limit, cooldowns still end on time by their timestamps, only listeners are not notified.
+        if (this.wheel.size() >= MAX_SCHEDULED && !this.wheel.contains(key)) return;
+
+        this.wheel.schedule(key, expireTime);
+    }
+
+    private synchronized void cancel(@NotNull CooldownKey key) {
+        if (this.wheel == null) return;
+
+        this.wheel.cancel(key);
+    }
+
+    public void setPreviewCooldown(@NotNull Player player) {
+        long timestamp = System.currentTimeMillis() + Config.CRATE_PREVIEW_COOLDOWN.get();
+
+        this.previewCooldowns.put(player.getUniqueId(), timestamp);
+        this.schedule(CooldownKey.preview(player.getUniqueId()), timestamp);
+    }
+
+    public long getPreviewCooldown(@NotNull Player player) {
+        Long timestamp = this.previewCooldowns.get(player.getUniqueId());
+        // Entry is removed by the wheel up to one second late.
+        return timestamp == null || System.currentTimeMillis() >= timestamp ? 0L : timestamp;
+    }
+
+    public void removePreviewCooldown(@NotNull Player player) {
+        this.previewCooldowns.remove(player.getUniqueId());
+        this.cancel(CooldownKey.preview(player.getUniqueId()));
+    }
+
+    /**
+     * Schedules notification about expiry of player's crate open cooldown. Permanent cooldowns are ignored.
+     */
+    public void scheduleOpenCooldown(@NotNull UUID playerId, @NotNull Crate crate, long expireTime) {
+        CooldownKey key = CooldownKey.crateOpen(playerId, crate.getId());
+        if (expireTime <= 0L) {
+            this.cancel(key);
+            return;
+        }
+        this.schedule(key, expireTime);
+    }
+
+    /**
+     * Schedules notification about expiry of reward cooldown of a player, or the global one if player is null.
+     */
+    public void scheduleRewardCooldown(@NotNull Reward reward, @Nullable Player player, long expireTime) {
+        if (expireTime <= 0L) return;
+
+        UUID playerId = player == null ? null : player.getUniqueId();
+        this.schedule(CooldownKey.reward(playerId, reward.getCrate().getId(), reward.getId()), expireTime);
+    }
+}
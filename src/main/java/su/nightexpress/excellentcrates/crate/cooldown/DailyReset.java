@@ -0,0 +1,30 @@
+package su.nightexpress.excellentcrates.crate.cooldown;
+
+import su.nightexpress.nightcore.util.TimeUtil;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Time of the next daily cooldown reset (next midnight). Computed once a day by {@link CooldownManager}
+ * when the reset happens, instead of on every roll of a reward with daily cooldown.
+ */
+public class DailyReset {
+
+    private static volatile long nextReset;
+
+    public static long getNextResetTime() {
+        long next = nextReset;
+        // Fallback for when the manager is not loaded or the reset is not processed yet.
+        if (next == 0L || System.currentTimeMillis() >= next) {
+            next = refresh();
+        }
+        return next;
+    }
+
+    static long refresh() {
+        long next = TimeUtil.toEpochMillis(LocalDateTime.of(TimeUtil.getCurrentDate().plusDays(1), LocalTime.MIDNIGHT));
+        nextReset = next;
+        return next;
+    }
+}
@@ -0,0 +1,188 @@
+package su.nightexpress.excellentcrates.crate.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel with 4 levels of 64 slots. Level 0 slots are one tick of the given resolution wide,
+ * each next level slot covers a whole lap of the previous level, so scheduling and expiry are O(1) regardless
+ * of the amount of entries and how far they expire. Entries beyond the last level are parked in its farthest slot
+ * and placed again when it comes.
+ * <p>
+ * Each key has at most one entry, scheduling it again moves it. Entries are removed when they expire or are
+ * cancelled, so nothing has to be cleaned up. Not thread safe.
+ */
+public class TimerWheel<K> {
+
+    private static final int BITS   = 6;
+    private static final int SLOTS  = 1 << BITS;
+    private static final int MASK   = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long            resolution;
+    private final Node<K>[][]     wheels;
+    private final Map<K, Node<K>> nodes;
+
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long resolution, long now) {
+        this.resolution = resolution;
+        this.wheels = new Node[LEVELS][SLOTS];
+        this.nodes = new HashMap<>();
+        this.currentTick = now / resolution;
+
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                this.wheels[level][slot] = Node.sentinel();
+            }
+        }
+    }
+
+    public int size() {
+        return this.nodes.size();
+    }
+
+    public boolean contains(@NotNull K key) {
+        return this.nodes.containsKey(key);
+    }
+
+    /**
+     * @return Expire time of the key in millis, or 0 if it's not scheduled.
+     */
+    public long getExpireTime(@NotNull K key) {
+        Node<K> node = this.nodes.get(key);
+        return node == null ? 0L : node.expireTime;
+    }
+
+    public void schedule(@NotNull K key, long expireTime) {
+        Node<K> node = this.nodes.get(key);
+        if (node == null) {
+            node = new Node<>(key);
+            this.nodes.put(key, node);
+        }
+        else {
+            node.unlink();
+        }
+
+        node.expireTime = expireTime;
+        // Round up, so entries never expire before their time.
+        node.expireTick = (expireTime + this.resolution - 1) / this.resolution;
+
+        // Current slot is already processed.
+        this.place(node, this.currentTick + 1);
+    }
+
+    public boolean cancel(@NotNull K key) {
+        Node<K> node = this.nodes.remove(key);
+        if (node == null) return false;
+
+        node.unlink();
+        return true;
+    }
+
+    public void clear() {
+        this.nodes.values().forEach(Node::unlink);
+        this.nodes.clear();
+    }
+
+    /**
+     * Moves the wheel to the given time and passes keys of all expired entries to the consumer.
+     */
+    public void advance(long now, @NotNull Consumer<K> expired) {
+        long targetTick = now / this.resolution;
+
+        while (this.currentTick < targetTick) {
+            long tick = ++this.currentTick;
+
+            // When lower levels complete a lap, entries of the next slot of upper levels are moved down.
+            int wrapped = 0;
+            while (wrapped < LEVELS - 1 && ((tick >> (BITS * wrapped)) & MASK) == 0) {
+                wrapped++;
+            }
+            for (int level = wrapped; level >= 1; level--) {
+                this.cascade(level, (int) ((tick >> (BITS * level)) & MASK));
+            }
+
+            Node<K> head = this.wheels[0][(int) (tick & MASK)];
+            while (head.next != head) {
+                Node<K> node = head.next;
+                node.unlink();
+
+                if (node.expireTick > tick) {
+                    this.place(node, tick);
+                    continue;
+                }
+
+                this.nodes.remove(node.key);
+                expired.accept(node.key);
+            }
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        Node<K> head = this.wheels[level][slot];
+        while (head.next != head) {
+            Node<K> node = head.next;
+            node.unlink();
+            this.place(node, this.currentTick);
+        }
+    }
+
+    private void place(@NotNull Node<K> node, long earliestTick) {
+        long tick = Math.max(node.expireTick, earliestTick);
+
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS * level;
+            if ((tick >> shift) - (this.currentTick >> shift) < SLOTS) {
+                this.wheels[level][(int) ((tick >> shift) & MASK)].link(node);
+                return;
+            }
+        }
+
+        // Too far for the wheel, park in the farthest slot.
+        int shift = BITS * (LEVELS - 1);
+        this.wheels[LEVELS - 1][(int) (((this.currentTick >> shift) + MASK) & MASK)].link(node);
+    }
+
+    private static class Node<K> {
+
+        private final K key;
+
+        private long    expireTime;
+        private long    expireTick;
+        private Node<K> prev;
+        private Node<K> next;
+
+        Node(K key) {
+            this.key = key;
+        }
+
+        @NotNull
+        static <K> Node<K> sentinel() {
+            Node<K> node = new Node<>(null);
+            node.prev = node;
+            node.next = node;
+            return node;
+        }
+
+        void link(@NotNull Node<K> node) {
+            node.prev = this.prev;
+            node.next = this;
+            this.prev.next = node;
+            this.prev = node;
+        }
+
+        void unlink() {
+            if (this.prev == null) return;
+
+            this.prev.next = this.next;
+            this.next.prev = this.prev;
+            this.prev = null;
+            this.next = null;
+        }
+    }
+}
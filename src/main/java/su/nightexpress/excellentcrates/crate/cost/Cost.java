@@ -88,19 +88,25 @@ public class Cost implements Writeable {
     }
 
     public boolean canAfford(@NotNull Player player) {
-        return this.entries.stream().allMatch(entry -> entry.hasEnough(player));
+        return this.entries.stream().allMatch(entry -> CostCache.getOpenings(player, entry) > 0);
     }
 
     public void takeAll(@NotNull Player player) {
         this.entries.forEach(entry -> entry.take(player));
+        CostCache.consume(player, this);
     }
 
     public void refundAll(@NotNull Player player) {
         this.entries.forEach(entry -> entry.refund(player));
+        CostCache.invalidate(player);
     }
 
+    /**
+     * Counts openings player can pay for with this cost. May use recently fetched balances, so it is meant for display
+     * and opening amounts. Every opening is checked by {@link #canAfford(Player)} anyway.
+     */
     public int countMaxOpenings(@NotNull Player player) {
-        return this.entries.stream().mapToInt(entry -> entry.countPossibleOpenings(player)).max().orElse(0);
+        return this.entries.stream().mapToInt(entry -> entry.estimatePossibleOpenings(player)).max().orElse(0);
     }
 
     @NotNull
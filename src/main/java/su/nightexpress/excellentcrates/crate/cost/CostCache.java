@@ -0,0 +1,139 @@
+package su.nightexpress.excellentcrates.crate.cost;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import su.nightexpress.excellentcrates.api.cost.CostEntry;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player memo of cost affordability. The amount of openings each cost entry can pay for is computed once
+ * and reused for the rest of the tick, so a crate interaction asks the economy and key storage once instead of
+ * on every check. Costs paid meanwhile are subtracted in place, so a mass opening does not query again per opening.
+ * <p>
+ * Also holds currency balances prefetched off the main thread, used where a slightly outdated value is fine.
+ */
+public class CostCache {
+
+    private static final long SNAPSHOT_TIME = 50L; // One tick.
+
+    private static final Map<UUID, Snapshot>                   SNAPSHOTS = new ConcurrentHashMap<>();
+    private static final Map<UUID, Map<String, CachedBalance>> BALANCES  = new ConcurrentHashMap<>();
+    private static final Set<String>                           FETCHING  = ConcurrentHashMap.newKeySet();
+    private static final LongAdder                             HITS      = new LongAdder();
+    private static final LongAdder                             MISSES    = new LongAdder();
+
+    public static int getOpenings(@NotNull Player player, @NotNull CostEntry entry) {
+        long now = System.currentTimeMillis();
+        Snapshot snapshot = SNAPSHOTS.compute(player.getUniqueId(), (id, current) -> {
+            return current == null || current.expireTime <= now ? new Snapshot(now + SNAPSHOT_TIME) : current;
+        });
+
+        synchronized (snapshot) {
+            Integer openings = snapshot.openings.get(entry);
+            if (openings != null) {
+                HITS.increment();
+                return openings;
+            }
+        }
+
+        // Economy may block, so it is not called under the lock.
+        MISSES.increment();
+        int openings = entry.countPossibleOpenings(player);
+        synchronized (snapshot) {
+            snapshot.openings.put(entry, openings);
+        }
+        return openings;
+    }
+
+    /**
+     * Subtracts one opening from every entry of the paid cost. Entries of other costs may take the same currency
+     * or keys, so they are computed again on the next check.
+     */
+    public static void consume(@NotNull Player player, @NotNull Cost cost) {
+        Snapshot snapshot = SNAPSHOTS.get(player.getUniqueId());
+        if (snapshot == null) return;
+
+        List<CostEntry> entries = cost.getEntries();
+        synchronized (snapshot) {
+            snapshot.openings.keySet().removeIf(entry -> !entries.contains(entry));
+            snapshot.openings.replaceAll((entry, openings) -> openings == Integer.MAX_VALUE ? openings : Math.max(0, openings - 1));
+        }
+    }
+
+    @Nullable
+    public static CachedBalance getBalance(@NotNull UUID playerId, @NotNull String currencyId) {
+        Map<String, CachedBalance> balances = BALANCES.get(playerId);
+        return balances == null ? null : balances.get(currencyId);
+    }
+
+    public static void putBalance(@NotNull UUID playerId, @NotNull String currencyId, double balance) {
+        BALANCES.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>()).put(currencyId, new CachedBalance(balance, System.currentTimeMillis()));
+    }
+
+    public static void adjustBalance(@NotNull UUID playerId, @NotNull String currencyId, double amount) {
+        Map<String, CachedBalance> balances = BALANCES.get(playerId);
+        if (balances == null) return;
+
+        balances.computeIfPresent(currencyId, (id, cached) -> new CachedBalance(cached.balance + amount, cached.fetchTime));
+    }
+
+    /**
+     * @return False if player's balance of this currency is being fetched already.
+     */
+    public static boolean startFetch(@NotNull UUID playerId, @NotNull String currencyId) {
+        return FETCHING.add(playerId + ":" + currencyId);
+    }
+
+    public static void finishFetch(@NotNull UUID playerId, @NotNull String currencyId) {
+        FETCHING.remove(playerId + ":" + currencyId);
+    }
+
+    public static void invalidate(@NotNull UUID playerId) {
+        SNAPSHOTS.remove(playerId);
+    }
+
+    public static void invalidate(@NotNull Player player) {
+        invalidate(player.getUniqueId());
+    }
+
+    public static void remove(@NotNull Player player) {
+        invalidate(player);
+        BALANCES.remove(player.getUniqueId());
+    }
+
+    public static void clear() {
+        SNAPSHOTS.clear();
+        BALANCES.clear();
+    }
+
+    @NotNull
+    public static Stats getStats() {
+        return new Stats(HITS.sum(), MISSES.sum(), BALANCES.size());
+    }
+
+    public record Stats(long hits, long misses, int balances) {
+
+    }
+
+    public record CachedBalance(double balance, long fetchTime) {
+
+        public boolean isOutdated(long ttl) {
+            return System.currentTimeMillis() - this.fetchTime >= ttl;
+        }
+    }
+
+    private static class Snapshot {
+
+        private final long                    expireTime;
+        private final Map<CostEntry, Integer> openings;
+
+        Snapshot(long expireTime) {
+            this.expireTime = expireTime;
+            this.openings = new IdentityHashMap<>();
+        }
+    }
+}
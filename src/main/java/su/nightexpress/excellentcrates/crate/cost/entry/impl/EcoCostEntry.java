@@ -5,6 +5,7 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import su.nightexpress.excellentcrates.Placeholders;
+import su.nightexpress.excellentcrates.crate.cost.CostCache;
 import su.nightexpress.excellentcrates.crate.cost.entry.AbstractCostEntry;
 import su.nightexpress.excellentcrates.crate.cost.type.impl.EcoCostType;
 import su.nightexpress.excellentcrates.dialog.CrateDialogs;
@@ -71,9 +72,23 @@ public class EcoCostEntry extends AbstractCostEntry<EcoCostType> {
 
     @Override
     public int countPossibleOpenings(@NotNull Player player) {
+        if (this.amount <= 0) return Integer.MAX_VALUE;
+
         return (int) Math.floor(EconomyBridge.getBalance(player, this.currencyId) / this.amount);
     }
 
+    @Override
+    public int estimatePossibleOpenings(@NotNull Player player) {
+        if (this.amount <= 0) return Integer.MAX_VALUE;
+
+        return (int) Math.floor(this.type.getCachedBalance(player, this.currencyId) / this.amount);
+    }
+
+    @Override
+    public void prefetch(@NotNull Player player) {
+        this.type.prefetchBalance(player, this.currencyId);
+    }
+
     @Override
     public boolean hasEnough(@NotNull Player player) {
         return EconomyBridge.hasEnough(player, this.currencyId, this.amount);
@@ -82,11 +97,13 @@ public class EcoCostEntry extends AbstractCostEntry<EcoCostType> {
     @Override
     public void take(@NotNull Player player) {
         EconomyBridge.withdraw(player, this.currencyId, this.amount);
+        CostCache.adjustBalance(player.getUniqueId(), this.currencyId, -this.amount);
     }
 
     @Override
     public void refund(@NotNull Player player) {
         EconomyBridge.deposit(player, this.currencyId, this.amount);
+        CostCache.adjustBalance(player.getUniqueId(), this.currencyId, this.amount);
     }
 
     @NotNull
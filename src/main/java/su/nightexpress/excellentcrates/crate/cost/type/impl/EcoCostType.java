@@ -1,8 +1,11 @@
 package su.nightexpress.excellentcrates.crate.cost.type.impl;
 
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import su.nightexpress.excellentcrates.CratesPlugin;
 import su.nightexpress.excellentcrates.api.cost.CostEntry;
+import su.nightexpress.excellentcrates.config.Config;
+import su.nightexpress.excellentcrates.crate.cost.CostCache;
 import su.nightexpress.excellentcrates.crate.cost.CostTypeId;
 import su.nightexpress.excellentcrates.crate.cost.entry.impl.EcoCostEntry;
 import su.nightexpress.excellentcrates.crate.cost.type.AbstractCostType;
@@ -16,6 +19,8 @@ import su.nightexpress.nightcore.locale.entry.IconLocale;
 import su.nightexpress.nightcore.locale.entry.TextLocale;
 import su.nightexpress.nightcore.util.text.night.wrapper.TagWrappers;
 
+import java.util.UUID;
+
 import static su.nightexpress.excellentcrates.Placeholders.*;
 import static su.nightexpress.nightcore.util.text.night.wrapper.TagWrappers.*;
 
@@ -31,8 +36,11 @@ public class EcoCostType extends AbstractCostType implements LangContainer {
         .appendClick("Click to edit")
         .build();
 
+    private final CratesPlugin plugin;
+
     public EcoCostType(@NotNull CratesPlugin plugin) {
         super(CostTypeId.CURRENCY);
+        this.plugin = plugin;
         plugin.injectLang(this);
     }
 
@@ -61,4 +69,45 @@ public class EcoCostType extends AbstractCostType implements LangContainer {
     public EcoCostEntry createEmpty() {
         return new EcoCostEntry(this, CurrencyId.VAULT, 0);
     }
+
+    /**
+     * Returns recently fetched balance of the player. Outdated balance is returned as is and refreshed in background,
+     * so only the very first call may wait for the economy.
+     */
+    public double getCachedBalance(@NotNull Player player, @NotNull String currencyId) {
+        long ttl = Config.COST_BALANCE_CACHE_TTL.get();
+        if (ttl <= 0L) return EconomyBridge.getBalance(player, currencyId);
+
+        CostCache.CachedBalance cached = CostCache.getBalance(player.getUniqueId(), currencyId);
+        if (cached == null) {
+            double balance = EconomyBridge.getBalance(player, currencyId);
+            CostCache.putBalance(player.getUniqueId(), currencyId, balance);
+            return balance;
+        }
+
+        if (cached.isOutdated(ttl)) {
+            this.prefetchBalance(player, currencyId);
+        }
+        return cached.balance();
+    }
+
+    public void prefetchBalance(@NotNull Player player, @NotNull String currencyId) {
+        if (Config.COST_BALANCE_CACHE_TTL.get() <= 0L) return;
+
+        UUID playerId = player.getUniqueId();
+        if (!CostCache.startFetch(playerId, currencyId)) return;
+
+        this.plugin.getFoliaScheduler().runAsync(() -> {
+            try {
+                CostCache.putBalance(playerId, currencyId, EconomyBridge.getBalance(playerId, currencyId));
+            }
+            catch (Exception exception) {
+                this.plugin.error("Could not fetch '" + currencyId + "' balance of " + player.getName() + ": " + exception.getMessage());
+                exception.printStackTrace();
+            }
+            finally {
+                CostCache.finishFetch(playerId, currencyId);
+            }
+        });
+    }
 }
@@ -27,10 +27,12 @@ import su.nightexpress.excellentcrates.crate.reward.RewardFactory;
 import su.nightexpress.excellentcrates.data.crate.GlobalCrateData;
 import su.nightexpress.excellentcrates.hologram.HologramManager;
 import su.nightexpress.excellentcrates.hologram.HologramTemplate;
+import su.nightexpress.excellentcrates.metrics.Metrics;
 import su.nightexpress.excellentcrates.registry.CratesRegistries;
 import su.nightexpress.excellentcrates.util.CrateUtils;
 import su.nightexpress.excellentcrates.util.FoliaBlockUtils;
 import su.nightexpress.excellentcrates.util.ItemHelper;
+import su.nightexpress.excellentcrates.util.config.AsyncConfigWriter;
 import su.nightexpress.excellentcrates.util.pos.WorldPos;
 import su.nightexpress.nightcore.bridge.currency.Currency;
 import su.nightexpress.nightcore.bridge.item.AdaptedItem;
@@ -94,7 +96,11 @@ public class Crate implements ConfigBacked {
     private String      effectType;
     private UniParticle effectParticle;
 
-    private boolean dirty;
+    private volatile boolean dirty;
+    private volatile long fileStamp;
+    private volatile int revision;
+    private volatile ChanceTable chanceTable;
+    private volatile MilestoneIndex milestoneIndex;
 
     public Crate(@NotNull CratesPlugin plugin, @NotNull Path path, @NotNull String id) {
         this.plugin = plugin;
@@ -114,7 +120,16 @@ public class Crate implements ConfigBacked {
             return;
         }
 
-        this.loadConfig().edit(this::load);
+        this.loadFrom(this.loadConfig());
+    }
+
+    /**
+     * Loads crate settings from an already loaded config. Does not touch the world or managers,
+     * so it can be called off the main thread.
+     */
+    public void loadFrom(@NotNull FileConfig config) throws IllegalStateException {
+        config.edit(this::load);
+        this.updateFileStamp();
     }
 
     private void load(@NotNull FileConfig config) throws IllegalStateException {
@@ -238,6 +253,8 @@ public class Crate implements ConfigBacked {
                 this.milestones.add(Milestone.read(this, config, "Milestones.List." + sId));
             }
         }
+
+        this.updateRevision();
     }
 
     public void saveForce() {
@@ -247,6 +264,22 @@ public class Crate implements ConfigBacked {
 
     public void markDirty() {
         this.dirty = true;
+        this.updateRevision();
+    }
+
+    /**
+     * Invalidates data cached from crate settings (roll chances, previews, etc.) without marking the crate for save.
+     */
+    public void updateRevision() {
+        this.revision++;
+    }
+
+    /**
+     * Returns the edit counter of this crate, incremented on every {@link #markDirty()} call.
+     * Used to invalidate cached data derived from crate or reward settings.
+     */
+    public int getRevision() {
+        return this.revision;
     }
 
     public boolean hasFile() {
@@ -254,10 +287,61 @@ public class Crate implements ConfigBacked {
     }
 
     public void saveIfDirty() {
-        if (this.dirty) {
-            this.loadConfig().edit(this::write);
-            this.dirty = false;
+        FileConfig snapshot = this.createSaveSnapshot();
+        if (snapshot == null) return;
+
+        if (this.plugin.getCrateManager().getConfigWriter().writeNow(this.filePath, snapshot)) {
+            this.updateFileStamp();
         }
+        else this.dirty = true;
+    }
+
+    /**
+     * Queues crate settings for writing on the I/O thread. Settings are captured right away, so this must be
+     * called on the thread where the crate is edited.
+     */
+    public void saveIfDirtyAsync(@NotNull AsyncConfigWriter writer) {
+        FileConfig snapshot = this.createSaveSnapshot();
+        if (snapshot == null) return;
+
+        writer.submit(this.filePath, snapshot, success -> {
+            if (success) this.updateFileStamp();
+            else this.dirty = true;
+        });
+    }
+
+    @Nullable
+    private FileConfig createSaveSnapshot() {
+        if (!this.dirty) return null;
+
+        FileConfig snapshot = AsyncConfigWriter.createSnapshot(this.filePath);
+        this.write(snapshot);
+        this.dirty = false;
+        return snapshot;
+    }
+
+    private void updateFileStamp() {
+        this.fileStamp = getLastModified(this.filePath);
+    }
+
+    /**
+     * @return true if the file was changed by something else since it was last loaded or saved by the plugin.
+     */
+    public boolean isFileChangedExternally() {
+        return getLastModified(this.filePath) != this.fileStamp;
+    }
+
+    private static long getLastModified(@NotNull Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        }
+        catch (IOException exception) {
+            return 0L;
+        }
+    }
+
+    public boolean isDirty() {
+        return this.dirty;
     }
 
     private void write(@NotNull FileConfig config) {
@@ -513,6 +597,8 @@ public class Crate implements ConfigBacked {
 
     @NotNull
     public Reward rollReward(@Nullable Player player, @Nullable Rarity rarity) {
+        Metrics.REWARD_ROLLS.increment();
+
         List<Reward> rewards = this.getRewards(player, rarity);
 
         // If no rarity is specified, we have to select a random one and filter rewards by selected rarity.
@@ -579,6 +665,7 @@ public class Crate implements ConfigBacked {
 
             this.plugin.getFoliaScheduler().runLater(() -> {
                 this.blockPositions.removeAll(invalidPositions);
+                this.plugin.getCrateManager().removeCratePositions(invalidPositions);
                 if (!invalidPositions.isEmpty()) {
                     this.plugin.info("Removed " + invalidPositions.size() + " invalid air block positions from crate '" + this.getId() + "'");
                 }
@@ -846,6 +933,33 @@ public class Crate implements ConfigBacked {
         return this.rewardMap;
     }
 
+    /**
+     * Returns roll chance (in percent) of the given reward, computed once per crate revision.
+     */
+    public double getRewardRollChance(@NotNull Reward reward) {
+        return this.getChanceTable().rewardChances().getOrDefault(reward.getId(), 0D);
+    }
+
+    /**
+     * Returns roll chance (in percent) of the given rarity among rarities of this crate, computed once per crate revision.
+     */
+    public double getRarityRollChance(@NotNull Rarity rarity) {
+        return this.getChanceTable().rarityChances().getOrDefault(rarity, 0D);
+    }
+
+    @NotNull
+    private ChanceTable getChanceTable() {
+        int revision = this.revision;
+
+        ChanceTable table = this.chanceTable;
+        if (table == null || table.revision() != revision) {
+            table = ChanceTable.create(revision, this.getRewards());
+            this.chanceTable = table;
+        }
+
+        return table;
+    }
+
     @NotNull
     public Set<Rarity> getRarities() {
         return this.getRewards().stream().map(Reward::getRarity).collect(Collectors.toSet());
@@ -886,6 +1000,7 @@ public class Crate implements ConfigBacked {
         this.rewardMap.clear();
         this.rewardMap.putAll(rewards.stream().collect(
             Collectors.toMap(Reward::getId, Function.identity(), (has, add) -> add, LinkedHashMap::new)));
+        this.updateRevision();
     }
 
     @Nullable
@@ -901,6 +1016,7 @@ public class Crate implements ConfigBacked {
 
     public void addReward(@NotNull Reward reward) {
         this.rewardMap.put(reward.getId(), reward);
+        this.updateRevision();
     }
 
     public void removeReward(@NotNull Reward reward) {
@@ -910,6 +1026,7 @@ public class Crate implements ConfigBacked {
 
     public void removeReward(@NotNull String id) {
         this.rewardMap.remove(id);
+        this.updateRevision();
     }
 
     @NotNull
@@ -917,9 +1034,17 @@ public class Crate implements ConfigBacked {
         return this.milestones;
     }
 
+    /**
+     * Returns milestones sorted by openings, rebuilt once per crate revision.
+     */
+    @NotNull
+    public List<Milestone> getSortedMilestones() {
+        return this.getMilestoneIndex().sorted();
+    }
+
     @Nullable
     public Milestone getMilestone(int openings) {
-        return this.milestones.stream().filter(milestone -> milestone.getOpenings() == openings).findFirst().orElse(null);
+        return this.getMilestoneIndex().byOpenings().get(openings);
     }
 
     public boolean isMilestonesRepeatable() {
@@ -931,11 +1056,70 @@ public class Crate implements ConfigBacked {
     }
 
     public int getMaxMilestone() {
-        return this.milestones.stream().mapToInt(Milestone::getOpenings).max().orElse(0);
+        return this.getMilestoneIndex().max();
     }
 
     @Nullable
     public Milestone getNextMilestone(int openings) {
-        return this.milestones.stream().filter(milestone -> milestone.getOpenings() > openings).min(Comparator.comparingInt(Milestone::getOpenings)).orElse(null);
+        Map.Entry<Integer, Milestone> entry = this.getMilestoneIndex().byOpenings().higherEntry(openings);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Returns true if the given progress completes all milestones and must start over for repeatable milestones.
+     */
+    public boolean isMilestoneCycleCompleted(int progress) {
+        return this.milestonesRepeatable && progress >= this.getMaxMilestone();
+    }
+
+    @NotNull
+    private MilestoneIndex getMilestoneIndex() {
+        int revision = this.revision;
+
+        MilestoneIndex index = this.milestoneIndex;
+        if (index == null || index.revision() != revision) {
+            index = MilestoneIndex.create(revision, this.milestones);
+            this.milestoneIndex = index;
+        }
+
+        return index;
+    }
+
+    private record MilestoneIndex(int revision, @NotNull NavigableMap<Integer, Milestone> byOpenings, @NotNull List<Milestone> sorted, int max) {
+
+        @NotNull
+        static MilestoneIndex create(int revision, @NotNull Collection<Milestone> milestones) {
+            List<Milestone> sorted = milestones.stream().sorted(Comparator.comparingInt(Milestone::getOpenings)).toList();
+
+            NavigableMap<Integer, Milestone> byOpenings = new TreeMap<>();
+            sorted.forEach(milestone -> byOpenings.putIfAbsent(milestone.getOpenings(), milestone));
+
+            int max = byOpenings.isEmpty() ? 0 : byOpenings.lastKey();
+
+            return new MilestoneIndex(revision, Collections.unmodifiableNavigableMap(byOpenings), sorted, max);
+        }
+    }
+
+    private record ChanceTable(int revision, @NotNull Map<String, Double> rewardChances, @NotNull Map<Rarity, Double> rarityChances) {
+
+        @NotNull
+        static ChanceTable create(int revision, @NotNull Collection<Reward> rewards) {
+            Map<Rarity, Double> weightByRarity = new HashMap<>();
+            rewards.forEach(reward -> weightByRarity.merge(reward.getRarity(), reward.getWeight(), Double::sum));
+
+            double raritySum = weightByRarity.keySet().stream().mapToDouble(Rarity::getWeight).sum();
+
+            Map<Rarity, Double> rarityChances = new HashMap<>();
+            weightByRarity.keySet().forEach(rarity -> rarityChances.put(rarity, (rarity.getWeight() / raritySum) * 100D));
+
+            Map<String, Double> rewardChances = new HashMap<>();
+            rewards.forEach(reward -> {
+                Rarity rarity = reward.getRarity();
+                double chance = (reward.getWeight() / weightByRarity.get(rarity)) * (rarityChances.get(rarity) / 100D);
+                rewardChances.put(reward.getId(), chance * 100D);
+            });
+
+            return new ChanceTable(revision, Map.copyOf(rewardChances), Map.copyOf(rarityChances));
+        }
     }
 }
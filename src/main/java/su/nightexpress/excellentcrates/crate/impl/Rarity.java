@@ -47,7 +47,7 @@ public class Rarity {
     }
 
     public double getRollChance(@NotNull Crate crate) {
-        return this.getRollChance(crate.getRarities());
+        return crate.getRarityRollChance(this);
     }
 
     public double getRollChance(@NotNull Collection<Rarity> rarities) {
@@ -1,14 +1,12 @@
 package su.nightexpress.excellentcrates.crate.limit;
 
 import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.crate.cooldown.DailyReset;
 import su.nightexpress.nightcore.config.ConfigValue;
 import su.nightexpress.nightcore.config.FileConfig;
 import su.nightexpress.nightcore.config.Writeable;
 import su.nightexpress.nightcore.util.TimeUtil;
 
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-
 public class LimitValues implements Writeable {
 
     private static final int UNLIMITED = -1;
@@ -74,7 +72,7 @@ public class LimitValues implements Writeable {
 
         return switch (this.cooldownType) {
             case CUSTOM -> TimeUtil.createFutureTimestamp(cooldown);
-            case DAILY -> TimeUtil.toEpochMillis(LocalDateTime.of(TimeUtil.getCurrentDate().plusDays(1), LocalTime.MIDNIGHT));
+            case DAILY -> DailyReset.getNextResetTime();
         };
     }
 
@@ -27,7 +27,6 @@ import su.nightexpress.nightcore.util.NumberUtil;
 import su.nightexpress.nightcore.util.bukkit.NightItem;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -78,7 +77,7 @@ public class MilestonesMenu extends LinkedMenu<CratesPlugin, CrateSource> implem
         CrateUser user = plugin.getUserManager().getOrFetch(player);
 
         autoFill.setSlots(this.mileSlots);
-        autoFill.setItems(crate.getMilestones().stream().sorted(Comparator.comparing(Milestone::getOpenings)).toList());
+        autoFill.setItems(crate.getSortedMilestones());
         autoFill.setItemCreator(milestone -> {
             Reward reward = milestone.getReward();
             if (reward == null) return new NightItem(Material.AIR);
@@ -87,7 +86,7 @@ public class MilestonesMenu extends LinkedMenu<CratesPlugin, CrateSource> implem
             boolean isCompleted = openings >= milestone.getOpenings();
             String name;
             List<String> lore;
-            NightItem item = NightItem.fromItemStack(reward.getPreviewItem());
+            NightItem item = NightItem.fromItemStack(reward.getCachedPreviewItem());
 
             if (this.pointerEnabled) {
                 NightItem pointerItem = (isCompleted ? this.pointerComp : this.pointerInc).copy();
@@ -7,6 +7,7 @@ import org.bukkit.inventory.InventoryView;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.MenuType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import su.nightexpress.excellentcrates.CratesPlugin;
 import su.nightexpress.excellentcrates.api.crate.Reward;
 import su.nightexpress.excellentcrates.crate.impl.Crate;
@@ -31,6 +32,8 @@ import su.nightexpress.nightcore.util.placeholder.Replacer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static su.nightexpress.excellentcrates.Placeholders.*;
 import static su.nightexpress.nightcore.util.text.night.wrapper.TagWrappers.*;
@@ -39,6 +42,8 @@ public class PreviewMenu extends LinkedMenu<CratesPlugin, CrateSource> implement
 
     private static final String NO_PERMISSION = "%no_permission%";
 
+    private final Map<String, PreviewTemplate> templateByCrateId = new ConcurrentHashMap<>();
+
     private int[]        rewardSlots;
     private String       rewardName;
     private List<String> rewardLore;
@@ -75,12 +80,15 @@ public class PreviewMenu extends LinkedMenu<CratesPlugin, CrateSource> implement
     public MenuFiller<Reward> createFiller(@NotNull MenuViewer viewer) {
         Player player = viewer.getPlayer();
         Crate crate = this.getLink(player).getCrate();
+        PreviewTemplate template = this.getTemplate(crate);
 
         var autoFill = MenuFiller.builder(this);
 
         autoFill.setSlots(this.rewardSlots);
-        autoFill.setItems((this.hideUnavailable ? crate.getRewards(player) : crate.getRewards()).stream().filter(Reward::isRollable).toList());
+        autoFill.setItems(this.hideUnavailable ? template.rewards().stream().filter(reward -> reward.canWin(player)).toList() : template.rewards());
         autoFill.setItemCreator(reward -> {
+            RewardIcon icon = template.getIcon(reward, this);
+
             List<String> restrictions = new ArrayList<>();
             List<String> limits = new ArrayList<>();
 
@@ -96,16 +104,13 @@ public class PreviewMenu extends LinkedMenu<CratesPlugin, CrateSource> implement
                 restrictions.addAll(this.noPermissionLore);
             }
 
-            ItemStack previewItem = reward.getPreviewItem();
-            NightItem nightItem = NightItem.fromItemStack(previewItem);
-
-            String originalDisplayName = ItemUtil.getCustomNameSerialized(previewItem);
-            if (originalDisplayName == null || originalDisplayName.trim().isEmpty()) {
-                nightItem.setDisplayName(this.rewardName);
+            NightItem nightItem = NightItem.fromItemStack(reward.getCachedPreviewItem());
+            if (icon.displayName() != null) {
+                nightItem.setDisplayName(icon.displayName());
             }
 
             return nightItem
-                .setLore(this.rewardLore)
+                .setLore(icon.lore())
                 .replacement(replacer -> {
                         replacer
                             .replace(GENERIC_LIMITS, limits)
@@ -114,7 +119,6 @@ public class PreviewMenu extends LinkedMenu<CratesPlugin, CrateSource> implement
                             .replace("%win_limit_cooldown%", Collections.emptyList())
                             .replace("%win_limit_drained%", Collections.emptyList())
                             .replace("%win_limit_no_permission%", restrictions)
-                            .replace(reward.replacePlaceholders())
                             .replace(crate.replacePlaceholders());
                         if (this.applyPlaceholderAPI) {
                             replacer.replacePlaceholderAPI(player);
@@ -126,6 +130,56 @@ public class PreviewMenu extends LinkedMenu<CratesPlugin, CrateSource> implement
         return autoFill.build();
     }
 
+    /**
+     * Drops cached template of the crate, so a removed or replaced crate is not kept in memory.
+     */
+    public void evictTemplate(@NotNull String crateId) {
+        this.templateByCrateId.remove(crateId);
+    }
+
+    /**
+     * Returns rollable rewards of the crate along with their pre-rendered icon data.
+     * Template is shared between all viewers and rebuilt only when the crate is edited.
+     */
+    @NotNull
+    private PreviewTemplate getTemplate(@NotNull Crate crate) {
+        PreviewTemplate template = this.templateByCrateId.get(crate.getId());
+        if (template == null || template.crate() != crate || template.revision() != crate.getRevision()) {
+            template = new PreviewTemplate(crate, crate.getRevision(), crate.getRewards().stream().filter(Reward::isRollable).toList(), new ConcurrentHashMap<>());
+            this.templateByCrateId.put(crate.getId(), template);
+        }
+        return template;
+    }
+
+    @NotNull
+    private RewardIcon renderIcon(@NotNull Reward reward) {
+        ItemStack previewItem = reward.getCachedPreviewItem();
+        Replacer replacer = Replacer.create().replace(reward.replacePlaceholders());
+
+        String originalDisplayName = ItemUtil.getCustomNameSerialized(previewItem);
+        String displayName = null;
+        if (originalDisplayName == null || originalDisplayName.trim().isEmpty()) {
+            displayName = replacer.apply(this.rewardName);
+        }
+
+        return new RewardIcon(reward.getVersion(), displayName, replacer.apply(this.rewardLore));
+    }
+
+    private record PreviewTemplate(@NotNull Crate crate, int revision, @NotNull List<Reward> rewards, @NotNull Map<String, RewardIcon> icons) {
+
+        @NotNull
+        public RewardIcon getIcon(@NotNull Reward reward, @NotNull PreviewMenu menu) {
+            RewardIcon icon = this.icons.get(reward.getId());
+            if (icon == null || icon.version() != reward.getVersion()) {
+                icon = menu.renderIcon(reward);
+                this.icons.put(reward.getId(), icon);
+            }
+            return icon;
+        }
+    }
+
+    private record RewardIcon(long version, @Nullable String displayName, @NotNull List<String> lore) {}
+
     @Override
     public void loadConfiguration(@NotNull FileConfig config, @NotNull MenuLoader loader) {
         this.hideUnavailable = ConfigValue.create("Reward.Hide_Unavailable",
@@ -1,6 +1,7 @@
 package su.nightexpress.excellentcrates.crate.reward;
 
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import su.nightexpress.excellentcrates.CratesPlugin;
 import su.nightexpress.excellentcrates.Placeholders;
@@ -36,6 +37,9 @@ public abstract class AbstractReward implements Reward {
     protected Set<String> ignoredPermissions;
     protected Set<String> requiredPermissions;
 
+    private volatile PreviewSnapshot previewSnapshot;
+    private int version;
+
     public AbstractReward(@NotNull CratesPlugin plugin, @NotNull Crate crate, @NotNull String id, @NotNull Rarity rarity) {
         this.plugin = plugin;
         this.crate = crate;
@@ -95,6 +99,41 @@ public abstract class AbstractReward implements Reward {
 
     protected abstract void writeAdditional(@NotNull FileConfig config, @NotNull String path);
 
+    /**
+     * Builds a fresh preview item from the reward settings. Called only when the cached preview is outdated.
+     */
+    @NotNull
+    protected abstract ItemStack createPreviewItem();
+
+    protected void updateVersion() {
+        this.version++;
+    }
+
+    @Override
+    public long getVersion() {
+        return ((long) this.crate.getRevision() << 32) | (this.version & 0xFFFFFFFFL);
+    }
+
+    @Override
+    @NotNull
+    public ItemStack getCachedPreviewItem() {
+        long version = this.getVersion();
+
+        PreviewSnapshot snapshot = this.previewSnapshot;
+        if (snapshot == null || snapshot.version() != version) {
+            snapshot = new PreviewSnapshot(version, this.createPreviewItem());
+            this.previewSnapshot = snapshot;
+        }
+
+        return snapshot.itemStack();
+    }
+
+    @Override
+    @NotNull
+    public ItemStack getPreviewItem() {
+        return this.getCachedPreviewItem().clone();
+    }
+
     @Override
     @NotNull
     public UnaryOperator<String> replacePlaceholders() {
@@ -199,11 +238,7 @@ public abstract class AbstractReward implements Reward {
 
     @Override
     public double getRollChance() {
-        double sum = this.crate.getRewards(this.rarity).stream().mapToDouble(Reward::getWeight).sum();
-        double rarityChance = this.rarity.getRollChance(this.crate);
-        double chance = (this.weight / sum) * (rarityChance / 100D);
-
-        return chance * 100D;
+        return this.crate.getRewardRollChance(this);
     }
 
     @Override
@@ -226,6 +261,7 @@ public abstract class AbstractReward implements Reward {
     @Override
     public void setWeight(double weight) {
         this.weight = Math.max(0, weight);
+        this.crate.updateRevision();
     }
 
     @NotNull
@@ -235,6 +271,7 @@ public abstract class AbstractReward implements Reward {
 
     public void setPreview(@NotNull AdaptedItem provider) {
         this.preview = provider;
+        this.updateVersion();
     }
 
     @Override
@@ -246,6 +283,7 @@ public abstract class AbstractReward implements Reward {
     @Override
     public void setRarity(@NotNull Rarity rarity) {
         this.rarity = rarity;
+        this.crate.updateRevision();
     }
 
     @Override
@@ -288,4 +326,6 @@ public abstract class AbstractReward implements Reward {
     public void setRequiredPermissions(@NotNull Set<String> requiredPermissions) {
         this.requiredPermissions = requiredPermissions;
     }
+
+    private record PreviewSnapshot(long version, @NotNull ItemStack itemStack) {}
 }
@@ -0,0 +1,209 @@
+package su.nightexpress.excellentcrates.crate.reward.broadcast;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.Placeholders;
+import su.nightexpress.excellentcrates.api.crate.Reward;
+import su.nightexpress.excellentcrates.config.Config;
+import su.nightexpress.excellentcrates.config.Lang;
+import su.nightexpress.excellentcrates.crate.impl.Crate;
+import su.nightexpress.nightcore.lib.folialib.wrapper.task.WrappedTask;
+import su.nightexpress.nightcore.manager.AbstractManager;
+
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Sends reward broadcasts. Wins of a player from the same crate within a short window are combined into a single
+ * summary message, and messages are limited by a token bucket per server and per player. A message that is over
+ * the limit is not dropped but kept, and later wins are added to it until it can be sent.
+ */
+public class RewardBroadcaster extends AbstractManager<CratesPlugin> {
+
+    private static final long BUCKET_CLEANUP_TICKS = 1200L;
+
+    private final Map<BatchKey, Batch>   batches;
+    private final Map<UUID, TokenBucket> playerBuckets;
+
+    private WrappedTask tickTask;
+    private TokenBucket serverBucket;
+    private long        tick;
+    private int         window;
+    private int         playerBurst;
+    private int         playerPerMinute;
+    private boolean     relay;
+
+    public RewardBroadcaster(@NotNull CratesPlugin plugin) {
+        super(plugin);
+        this.batches = new LinkedHashMap<>();
+        this.playerBuckets = new HashMap<>();
+    }
+
+    @Override
+    protected void onLoad() {
+        long now = System.nanoTime();
+
+        this.window = Math.max(0, Config.REWARD_BROADCAST_WINDOW.get());
+        this.serverBucket = new TokenBucket(Config.REWARD_BROADCAST_SERVER_BURST.get(), Config.REWARD_BROADCAST_SERVER_PER_MINUTE.get(), now);
+        this.playerBurst = Config.REWARD_BROADCAST_PLAYER_BURST.get();
+        this.playerPerMinute = Config.REWARD_BROADCAST_PLAYER_PER_MINUTE.get();
+        this.relay = Config.REWARD_BROADCAST_NETWORK_RELAY.get();
+
+        this.tickTask = this.plugin.getFoliaScheduler().runTimer(this::tick, 1L, 1L);
+    }
+
+    @Override
+    protected void onShutdown() {
+        if (this.tickTask != null) {
+            this.tickTask.cancel();
+            this.tickTask = null;
+        }
+
+        // Wins are already given, so their messages are sent now instead of being lost on reload/shutdown.
+        List<Batch> pending;
+        synchronized (this) {
+            pending = new ArrayList<>(this.batches.values());
+            this.batches.clear();
+            this.playerBuckets.clear();
+        }
+        pending.forEach(this::send);
+        this.tick = 0L;
+    }
+
+    public synchronized int getPendingCount() {
+        return this.batches.size();
+    }
+
+    public void submit(@NotNull Player player, @NotNull Reward reward) {
+        Crate crate = reward.getCrate();
+        BatchKey key = new BatchKey(player.getUniqueId(), crate.getId());
+
+        synchronized (this) {
+            Batch batch = this.batches.get(key);
+            if (batch == null) {
+                batch = new Batch(player, crate, this.tick + this.window);
+                this.batches.put(key, batch);
+            }
+            batch.add(reward);
+        }
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        List<Batch> ready = new ArrayList<>();
+
+        synchronized (this) {
+            this.tick++;
+
+            Iterator<Batch> iterator = this.batches.values().iterator();
+            while (iterator.hasNext()) {
+                Batch batch = iterator.next();
+                if (batch.sendTick > this.tick) continue;
+                if (!this.serverBucket.hasToken(now)) break;
+
+                TokenBucket playerBucket = this.playerBuckets.computeIfAbsent(batch.player.getUniqueId(), k -> new TokenBucket(this.playerBurst, this.playerPerMinute, now));
+                if (!playerBucket.tryTake(now)) continue;
+
+                this.serverBucket.tryTake(now);
+                iterator.remove();
+                ready.add(batch);
+            }
+
+            if (this.tick % BUCKET_CLEANUP_TICKS == 0L) {
+                this.playerBuckets.values().removeIf(bucket -> bucket.isFull(now));
+            }
+        }
+
+        // Placeholders of messages may be slow, so they are replaced outside of the lock.
+        ready.forEach(this::send);
+    }
+
+    private void send(@NotNull Batch batch) {
+        Player player = batch.player;
+        UnaryOperator<String> playerReplacer = player.isOnline() ? Placeholders.forPlayerWithPAPI(player) : Placeholders.forPlayer(player);
+
+        this.broadcast(batch.crate, batch.rewards, batch.total, playerReplacer);
+
+        if (this.relay) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            batch.rewards.forEach((reward, amount) -> counts.put(reward.getId(), amount));
+
+            this.plugin.getRedisSyncManager().ifPresent(sync -> sync.publishRewardBroadcast(player.getName(), player.getDisplayName(), batch.crate.getId(), counts));
+        }
+    }
+
+    /**
+     * Shows a broadcast relayed from other server. It takes a token of this server, but is dropped instead of
+     * being delayed when there are no tokens left.
+     */
+    public void broadcastRemote(@NotNull String playerName, @NotNull String displayName, @NotNull Crate crate, @NotNull Map<String, Integer> counts) {
+        Map<Reward, Integer> rewards = new LinkedHashMap<>();
+        counts.forEach((rewardId, amount) -> {
+            Reward reward = crate.getReward(rewardId);
+            if (reward != null && amount > 0) rewards.put(reward, amount);
+        });
+        if (rewards.isEmpty()) return;
+
+        synchronized (this) {
+            if (this.serverBucket == null || !this.serverBucket.tryTake(System.nanoTime())) return;
+        }
+
+        int total = rewards.values().stream().mapToInt(Integer::intValue).sum();
+        UnaryOperator<String> playerReplacer = str -> str
+            .replace(Placeholders.PLAYER_NAME, playerName)
+            .replace(Placeholders.PLAYER_DISPLAY_NAME, displayName);
+
+        this.broadcast(crate, rewards, total, playerReplacer);
+    }
+
+    private void broadcast(@NotNull Crate crate, @NotNull Map<Reward, Integer> rewards, int total, @NotNull UnaryOperator<String> playerReplacer) {
+        if (total == 1) {
+            Reward reward = rewards.keySet().iterator().next();
+
+            Lang.CRATE_OPEN_REWARD_BROADCAST.message().broadcast(replacer -> replacer
+                .replace(playerReplacer)
+                .replace(crate.replacePlaceholders())
+                .replace(reward.replacePlaceholders())
+            );
+            return;
+        }
+
+        StringJoiner joiner = new StringJoiner(", ");
+        rewards.forEach((reward, amount) -> {
+            joiner.add(reward.replacePlaceholders().apply(Lang.CRATE_OPEN_REWARD_BROADCAST_ENTRY.text())
+                .replace(Placeholders.GENERIC_AMOUNT, String.valueOf(amount)));
+        });
+
+        Lang.CRATE_OPEN_REWARD_BROADCAST_SUMMARY.message().broadcast(replacer -> replacer
+            .replace(playerReplacer)
+            .replace(crate.replacePlaceholders())
+            .replace(Placeholders.GENERIC_AMOUNT, total)
+            .replace(Placeholders.GENERIC_REWARDS, joiner.toString())
+        );
+    }
+
+    private record BatchKey(@NotNull UUID playerId, @NotNull String crateId) {}
+
+    private static class Batch {
+
+        private final Player               player;
+        private final Crate                crate;
+        private final long                 sendTick;
+        private final Map<Reward, Integer> rewards;
+
+        private int total;
+
+        Batch(@NotNull Player player, @NotNull Crate crate, long sendTick) {
+            this.player = player;
+            this.crate = crate;
+            this.sendTick = sendTick;
+            this.rewards = new LinkedHashMap<>();
+        }
+
+        void add(@NotNull Reward reward) {
+            this.rewards.merge(reward, 1, Integer::sum);
+            this.total++;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package su.nightexpress.excellentcrates.crate.reward.broadcast;
+
+/**
+ * Simple token bucket: holds up to {@code capacity} tokens and gains {@code perMinute} tokens every minute.
+ * Not thread safe.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long   updated;
+
+    public TokenBucket(int capacity, int perMinute, long now) {
+        this.capacity = Math.max(1, capacity);
+        this.tokensPerNano = Math.max(0, perMinute) / 60_000_000_000D;
+        this.tokens = this.capacity;
+        this.updated = now;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - this.updated;
+        if (elapsed <= 0L) return;
+
+        this.tokens = Math.min(this.capacity, this.tokens + elapsed * this.tokensPerNano);
+        this.updated = now;
+    }
+
+    public boolean hasToken(long now) {
+        this.refill(now);
+        return this.tokens >= 1D;
+    }
+
+    public boolean tryTake(long now) {
+        if (!this.hasToken(now)) return false;
+
+        this.tokens -= 1D;
+        return true;
+    }
+
+    public boolean isFull(long now) {
+        this.refill(now);
+        return this.tokens >= this.capacity;
+    }
+}
@@ -0,0 +1,70 @@
+package su.nightexpress.excellentcrates.crate.reward.command;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+
+/**
+ * Pattern of commands that can be merged by summing their amount, like {@code eco give * {amount}}.
+ * A {@code *} token matches any single argument, the {@code {amount}} token matches a number.
+ */
+public class CommandMergeRule {
+
+    public static final String ANY    = "*";
+    public static final String AMOUNT = "{amount}";
+
+    private final String[] tokens;
+    private final int      amountIndex;
+
+    private CommandMergeRule(@NotNull String[] tokens, int amountIndex) {
+        this.tokens = tokens;
+        this.amountIndex = amountIndex;
+    }
+
+    /**
+     * @return Parsed rule, or null if the pattern has no single {@code {amount}} token.
+     */
+    @Nullable
+    public static CommandMergeRule parse(@NotNull String pattern) {
+        String[] tokens = pattern.trim().split("\\s+");
+        int amountIndex = -1;
+
+        for (int index = 0; index < tokens.length; index++) {
+            if (!tokens[index].equalsIgnoreCase(AMOUNT)) continue;
+            if (amountIndex >= 0) return null;
+
+            amountIndex = index;
+        }
+        if (amountIndex < 0) return null;
+
+        return new CommandMergeRule(tokens, amountIndex);
+    }
+
+    /**
+     * @return Mergeable command, or null if the command does not match this pattern.
+     */
+    @Nullable
+    public QueuedCommand match(@NotNull String command) {
+        String[] arguments = command.split(" ");
+        if (arguments.length != this.tokens.length) return null;
+
+        for (int index = 0; index < arguments.length; index++) {
+            if (index == this.amountIndex) continue;
+
+            String token = this.tokens[index];
+            if (!token.equals(ANY) && !token.equalsIgnoreCase(arguments[index])) return null;
+        }
+
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(arguments[this.amountIndex]);
+        }
+        catch (NumberFormatException exception) {
+            return null;
+        }
+
+        arguments[this.amountIndex] = AMOUNT;
+        return new QueuedCommand(command, String.join(" ", arguments), this.amountIndex, amount);
+    }
+}
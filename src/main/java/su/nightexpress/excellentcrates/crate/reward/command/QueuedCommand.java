@@ -0,0 +1,64 @@
+package su.nightexpress.excellentcrates.crate.reward.command;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+
+/**
+ * Command waiting in the {@link RewardCommandQueue}. Commands matched by a {@link CommandMergeRule} carry a merge key
+ * and an amount, which grows as identical commands are merged into it.
+ */
+public class QueuedCommand {
+
+    private final String command;
+    private final String mergeKey;
+    private final int    amountIndex;
+
+    private BigDecimal amount;
+    private int        merged;
+
+    QueuedCommand(@NotNull String command) {
+        this(command, null, -1, null);
+    }
+
+    QueuedCommand(@NotNull String command, @Nullable String mergeKey, int amountIndex, @Nullable BigDecimal amount) {
+        this.command = command;
+        this.mergeKey = mergeKey;
+        this.amountIndex = amountIndex;
+        this.amount = amount;
+        this.merged = 1;
+    }
+
+    /**
+     * @return False if the commands have no amounts to merge.
+     */
+    boolean merge(@NotNull QueuedCommand other) {
+        if (this.amount == null || other.amount == null) return false;
+
+        this.amount = this.amount.add(other.amount);
+        this.merged += other.merged;
+        return true;
+    }
+
+    @Nullable
+    public String getMergeKey() {
+        return this.mergeKey;
+    }
+
+    /**
+     * @return Number of given commands this command stands for.
+     */
+    public int getMerged() {
+        return this.merged;
+    }
+
+    @NotNull
+    public String getCommand() {
+        if (this.merged == 1 || this.amount == null) return this.command;
+
+        String[] arguments = this.command.split(" ");
+        arguments[this.amountIndex] = this.amount.stripTrailingZeros().toPlainString();
+        return String.join(" ", arguments);
+    }
+}
@@ -0,0 +1,219 @@
+package su.nightexpress.excellentcrates.crate.reward.command;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.Placeholders;
+import su.nightexpress.excellentcrates.config.Config;
+import su.nightexpress.excellentcrates.config.Lang;
+import su.nightexpress.nightcore.lib.folialib.wrapper.task.WrappedTask;
+import su.nightexpress.nightcore.manager.AbstractManager;
+import su.nightexpress.nightcore.util.Players;
+
+import java.util.*;
+
+/**
+ * Dispatches commands of rewards within a time budget per tick. Players take turns, one command each,
+ * so a mass opening of one player does not delay rewards of others. Commands of a player keep their order,
+ * consecutive commands matched by a {@link CommandMergeRule} are merged into one.
+ */
+public class RewardCommandQueue extends AbstractManager<CratesPlugin> {
+
+    private final Map<UUID, PlayerCommands> commandsByPlayer;
+    private final Deque<PlayerCommands>     turns;
+    private final List<CommandMergeRule>    mergeRules;
+
+    private WrappedTask tickTask;
+    private boolean     enabled;
+    private long        budgetNanos;
+    private int         progressThreshold;
+
+    public RewardCommandQueue(@NotNull CratesPlugin plugin) {
+        super(plugin);
+        this.commandsByPlayer = new HashMap<>();
+        this.turns = new ArrayDeque<>();
+        this.mergeRules = new ArrayList<>();
+    }
+
+    @Override
+    protected void onLoad() {
+        this.enabled = Config.REWARD_COMMAND_QUEUE_ENABLED.get();
+        if (!this.enabled) return;
+
+        this.budgetNanos = (long) (Math.max(0.1D, Config.REWARD_COMMAND_QUEUE_TICK_BUDGET.get()) * 1_000_000D);
+        this.progressThreshold = Config.REWARD_COMMAND_QUEUE_PROGRESS.get();
+
+        Config.REWARD_COMMAND_QUEUE_MERGE.get().forEach(pattern -> {
+            CommandMergeRule rule = CommandMergeRule.parse(pattern);
+            if (rule == null) {
+                this.plugin.warn("Invalid command merge pattern '" + pattern + "': it must contain a single " + CommandMergeRule.AMOUNT + " argument.");
+                return;
+            }
+            this.mergeRules.add(rule);
+        });
+
+        this.tickTask = this.plugin.getFoliaScheduler().runTimer(this::tick, 1L, 1L);
+    }
+
+    @Override
+    protected void onShutdown() {
+        if (this.tickTask != null) {
+            this.tickTask.cancel();
+            this.tickTask = null;
+        }
+
+        // Do not lose rewards on shutdown or reload.
+        List<PlayerCommands> remaining;
+        synchronized (this) {
+            remaining = new ArrayList<>(this.turns);
+            this.turns.clear();
+            this.commandsByPlayer.clear();
+        }
+        remaining.forEach(playerCommands -> {
+            while (!playerCommands.queue.isEmpty()) {
+                this.dispatch(playerCommands.player, playerCommands.poll());
+            }
+        });
+
+        this.mergeRules.clear();
+        this.enabled = false;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public synchronized int getQueueSize() {
+        int size = 0;
+        for (PlayerCommands commands : this.turns) {
+            size += commands.queue.size();
+        }
+        return size;
+    }
+
+    public void enqueue(@NotNull Player player, @NotNull List<String> commands) {
+        if (commands.isEmpty()) return;
+
+        if (!this.enabled) {
+            this.plugin.getServer().getGlobalRegionScheduler().execute(this.plugin, () -> {
+                commands.forEach(command -> Players.dispatchCommand(player, command));
+            });
+            return;
+        }
+
+        synchronized (this) {
+            PlayerCommands playerCommands = this.commandsByPlayer.get(player.getUniqueId());
+            if (playerCommands == null) {
+                playerCommands = new PlayerCommands(player);
+                this.commandsByPlayer.put(player.getUniqueId(), playerCommands);
+                this.turns.add(playerCommands);
+            }
+
+            for (String command : commands) {
+                playerCommands.add(this.createCommand(command));
+            }
+        }
+    }
+
+    @NotNull
+    private QueuedCommand createCommand(@NotNull String command) {
+        for (CommandMergeRule rule : this.mergeRules) {
+            QueuedCommand mergeable = rule.match(command);
+            if (mergeable != null) return mergeable;
+        }
+        return new QueuedCommand(command);
+    }
+
+    private void tick() {
+        long started = System.nanoTime();
+        Set<PlayerCommands> served = null;
+
+        do {
+            PlayerCommands playerCommands;
+            QueuedCommand command;
+
+            synchronized (this) {
+                playerCommands = this.turns.poll();
+                if (playerCommands == null) break;
+
+                command = playerCommands.poll();
+                if (playerCommands.queue.isEmpty()) {
+                    this.commandsByPlayer.remove(playerCommands.player.getUniqueId());
+                }
+                else {
+                    this.turns.add(playerCommands);
+                }
+            }
+
+            // Commands may give rewards and queue more commands, so they are dispatched outside of the lock.
+            this.dispatch(playerCommands.player, command);
+
+            if (this.progressThreshold > 0) {
+                if (served == null) served = new HashSet<>();
+                served.add(playerCommands);
+            }
+        }
+        while (System.nanoTime() - started < this.budgetNanos);
+
+        if (served != null) {
+            served.forEach(this::sendProgress);
+        }
+    }
+
+    private void dispatch(@NotNull Player player, @NotNull QueuedCommand command) {
+        try {
+            Players.dispatchCommand(player, command.getCommand());
+        }
+        catch (Exception exception) {
+            this.plugin.error("Could not dispatch reward command '" + command.getCommand() + "': " + exception.getMessage());
+            exception.printStackTrace();
+        }
+    }
+
+    private void sendProgress(@NotNull PlayerCommands playerCommands) {
+        if (playerCommands.total < this.progressThreshold) return;
+
+        Player player = playerCommands.player;
+        if (!player.isOnline()) return;
+
+        Lang.CRATE_REWARD_COMMANDS_PROGRESS.message().send(player, replacer -> replacer
+            .replace(Placeholders.GENERIC_CURRENT, playerCommands.done)
+            .replace(Placeholders.GENERIC_MAX, playerCommands.total)
+        );
+    }
+
+    private static class PlayerCommands {
+
+        private final Player               player;
+        private final Deque<QueuedCommand> queue;
+
+        private int total;
+        private int done;
+
+        PlayerCommands(@NotNull Player player) {
+            this.player = player;
+            this.queue = new ArrayDeque<>();
+        }
+
+        void add(@NotNull QueuedCommand command) {
+            this.total++;
+
+            // Only consecutive commands are merged, so commands are dispatched in the order they were given.
+            String key = command.getMergeKey();
+            QueuedCommand last = this.queue.peekLast();
+            if (key != null && last != null && key.equals(last.getMergeKey()) && last.merge(command)) {
+                return;
+            }
+            this.queue.add(command);
+        }
+
+        @NotNull
+        QueuedCommand poll() {
+            QueuedCommand command = this.queue.poll();
+            if (command == null) throw new IllegalStateException("Polled empty command queue of " + this.player.getName());
+
+            this.done += command.getMerged();
+            return command;
+        }
+    }
+}
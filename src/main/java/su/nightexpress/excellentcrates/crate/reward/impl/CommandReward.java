@@ -104,14 +104,12 @@ public class CommandReward extends AbstractReward {
             processedCommands.add(command);
         });
 
-        this.plugin.getServer().getGlobalRegionScheduler().execute(this.plugin, () -> {
-            processedCommands.forEach(command -> Players.dispatchCommand(player, command));
-        });
+        this.plugin.getRewardCommandQueue().enqueue(player, processedCommands);
     }
 
     @Override
     @NotNull
-    public ItemStack getPreviewItem() {
+    protected ItemStack createPreviewItem() {
         ItemStack itemStack = ItemHelper.toItemStack(this.preview);
         ItemUtil.editMeta(itemStack, meta -> {
             ItemUtil.setCustomName(meta, this.name);
@@ -127,6 +125,7 @@ public class CommandReward extends AbstractReward {
 
     public void setName(@NotNull String name) {
         this.name = name;
+        this.updateVersion();
     }
 
     @NotNull
@@ -137,6 +136,7 @@ public class CommandReward extends AbstractReward {
 
     public void setDescription(@NotNull List<String> description) {
         this.description = description;
+        this.updateVersion();
     }
 
     @NotNull
@@ -16,7 +16,6 @@ import su.nightexpress.nightcore.config.ConfigValue;
 import su.nightexpress.nightcore.config.FileConfig;
 import su.nightexpress.nightcore.util.ItemNbt;
 import su.nightexpress.nightcore.util.ItemUtil;
-import su.nightexpress.nightcore.util.Players;
 import su.nightexpress.nightcore.util.placeholder.Replacer;
 import su.nightexpress.nightcore.util.problem.ProblemReporter;
 
@@ -110,18 +109,19 @@ public class ItemReward extends AbstractReward {
     @Override
     public void giveContent(@NotNull Player player) {
         Replacer replacer = this.createContentReplacer(player);
+        List<ItemStack> itemStacks = new ArrayList<>();
 
-        this.plugin.getFoliaScheduler().runAtEntity(player, () -> {
-            this.getItems().forEach(provider -> {
-                ItemStack itemStack = provider.getItemStack();
+        this.getItems().forEach(provider -> {
+            ItemStack itemStack = provider.getItemStack();
 
-                if (this.allowItemPlaceholders) {
-                    replacer.apply(itemStack);
-                }
+            if (this.allowItemPlaceholders) {
+                replacer.apply(itemStack);
+            }
 
-                Players.addItem(player, itemStack);
-            });
+            itemStacks.add(itemStack);
         });
+
+        this.plugin.getMailboxManager().deliver(player, itemStacks);
     }
 
     public boolean isCustomPreview() {
@@ -130,6 +130,7 @@ public class ItemReward extends AbstractReward {
 
     public void setCustomPreview(boolean customPreview) {
         this.customPreview = customPreview;
+        this.updateVersion();
     }
 
     public void setAllowItemPlaceholders(boolean allowItemPlaceholders) {
@@ -142,18 +143,18 @@ public class ItemReward extends AbstractReward {
 
     @NotNull
     public String getName() {
-        return ItemUtil.getNameSerialized(this.getPreviewItem());
+        return ItemUtil.getNameSerialized(this.getCachedPreviewItem());
     }
 
     @Override
     @NotNull
     public List<String> getDescription() {
-        return ItemUtil.getLoreSerialized(this.getPreviewItem());
+        return ItemUtil.getLoreSerialized(this.getCachedPreviewItem());
     }
 
     @Override
     @NotNull
-    public ItemStack getPreviewItem() {
+    protected ItemStack createPreviewItem() {
         return ItemHelper.toItemStack(this.getPreview());
     }
 
@@ -173,6 +174,7 @@ public class ItemReward extends AbstractReward {
 
     public void setItems(@NotNull List<AdaptedItem> items) {
         this.items = new ArrayList<>(items.stream().filter(AdaptedItem::isValid).limit(CrateUtils.REWARD_ITEMS_LIMIT).toList());
+        this.updateVersion();
     }
 
     public void addItem(@NotNull AdaptedItem provider) {
@@ -180,5 +182,6 @@ public class ItemReward extends AbstractReward {
         if (!provider.isValid()) return;
 
         this.items.add(provider);
+        this.updateVersion();
     }
 }
@@ -3,6 +3,7 @@ package su.nightexpress.excellentcrates.data;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import su.nightexpress.excellentcrates.CratesPlugin;
 import su.nightexpress.excellentcrates.api.crate.Reward;
@@ -11,23 +12,33 @@ import su.nightexpress.excellentcrates.data.crate.GlobalCrateData;
 import su.nightexpress.excellentcrates.data.legacy.LegacyCrateData;
 import su.nightexpress.excellentcrates.data.legacy.LegacyLimitData;
 import su.nightexpress.excellentcrates.data.crate.UserCrateData;
+import su.nightexpress.excellentcrates.data.history.HistoryFilter;
+import su.nightexpress.excellentcrates.data.history.OpeningRecord;
 import su.nightexpress.excellentcrates.data.serialize.UserCrateDataSerializer;
 import su.nightexpress.excellentcrates.data.legacy.LegacyCrateDataSerializer;
 import su.nightexpress.excellentcrates.data.legacy.LegacyLimitDataSerializer;
 import su.nightexpress.excellentcrates.data.reward.RewardData;
+import su.nightexpress.excellentcrates.mailbox.MailboxItem;
+import su.nightexpress.excellentcrates.metrics.Metrics;
 import su.nightexpress.excellentcrates.user.CrateUser;
 import su.nightexpress.nightcore.db.AbstractUserDataManager;
+import su.nightexpress.nightcore.db.config.DatabaseType;
 import su.nightexpress.nightcore.db.sql.column.Column;
 import su.nightexpress.nightcore.db.sql.column.ColumnType;
 import su.nightexpress.nightcore.db.sql.query.SQLQueries;
 import su.nightexpress.nightcore.db.sql.query.impl.InsertQuery;
 import su.nightexpress.nightcore.db.sql.query.impl.SelectQuery;
 import su.nightexpress.nightcore.db.sql.query.impl.UpdateQuery;
+import su.nightexpress.nightcore.db.sql.query.type.AbstractQuery;
 import su.nightexpress.nightcore.db.sql.query.type.ValuedQuery;
+import su.nightexpress.nightcore.util.ItemNbt;
 import su.nightexpress.nightcore.util.Lists;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
 import java.util.function.Function;
 
@@ -55,10 +66,25 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
     public static final Column COLUMN_DUPE_ATTEMPTS   = Column.of("dupeAttempts", ColumnType.LONG);
     public static final Column COLUMN_VALID_USAGES    = Column.of("validUsages", ColumnType.LONG);
 
+    // Fixed length columns, so MySQL can index them (TEXT columns can not be indexed without a prefix length).
+    public static final Column COLUMN_HISTORY_TIME        = Column.of("openTime", ColumnType.LONG);
+    public static final Column COLUMN_HISTORY_DAY         = Column.of("openDay", ColumnType.INTEGER);
+    public static final Column COLUMN_HISTORY_PLAYER_ID   = Column.of("playerId", ColumnType.STRING, 36);
+    public static final Column COLUMN_HISTORY_PLAYER_NAME = Column.of("playerName", ColumnType.STRING, 64); // Bedrock names may have a prefix.
+    public static final Column COLUMN_HISTORY_CRATE_ID    = Column.of("crateId", ColumnType.STRING, 64);
+    public static final Column COLUMN_HISTORY_REWARD_ID   = Column.of("rewardId", ColumnType.STRING, 64);
+    public static final Column COLUMN_HISTORY_RARITY_ID   = Column.of("rarityId", ColumnType.STRING, 64);
+
+    public static final Column COLUMN_MAILBOX_PLAYER_ID = Column.of("playerId", ColumnType.STRING, 36);
+    public static final Column COLUMN_MAILBOX_ITEM      = Column.of("item", ColumnType.STRING);
+    public static final Column COLUMN_MAILBOX_TIME      = Column.of("createdTime", ColumnType.LONG);
+
     private final String tableRewardLimits;
     private final String tableCrateData;
     private final String tableKeyUuids;
     private final String tableAntiDupeStats;
+    private final String tableOpeningHistory;
+    private final String tableMailbox;
 
     public DataHandler(@NotNull CratesPlugin plugin) {
         super(plugin);
@@ -66,6 +92,8 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
         this.tableCrateData = this.getTablePrefix() + "_crate_data";
         this.tableKeyUuids = this.getTablePrefix() + "_key_uuids";
         this.tableAntiDupeStats = this.getTablePrefix() + "_antidupe_stats";
+        this.tableOpeningHistory = this.getTablePrefix() + "_opening_history";
+        this.tableMailbox = this.getTablePrefix() + "_reward_mailbox";
     }
 
     public void updateRewardLimits() {
@@ -153,6 +181,8 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
 
     @Override
     public void onSynchronize() {
+        long started = Metrics.DATA_SYNC.start();
+
         for (CrateUser user : this.plugin.getUserManager().getLoaded()) {
             if (user.isAutoSavePlanned()) continue;
             if (!user.isAutoSyncReady()) continue;
@@ -171,6 +201,34 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
         }
 
         this.plugin.getDataManager().handleSynchronization();
+
+        Metrics.DATA_SYNC.stop(started);
+    }
+
+    @Override
+    public <T> void executeUpdate(@NotNull String table, @NotNull AbstractQuery<T> query, @NotNull T entity) {
+        long started = Metrics.DB_UPDATE.start();
+        super.executeUpdate(table, query, entity);
+        Metrics.DB_UPDATE.stop(started);
+        Metrics.DB_STATEMENTS.increment();
+    }
+
+    @Override
+    public <T> void executeUpdate(@NotNull String table, @NotNull AbstractQuery<T> query, @NotNull Collection<T> entities) {
+        long started = Metrics.DB_UPDATE.start();
+        super.executeUpdate(table, query, entities);
+        Metrics.DB_UPDATE.stop(started);
+        Metrics.DB_STATEMENTS.add(entities.size());
+    }
+
+    @Override
+    @NotNull
+    public <T> List<T> select(@NotNull String table, @NotNull SelectQuery<T> query) {
+        long started = Metrics.DB_SELECT.start();
+        List<T> result = super.select(table, query);
+        Metrics.DB_SELECT.stop(started);
+        Metrics.DB_STATEMENTS.increment();
+        return result;
     }
 
     @Override
@@ -204,6 +262,75 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
             COLUMN_DUPE_ATTEMPTS,
             COLUMN_VALID_USAGES
         ));
+
+        this.createTable(this.tableOpeningHistory, Lists.newList(
+            COLUMN_HISTORY_TIME,
+            COLUMN_HISTORY_DAY,
+            COLUMN_HISTORY_PLAYER_ID,
+            COLUMN_HISTORY_PLAYER_NAME,
+            COLUMN_HISTORY_CRATE_ID,
+            COLUMN_HISTORY_REWARD_ID,
+            COLUMN_HISTORY_RARITY_ID
+        ));
+
+        this.widenColumn(this.tableOpeningHistory, COLUMN_HISTORY_PLAYER_NAME);
+
+        this.createIndex(this.tableOpeningHistory, "day_time", COLUMN_HISTORY_DAY, COLUMN_HISTORY_TIME);
+        this.createIndex(this.tableOpeningHistory, "player_time", COLUMN_HISTORY_PLAYER_ID, COLUMN_HISTORY_TIME);
+        this.createIndex(this.tableOpeningHistory, "name_time", COLUMN_HISTORY_PLAYER_NAME, COLUMN_HISTORY_TIME);
+        this.createIndex(this.tableOpeningHistory, "crate_time", COLUMN_HISTORY_CRATE_ID, COLUMN_HISTORY_TIME);
+        this.createIndex(this.tableOpeningHistory, "reward_time", COLUMN_HISTORY_CRATE_ID, COLUMN_HISTORY_REWARD_ID, COLUMN_HISTORY_TIME);
+        this.createIndex(this.tableOpeningHistory, "rarity_day", COLUMN_HISTORY_RARITY_ID, COLUMN_HISTORY_DAY);
+
+        this.createTable(this.tableMailbox, Lists.newList(
+            COLUMN_MAILBOX_PLAYER_ID,
+            COLUMN_MAILBOX_ITEM,
+            COLUMN_MAILBOX_TIME
+        ));
+
+        this.createIndex(this.tableMailbox, "player", COLUMN_MAILBOX_PLAYER_ID);
+    }
+
+    @NotNull
+    private static String truncate(@NotNull String value, int length) {
+        return value.length() <= length ? value : value.substring(0, length);
+    }
+
+    /**
+     * Updates length of a column in tables created by older versions. SQLite does not enforce lengths, so only MySQL is changed.
+     */
+    private void widenColumn(@NotNull String table, @NotNull Column column) {
+        if (this.getStorageType() == DatabaseType.SQLITE) return;
+
+        String sql = "ALTER TABLE " + table + " MODIFY " + column.getNameEscaped() + " " + column.formatType(this.getStorageType());
+
+        try (Connection connection = this.getConnector().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+        catch (SQLException exception) {
+            this.plugin.error("Failed to update column '" + column.getName() + "' of '" + table + "': " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Creates an index if it does not exist yet. MySQL has no 'IF NOT EXISTS' for indexes, so duplicates are ignored there.
+     */
+    private void createIndex(@NotNull String table, @NotNull String name, @NotNull Column... columns) {
+        boolean sqlite = this.getStorageType() == DatabaseType.SQLITE;
+        String indexName = table + "_" + name;
+        String columnList = String.join(", ", Arrays.stream(columns).map(Column::getNameEscaped).toList());
+        String sql = "CREATE INDEX " + (sqlite ? "IF NOT EXISTS " : "") + indexName + " ON " + table + " (" + columnList + ")";
+
+        try (Connection connection = this.getConnector().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+        catch (SQLException exception) {
+            if (!sqlite && exception.getErrorCode() == 1061) return; // ER_DUP_KEYNAME
+
+            this.plugin.error("Failed to create index '" + indexName + "': " + exception.getMessage());
+        }
     }
 
     @Override
@@ -219,6 +346,7 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
     public void insertKeyUuid(@NotNull UUID keyUuid) {
         // Use simple SQL execution for now
         String sql = "INSERT INTO " + this.tableKeyUuids + " (keyUuid, creationTime, isUsed, usedTime) VALUES (?, ?, ?, ?)";
+        long started = Metrics.DB_UPDATE.start();
         try (var connection = this.getConnector().getConnection();
              var statement = connection.prepareStatement(sql)) {
 
@@ -229,6 +357,9 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
             statement.executeUpdate();
         } catch (SQLException e) {
             this.plugin.error("Failed to insert key UUID: " + e.getMessage());
+        } finally {
+            Metrics.DB_UPDATE.stop(started);
+            Metrics.DB_STATEMENTS.increment();
         }
     }
 
@@ -237,6 +368,7 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
      */
     public void markKeyUuidAsUsed(@NotNull UUID keyUuid) {
         String sql = "UPDATE " + this.tableKeyUuids + " SET isUsed = ?, usedTime = ? WHERE keyUuid = ?";
+        long started = Metrics.DB_UPDATE.start();
         try (var connection = this.getConnector().getConnection();
              var statement = connection.prepareStatement(sql)) {
 
@@ -246,6 +378,9 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
             statement.executeUpdate();
         } catch (SQLException e) {
             this.plugin.error("Failed to mark key UUID as used: " + e.getMessage());
+        } finally {
+            Metrics.DB_UPDATE.stop(started);
+            Metrics.DB_STATEMENTS.increment();
         }
     }
 
@@ -255,6 +390,7 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
      */
     public Boolean isKeyUuidUsed(@NotNull UUID keyUuid) {
         String sql = "SELECT isUsed FROM " + this.tableKeyUuids + " WHERE keyUuid = ?";
+        long started = Metrics.DB_SELECT.start();
         try (var connection = this.getConnector().getConnection();
              var statement = connection.prepareStatement(sql)) {
             statement.setString(1, keyUuid.toString());
@@ -265,6 +401,9 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
         } catch (SQLException e) {
             this.plugin.error("Failed to check key UUID usage: " + e.getMessage());
             return null;
+        } finally {
+            Metrics.DB_SELECT.stop(started);
+            Metrics.DB_STATEMENTS.increment();
         }
     }
 
@@ -440,6 +579,33 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
         return this.select(this.tableRewardLimits, query);
     }
 
+    /**
+     * Loads reward limits of players only, global limit rows (held by the crate itself) are skipped by the query.
+     */
+    @NotNull
+    public List<RewardData> loadPlayerRewardLimits() {
+        String sql = "SELECT * FROM " + this.tableRewardLimits + " WHERE LOWER(" + COLUMN_HOLDER.getName() + ") <> LOWER(" + COLUMN_CRATE_ID.getName() + ")";
+        List<RewardData> limits = new ArrayList<>();
+        long started = Metrics.DB_SELECT.start();
+        try (var connection = this.getConnector().getConnection();
+             var statement = connection.prepareStatement(sql);
+             var resultSet = statement.executeQuery()) {
+
+            while (resultSet.next()) {
+                RewardData limit = DataQueries.REWARD_LIMIT_LOADER.apply(resultSet);
+                if (limit != null) limits.add(limit);
+            }
+        }
+        catch (SQLException exception) {
+            this.plugin.error("Failed to load player reward limits: " + exception.getMessage());
+        }
+        finally {
+            Metrics.DB_SELECT.stop(started);
+            Metrics.DB_STATEMENTS.increment();
+        }
+        return limits;
+    }
+
     public void insertRewardLimit(@NotNull RewardData limit) {
         this.insert(this.tableRewardLimits, DataQueries.REWARD_LIMIT_INSERT, limit);
     }
@@ -467,4 +633,270 @@ public class DataHandler extends AbstractUserDataManager<CratesPlugin, CrateUser
     public void deleteRewardLimits(@NotNull UUID playerId) {
         this.delete(this.tableRewardLimits, DataQueries.REWARD_LIMIT_DELETE_PLAYER, playerId);
     }
+
+    /**
+     * Writes opening records in a single JDBC batch and transaction.
+     */
+    public void insertOpeningHistory(@NotNull List<OpeningRecord> records) {
+        if (records.isEmpty()) return;
+
+        String sql = "INSERT INTO " + this.tableOpeningHistory + " (openTime, openDay, playerId, playerName, crateId, rewardId, rarityId) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        long started = Metrics.DB_UPDATE.start();
+        try (Connection connection = this.getConnector().getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (OpeningRecord record : records) {
+                    statement.setLong(1, record.timestamp());
+                    statement.setInt(2, record.day());
+                    statement.setString(3, record.playerId().toString());
+                    statement.setString(4, truncate(record.playerName(), COLUMN_HISTORY_PLAYER_NAME.getLength()));
+                    statement.setString(5, record.crateId());
+                    statement.setString(6, record.rewardId());
+                    statement.setString(7, record.rarityId());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            }
+            catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            }
+            finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        catch (SQLException exception) {
+            this.plugin.error("Failed to insert opening history: " + exception.getMessage());
+        }
+        finally {
+            Metrics.DB_UPDATE.stop(started);
+            Metrics.DB_STATEMENTS.add(records.size());
+        }
+    }
+
+    /**
+     * Loads a page of opening records matching the filter, newest first.
+     */
+    @NotNull
+    public List<OpeningRecord> selectOpeningHistory(@NotNull HistoryFilter filter, int limit, int offset) {
+        List<OpeningRecord> records = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT openTime, openDay, playerId, playerName, crateId, rewardId, rarityId FROM " + this.tableOpeningHistory
+            + filter.toWhereClause(params) + " ORDER BY openTime DESC LIMIT ? OFFSET ?";
+
+        params.add(limit);
+        params.add(offset);
+
+        try (Connection connection = this.getConnector().getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            setParameters(statement, params);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    records.add(new OpeningRecord(
+                        resultSet.getLong("openTime"),
+                        resultSet.getInt("openDay"),
+                        UUID.fromString(resultSet.getString("playerId")),
+                        resultSet.getString("playerName"),
+                        resultSet.getString("crateId"),
+                        resultSet.getString("rewardId"),
+                        resultSet.getString("rarityId")
+                    ));
+                }
+            }
+        }
+        catch (SQLException exception) {
+            this.plugin.error("Failed to select opening history: " + exception.getMessage());
+        }
+
+        return records;
+    }
+
+    /**
+     * Counts opening records matching the filter.
+     */
+    public long countOpeningHistory(@NotNull HistoryFilter filter) {
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT COUNT(*) FROM " + this.tableOpeningHistory + filter.toWhereClause(params);
+
+        try (Connection connection = this.getConnector().getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            setParameters(statement, params);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0L;
+            }
+        }
+        catch (SQLException exception) {
+            this.plugin.error("Failed to count opening history: " + exception.getMessage());
+            return 0L;
+        }
+    }
+
+    /**
+     * Counts opening records matching the filter grouped by the given column (crateId, rewardId or rarityId).
+     */
+    @NotNull
+    public Map<String, Long> countOpeningHistoryBy(@NotNull HistoryFilter filter, @NotNull Column column) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        List<Object> params = new ArrayList<>();
+        String name = column.getName();
+        String sql = "SELECT " + name + ", COUNT(*) AS amount FROM " + this.tableOpeningHistory + filter.toWhereClause(params)
+            + " GROUP BY " + name + " ORDER BY amount DESC";
+
+        try (Connection connection = this.getConnector().getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            setParameters(statement, params);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    counts.put(resultSet.getString(1), resultSet.getLong(2));
+                }
+            }
+        }
+        catch (SQLException exception) {
+            this.plugin.error("Failed to count opening history: " + exception.getMessage());
+        }
+
+        return counts;
+    }
+
+    /**
+     * Deletes all opening records of days before the given epoch day.
+     * @return amount of deleted rows.
+     */
+    public int deleteOpeningHistoryBefore(int day) {
+        String sql = "DELETE FROM " + this.tableOpeningHistory + " WHERE openDay < ?";
+        try (Connection connection = this.getConnector().getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            statement.setInt(1, day);
+            return statement.executeUpdate();
+        }
+        catch (SQLException exception) {
+            this.plugin.error("Failed to prune opening history: " + exception.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Loads items of the player's reward mailbox, oldest first.
+     */
+    @NotNull
+    public List<MailboxItem> selectMailboxItems(@NotNull UUID playerId) {
+        List<MailboxItem> items = new ArrayList<>();
+        String sql = "SELECT id, item, createdTime FROM " + this.tableMailbox + " WHERE playerId = ? ORDER BY id";
+
+        long started = Metrics.DB_SELECT.start();
+        try (Connection connection = this.getConnector().getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            statement.setString(1, playerId.toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    long id = resultSet.getLong("id");
+                    ItemStack itemStack = ItemNbt.decompress(resultSet.getString("item"));
+                    if (itemStack == null) {
+                        this.plugin.warn("Could not decode mailbox item #" + id + " of " + playerId + ".");
+                        continue;
+                    }
+                    items.add(new MailboxItem(id, playerId, itemStack, resultSet.getLong("createdTime")));
+                }
+            }
+        }
+        catch (SQLException exception) {
+            this.plugin.error("Failed to select mailbox items: " + exception.getMessage());
+        }
+        finally {
+            Metrics.DB_SELECT.stop(started);
+            Metrics.DB_STATEMENTS.increment();
+        }
+
+        return items;
+    }
+
+    /**
+     * Writes items to the player's reward mailbox in a single transaction.
+     * @return stored items with their database IDs, or an empty list if nothing was stored.
+     */
+    @NotNull
+    public List<MailboxItem> insertMailboxItems(@NotNull UUID playerId, @NotNull List<ItemStack> itemStacks) {
+        if (itemStacks.isEmpty()) return Collections.emptyList();
+
+        List<MailboxItem> items = new ArrayList<>();
+        String sql = "INSERT INTO " + this.tableMailbox + " (playerId, item, createdTime) VALUES (?, ?, ?)";
+        long createdTime = System.currentTimeMillis();
+
+        long started = Metrics.DB_UPDATE.start();
+        try (Connection connection = this.getConnector().getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (ItemStack itemStack : itemStacks) {
+                    statement.setString(1, playerId.toString());
+                    statement.setString(2, ItemNbt.compress(itemStack));
+                    statement.setLong(3, createdTime);
+                    statement.executeUpdate();
+
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        if (!keys.next()) throw new SQLException("No ID generated for mailbox item.");
+
+                        items.add(new MailboxItem(keys.getLong(1), playerId, itemStack, createdTime));
+                    }
+                }
+                connection.commit();
+            }
+            catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            }
+            finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        catch (SQLException exception) {
+            this.plugin.error("Failed to insert mailbox items: " + exception.getMessage());
+            return Collections.emptyList();
+        }
+        finally {
+            Metrics.DB_UPDATE.stop(started);
+            Metrics.DB_STATEMENTS.add(itemStacks.size());
+        }
+
+        return items;
+    }
+
+    /**
+     * Deletes a mailbox item. Only one server can delete it, which makes claiming safe across servers.
+     * @return true if the item was deleted by this call.
+     */
+    public boolean deleteMailboxItem(long id) {
+        String sql = "DELETE FROM " + this.tableMailbox + " WHERE id = ?";
+
+        long started = Metrics.DB_UPDATE.start();
+        try (Connection connection = this.getConnector().getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            statement.setLong(1, id);
+            return statement.executeUpdate() > 0;
+        }
+        catch (SQLException exception) {
+            this.plugin.error("Failed to delete mailbox item: " + exception.getMessage());
+            return false;
+        }
+        finally {
+            Metrics.DB_UPDATE.stop(started);
+            Metrics.DB_STATEMENTS.increment();
+        }
+    }
+
+    private static void setParameters(@NotNull PreparedStatement statement, @NotNull List<Object> params) throws SQLException {
+        for (int index = 0; index < params.size(); index++) {
+            statement.setObject(index + 1, params.get(index));
+        }
+    }
 }
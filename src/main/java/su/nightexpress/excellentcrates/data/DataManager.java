@@ -10,9 +10,13 @@ import su.nightexpress.excellentcrates.crate.impl.Crate;
 import su.nightexpress.excellentcrates.data.crate.GlobalCrateData;
 import su.nightexpress.excellentcrates.crate.reward.RewardKey;
 import su.nightexpress.excellentcrates.data.reward.RewardData;
+import su.nightexpress.excellentcrates.metrics.Metrics;
+import su.nightexpress.excellentcrates.sync.RedisLimitStore;
+import su.nightexpress.excellentcrates.sync.RedisSyncManager;
 import su.nightexpress.nightcore.manager.AbstractManager;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -63,8 +67,10 @@ public class DataManager extends AbstractManager<CratesPlugin> {
         });
         if (dataSet.isEmpty()) return;
 
+        long started = Metrics.DATA_SAVE.start();
         this.plugin.getDataHandler().updateCrateDatas(dataSet);
         this.plugin.getRedisSyncManager().ifPresent(sync -> dataSet.forEach(sync::publishCrateData));
+        Metrics.DATA_SAVE.stop(started);
         //this.plugin.debug("Saved " + dataSet.size() + " crate datas.");
     }
 
@@ -79,8 +85,10 @@ public class DataManager extends AbstractManager<CratesPlugin> {
         });
         if (limits.isEmpty()) return;
 
+        long started = Metrics.DATA_SAVE.start();
         this.plugin.getDataHandler().updateRewardLimits(limits);
         this.plugin.getRedisSyncManager().ifPresent(sync -> limits.forEach(sync::publishRewardLimit));
+        Metrics.DATA_SAVE.stop(started);
         //this.plugin.debug("Saved " + limits.size() + " reward limits.");
     }
 
@@ -109,6 +117,16 @@ public class DataManager extends AbstractManager<CratesPlugin> {
         //this.plugin.debug("Loaded " + this.rewardLimitMap.size() + " reward limit datas.");
     }
 
+    /**
+     * Reloads player reward limits only. Global limits are kept as is, their actual state is in the Redis limit store.
+     */
+    public void loadPlayerRewardLimits() {
+        List<RewardData> limits = this.plugin.getDataHandler().loadPlayerRewardLimits();
+
+        this.rewardLimitMap.values().removeIf(limit -> !isGlobalLimit(limit));
+        limits.forEach(this::addRewardLimit);
+    }
+
 
 
     public void handleSynchronization() {
@@ -117,11 +135,22 @@ public class DataManager extends AbstractManager<CratesPlugin> {
         if (Config.isCrateDataSynchronized()) {
             this.loadCrateDatas();
         }
+        // With atomic global limits, their changes arrive as Redis upserts and invalidations, only player limits are reloaded.
         if (Config.isRewardLimitsSynchronized()) {
-            this.loadRewardLimits();
+            if (this.getGlobalLimitStore() == null) {
+                this.loadRewardLimits();
+            }
+            else {
+                this.loadPlayerRewardLimits();
+            }
         }
     }
 
+    @Nullable
+    public RedisLimitStore getGlobalLimitStore() {
+        return this.plugin.getRedisSyncManager().map(RedisSyncManager::getLimitStore).orElse(null);
+    }
+
     public void handleCrateRemoval(@NotNull Crate crate) {
         if (Config.isCrateDataSynchronized()) {
             this.deleteCrateData(crate);
@@ -194,12 +223,21 @@ public class DataManager extends AbstractManager<CratesPlugin> {
         return new HashSet<>(this.rewardLimitMap.values());
     }
 
+    private static boolean isGlobalLimit(@NotNull RewardData limit) {
+        return limit.getHolder().equalsIgnoreCase(limit.getCrateId());
+    }
+
     private void addRewardLimit(@NotNull RewardData limit) {
         RewardKey key = getRewardKey(limit);
         this.rewardLimitMap.put(key, limit);
     }
 
     public void deleteRewardLimit(@NotNull RewardData limit) {
+        RedisLimitStore store = this.getGlobalLimitStore();
+        if (store != null && isGlobalLimit(limit)) {
+            this.plugin.runTaskAsync(() -> store.delete(limit.getCrateId(), limit.getRewardId()));
+        }
+
         this.plugin.runTaskAsync(() -> this.plugin.getDataHandler().deleteRewardLimit(limit));
         this.rewardLimitMap.remove(getRewardKey(limit));
         this.plugin.getRedisSyncManager().ifPresent(sync -> sync.publishRewardLimitDeleteSingle(
@@ -210,6 +248,12 @@ public class DataManager extends AbstractManager<CratesPlugin> {
     public void deleteRewardLimits(@NotNull Crate crate) {
         String crateId = crate.getId();
 
+        RedisLimitStore store = this.getGlobalLimitStore();
+        if (store != null) {
+            Set<String> rewardIds = crate.getRewardIds();
+            this.plugin.runTaskAsync(() -> rewardIds.forEach(rewardId -> store.delete(crateId, rewardId)));
+        }
+
         this.plugin.runTaskAsync(() -> this.plugin.getDataHandler().deleteRewardLimits(crate));
         this.rewardLimitMap.keySet().removeIf(key -> key.crateId().equalsIgnoreCase(crateId));
         this.plugin.getRedisSyncManager().ifPresent(sync -> sync.publishRewardLimitDeleteByCrate(crateId));
@@ -219,6 +263,11 @@ public class DataManager extends AbstractManager<CratesPlugin> {
         String crateId = reward.getCrate().getId();
         String rewardId = reward.getId();
 
+        RedisLimitStore store = this.getGlobalLimitStore();
+        if (store != null) {
+            this.plugin.runTaskAsync(() -> store.delete(crateId, rewardId));
+        }
+
         this.plugin.runTaskAsync(() -> this.plugin.getDataHandler().deleteRewardLimits(reward));
         this.rewardLimitMap.keySet().removeIf(key -> key.crateId().equalsIgnoreCase(crateId) && key.rewardId().equalsIgnoreCase(rewardId));
         this.plugin.getRedisSyncManager().ifPresent(sync -> sync.publishRewardLimitDeleteByReward(crateId, rewardId));
@@ -262,9 +311,31 @@ public class DataManager extends AbstractManager<CratesPlugin> {
     }
 
     public void applyExternalRewardLimit(@NotNull RewardData limit) {
+        // Global limits are owned by the atomic store, snapshots from other nodes may be outdated.
+        if (this.getGlobalLimitStore() != null && limit.getHolder().equalsIgnoreCase(limit.getCrateId())) return;
+
         this.addRewardLimit(limit);
     }
 
+    public void applyExternalGlobalLimit(@NotNull String crateId, @NotNull String rewardId, @Nullable RedisLimitStore.LimitState state) {
+        String holder = crateId.toLowerCase();
+        RewardKey key = new RewardKey(holder, holder, rewardId.toLowerCase());
+        if (state == null) {
+            this.rewardLimitMap.remove(key);
+            return;
+        }
+
+        RewardData limit = this.rewardLimitMap.get(key);
+        if (limit == null) {
+            limit = new RewardData(crateId, rewardId, holder, state.rolls(), state.cooldownUntil());
+            this.addRewardLimit(limit);
+            return;
+        }
+
+        limit.setRolls(state.rolls());
+        limit.setCooldownUntil(state.cooldownUntil());
+    }
+
     public void applyExternalDeleteRewardLimit(@NotNull String holder, @NotNull String crateId, @NotNull String rewardId) {
         this.rewardLimitMap.remove(new RewardKey(holder, crateId, rewardId));
     }
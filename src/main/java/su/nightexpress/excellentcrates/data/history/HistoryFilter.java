@@ -0,0 +1,113 @@
+package su.nightexpress.excellentcrates.data.history;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Conditions for opening history queries. All conditions are optional and combined with AND.
+ */
+public class HistoryFilter {
+
+    private UUID   playerId;
+    private String playerName;
+    private String crateId;
+    private String rewardId;
+    private String rarityId;
+    private long   since;
+    private long   until;
+
+    @NotNull
+    public static HistoryFilter create() {
+        return new HistoryFilter();
+    }
+
+    @NotNull
+    public HistoryFilter player(@Nullable UUID playerId) {
+        this.playerId = playerId;
+        return this;
+    }
+
+    @NotNull
+    public HistoryFilter player(@Nullable String playerName) {
+        this.playerName = playerName;
+        return this;
+    }
+
+    @NotNull
+    public HistoryFilter crate(@Nullable String crateId) {
+        this.crateId = crateId;
+        return this;
+    }
+
+    @NotNull
+    public HistoryFilter reward(@Nullable String rewardId) {
+        this.rewardId = rewardId;
+        return this;
+    }
+
+    @NotNull
+    public HistoryFilter rarity(@Nullable String rarityId) {
+        this.rarityId = rarityId;
+        return this;
+    }
+
+    @NotNull
+    public HistoryFilter since(long since) {
+        this.since = since;
+        return this;
+    }
+
+    @NotNull
+    public HistoryFilter until(long until) {
+        this.until = until;
+        return this;
+    }
+
+    /**
+     * Builds the WHERE clause of the query. Time bounds are also applied to the day column, so the database can
+     * skip whole days through its index before it checks exact timestamps.
+     */
+    @NotNull
+    public String toWhereClause(@NotNull List<Object> params) {
+        List<String> conditions = new ArrayList<>();
+
+        if (this.playerId != null) {
+            conditions.add("playerId = ?");
+            params.add(this.playerId.toString());
+        }
+        else if (this.playerName != null) {
+            conditions.add("playerName = ?");
+            params.add(this.playerName);
+        }
+        if (this.crateId != null) {
+            conditions.add("crateId = ?");
+            params.add(this.crateId);
+        }
+        if (this.rewardId != null) {
+            conditions.add("rewardId = ?");
+            params.add(this.rewardId);
+        }
+        if (this.rarityId != null) {
+            conditions.add("rarityId = ?");
+            params.add(this.rarityId);
+        }
+        if (this.since > 0L) {
+            conditions.add("openDay >= ?");
+            params.add(OpeningRecord.toDay(this.since));
+            conditions.add("openTime >= ?");
+            params.add(this.since);
+        }
+        if (this.until > 0L) {
+            conditions.add("openDay <= ?");
+            params.add(OpeningRecord.toDay(this.until));
+            conditions.add("openTime <= ?");
+            params.add(this.until);
+        }
+
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+}
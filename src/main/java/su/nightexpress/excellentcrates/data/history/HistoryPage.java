@@ -0,0 +1,12 @@
+package su.nightexpress.excellentcrates.data.history;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+public record HistoryPage(@NotNull List<OpeningRecord> records, int page, int pageSize, long total) {
+
+    public int getMaxPage() {
+        return (int) Math.max(1L, (this.total + this.pageSize - 1) / this.pageSize);
+    }
+}
@@ -0,0 +1,140 @@
+package su.nightexpress.excellentcrates.data.history;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.api.crate.Reward;
+import su.nightexpress.excellentcrates.config.Config;
+import su.nightexpress.excellentcrates.data.DataHandler;
+import su.nightexpress.nightcore.db.sql.column.Column;
+import su.nightexpress.nightcore.lib.folialib.wrapper.task.WrappedTask;
+import su.nightexpress.nightcore.manager.AbstractManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only store of won rewards. The opening thread only puts records in a bounded queue, they are written to
+ * the database in batches by an async task.
+ */
+public class OpeningHistoryManager extends AbstractManager<CratesPlugin> {
+
+    private static final long PRUNE_INTERVAL = 20L * 60L * 60L;
+
+    private final BlockingQueue<OpeningRecord> queue;
+    private final AtomicLong                   dropped;
+
+    private WrappedTask flushTask;
+    private WrappedTask pruneTask;
+    private boolean     enabled;
+
+    public OpeningHistoryManager(@NotNull CratesPlugin plugin) {
+        super(plugin);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, Config.HISTORY_QUEUE_SIZE.get()));
+        this.dropped = new AtomicLong();
+    }
+
+    @Override
+    protected void onLoad() {
+        this.enabled = Config.HISTORY_ENABLED.get();
+        if (!this.enabled) return;
+
+        long flushInterval = Math.max(1L, Config.HISTORY_FLUSH_INTERVAL.get()) * 20L;
+
+        this.flushTask = this.plugin.getFoliaScheduler().runTimerAsync(this::flush, flushInterval, flushInterval);
+        this.pruneTask = this.plugin.getFoliaScheduler().runTimerAsync(this::prune, 20L, PRUNE_INTERVAL);
+    }
+
+    @Override
+    protected void onShutdown() {
+        if (this.flushTask != null) this.flushTask.cancel();
+        if (this.pruneTask != null) this.pruneTask.cancel();
+        this.flushTask = null;
+        this.pruneTask = null;
+
+        this.flush();
+        this.enabled = false;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    public int getQueueSize() {
+        return this.queue.size();
+    }
+
+    public void record(@NotNull Player player, @NotNull Reward reward) {
+        if (!this.enabled) return;
+
+        OpeningRecord record = OpeningRecord.create(player.getUniqueId(), player.getName(),
+            reward.getCrate().getId(), reward.getId(), reward.getRarity().getId());
+
+        if (!this.queue.offer(record)) {
+            this.dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes all queued records to the database. Must be called off the main thread.
+     */
+    public synchronized void flush() {
+        int batchSize = Math.max(1, Config.HISTORY_BATCH_SIZE.get());
+        List<OpeningRecord> batch = new ArrayList<>(Math.min(batchSize, this.queue.size()));
+
+        while (this.queue.drainTo(batch, batchSize) > 0) {
+            this.plugin.getDataHandler().insertOpeningHistory(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Deletes whole days that are older than the retention period. Must be called off the main thread.
+     */
+    public void prune() {
+        int retention = Config.HISTORY_RETENTION_DAYS.get();
+        if (retention <= 0) return;
+
+        int firstDay = (int) LocalDate.now().minusDays(retention).toEpochDay();
+        int deleted = this.plugin.getDataHandler().deleteOpeningHistoryBefore(firstDay);
+        if (deleted > 0) {
+            this.plugin.info("Pruned " + deleted + " opening history entries older than " + retention + " days.");
+        }
+    }
+
+    /**
+     * Loads a page of records matching the filter, newest first. Performs blocking database calls, so must be
+     * called off the main thread.
+     * @param page Page number, starting from 1.
+     */
+    @NotNull
+    public HistoryPage query(@NotNull HistoryFilter filter, int page, int pageSize) {
+        this.flush();
+
+        DataHandler dataHandler = this.plugin.getDataHandler();
+        long total = dataHandler.countOpeningHistory(filter);
+        int realPage = Math.max(1, page);
+        List<OpeningRecord> records = dataHandler.selectOpeningHistory(filter, pageSize, (realPage - 1) * pageSize);
+
+        return new HistoryPage(records, realPage, pageSize, total);
+    }
+
+    /**
+     * Counts records matching the filter grouped by the given column. Must be called off the main thread.
+     */
+    @NotNull
+    public Map<String, Long> countBy(@NotNull HistoryFilter filter, @NotNull Column column) {
+        this.flush();
+
+        return this.plugin.getDataHandler().countOpeningHistoryBy(filter, column);
+    }
+}
@@ -0,0 +1,32 @@
+package su.nightexpress.excellentcrates.data.history;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Single row of the opening history table.
+ * @param day epoch day of the timestamp, used as a partition key for range scans and pruning.
+ */
+public record OpeningRecord(long timestamp,
+                            int day,
+                            @NotNull UUID playerId,
+                            @NotNull String playerName,
+                            @NotNull String crateId,
+                            @NotNull String rewardId,
+                            @NotNull String rarityId) {
+
+    @NotNull
+    public static OpeningRecord create(@NotNull UUID playerId, @NotNull String playerName, @NotNull String crateId,
+                                       @NotNull String rewardId, @NotNull String rarityId) {
+        long timestamp = System.currentTimeMillis();
+        return new OpeningRecord(timestamp, toDay(timestamp), playerId, playerName, crateId, rewardId, rarityId);
+    }
+
+    public static int toDay(long timestamp) {
+        return (int) LocalDate.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()).toEpochDay();
+    }
+}
@@ -91,7 +91,7 @@ public class RewardSortingDialog extends CrateDialog<Crate> {
         RARITY(Comparator.comparingDouble((Reward reward) -> reward.getRarity().getWeight())),
         CHANCE(Comparator.comparingDouble(Reward::getRollChance)),
         NAME(Comparator.comparing(reward -> NightMessage.stripTags(reward.getName()))),
-        ITEM(Comparator.comparing(reward -> BukkitThing.getValue(reward.getPreviewItem().getType())));
+        ITEM(Comparator.comparing(reward -> BukkitThing.getValue(reward.getCachedPreviewItem().getType())));
 
         private final Comparator<Reward> comparator;
 
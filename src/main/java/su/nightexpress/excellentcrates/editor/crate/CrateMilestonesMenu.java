@@ -23,7 +23,6 @@ import su.nightexpress.nightcore.ui.menu.item.MenuItem;
 import su.nightexpress.nightcore.ui.menu.type.LinkedMenu;
 import su.nightexpress.nightcore.util.bukkit.NightItem;
 
-import java.util.Comparator;
 import java.util.stream.IntStream;
 
 import static su.nightexpress.excellentcrates.Placeholders.*;
@@ -71,10 +70,10 @@ public class CrateMilestonesMenu extends LinkedMenu<CratesPlugin, Crate> impleme
         var autoFill = MenuFiller.builder(this);
 
         autoFill.setSlots(IntStream.range(0, 36).toArray());
-        autoFill.setItems(this.getLink(viewer).getMilestones().stream().sorted(Comparator.comparing(Milestone::getOpenings)).toList());
+        autoFill.setItems(this.getLink(viewer).getSortedMilestones());
         autoFill.setItemCreator(milestone -> {
             Reward reward = milestone.getReward();
-            return NightItem.fromItemStack(reward == null ? CrateUtils.getQuestionStack() : reward.getPreviewItem())
+            return NightItem.fromItemStack(reward == null ? CrateUtils.getQuestionStack() : reward.getCachedPreviewItem())
                 .localized(MILESTONE_OBJECT)
                 .hideAllComponents()
                 .replacement(replacer -> replacer
@@ -110,7 +110,7 @@ public class RewardListMenu extends LinkedMenu<CratesPlugin, Crate> implements F
         autoFill.setSlots(IntStream.range(0, 36).toArray());
         autoFill.setItems(this.getLink(viewer).getRewards());
         autoFill.setItemCreator(reward -> {
-            return NightItem.fromItemStack(reward.getPreviewItem())
+            return NightItem.fromItemStack(reward.getCachedPreviewItem())
                 .hideAllComponents()
                 .localized(LOCALE_REWARD)
                 .replacement(replacer -> replacer
@@ -130,7 +130,7 @@ public class RewardOptionsMenu extends LinkedMenu<CratesPlugin, Reward> implemen
         Crate crate = reward.getCrate();
         Runnable flush = () -> this.flush(player);
 
-        viewer.addItem(NightItem.fromItemStack(reward.getPreviewItem())
+        viewer.addItem(NightItem.fromItemStack(reward.getCachedPreviewItem())
             .localized(reward.getType() == RewardType.ITEM ? LOCALE_PREVIEW_CUSTOM : LOCALE_PREVIEW_NORMAL)
             .replacement(replacer -> replacer
                 .replace(GENERIC_INSPECTION, () -> Lang.inspection(Lang.INSPECTIONS_REWARD_PREVIEW, reward.getPreview().isValid()))
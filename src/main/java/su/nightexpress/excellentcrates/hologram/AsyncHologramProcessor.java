@@ -1,155 +1,119 @@
 package su.nightexpress.excellentcrates.hologram;
 
-import org.bukkit.Location;
-import org.bukkit.World;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import su.nightexpress.excellentcrates.config.Config;
 import su.nightexpress.excellentcrates.crate.impl.Crate;
 import su.nightexpress.excellentcrates.hologram.entity.FakeDisplay;
 import su.nightexpress.excellentcrates.hologram.entity.FakeEntity;
 import su.nightexpress.excellentcrates.hologram.entity.FakeEntityGroup;
-import su.nightexpress.excellentcrates.util.CrateUtils;
-import su.nightexpress.excellentcrates.util.pos.WorldPos;
 import su.nightexpress.nightcore.util.placeholder.Replacer;
 
-import java.util.ArrayList;
 import java.util.List;
-
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Refreshes text of holograms for their current viewers. Viewers are managed by {@link HologramManager} on
+ * player events, so groups without viewers are skipped, as well as static text that did not change since the
+ * previous refresh.
+ */
 public class AsyncHologramProcessor {
 
+    private final Map<String, CompiledHologramText> compiledTexts;
+    private final Map<String, CompiledHologramText> refreshedTexts;
+    private final HologramPlaceholders              placeholders;
+
     public AsyncHologramProcessor() {
+        this.compiledTexts = new ConcurrentHashMap<>();
+        this.refreshedTexts = new ConcurrentHashMap<>();
+        this.placeholders = new HologramPlaceholders();
+    }
+
+    public void clear() {
+        this.compiledTexts.clear();
+        this.refreshedTexts.clear();
+        this.placeholders.clear();
     }
-    
+
+    public void forget(@NotNull String crateId) {
+        this.compiledTexts.remove(crateId);
+        this.refreshedTexts.remove(crateId);
+    }
+
     @NotNull
     public AsyncHologramUpdate processHologramAsync(@NotNull Crate crate, @NotNull FakeDisplay display) {
         AsyncHologramUpdate update = new AsyncHologramUpdate();
 
-        List<String> baseText = Replacer.create().replace(crate.replacePlaceholders()).apply(crate.getHologramText().reversed());
-        if (baseText.isEmpty()) return update;
+        List<FakeEntityGroup> groups = display.getGroups().stream().filter(group -> !group.isDisabled() && group.hasViewers()).toList();
+        if (groups.isEmpty()) return update;
 
-        for (FakeEntityGroup group : display.getGroups()) {
-            if (group.isDisabled()) continue;
+        CompiledHologramText text = this.getCompiledText(crate);
+        if (text == null) return update;
 
-            this.processGroupAsync(group, baseText, update);
+        // Static text is sent on spawn, nothing to refresh until it changes.
+        CompiledHologramText previous = this.refreshedTexts.put(crate.getId(), text);
+        if (previous == text && !text.hasPlaceholders()) return update;
+
+        for (FakeEntityGroup group : groups) {
+            this.processGroupAsync(group, text, update);
         }
 
         return update;
     }
-    
-    private void processGroupAsync(@NotNull FakeEntityGroup group, @NotNull List<String> baseText,
-                                  @NotNull AsyncHologramUpdate update) {
-        WorldPos blockPosition = group.getBlockPosition();
-        
-        if (!this.isValidLocation(blockPosition)) {
-            this.scheduleGroupDestroy(group, update);
-            return;
-        }
-        
-        World world = blockPosition.getWorld();
-        Location location = blockPosition.toLocation();
-        if (world == null || location == null) return;
-        
-        List<Player> nearbyPlayers = this.getNearbyPlayers(world, location);
-        List<Player> currentViewers = this.getCurrentViewers(group, world);
-
-        for (Player viewer : currentViewers) {
-            if (!nearbyPlayers.contains(viewer)) {
-                update.removeViewer(group, viewer);
-                update.addDestroyPacket(viewer, group.getEntityIDs());
-            }
-        }
-        
-        if (nearbyPlayers.isEmpty()) {
-            this.scheduleGroupDestroy(group, update);
-            return;
-        }
-        
-        for (Player player : nearbyPlayers) {
-            boolean needSpawn = !group.isViewer(player);
-
-            List<String> playerText = this.processPlayerText(baseText, player);
-            this.scheduleHologramPackets(group, player, playerText, needSpawn, update);
 
-            if (needSpawn) {
-                update.addViewer(group, player);
-            }
-        }
+    /**
+     * @return Hologram lines of the crate for the given player, or null if crate has no hologram text.
+     */
+    @Nullable
+    public List<String> renderText(@NotNull Crate crate, @NotNull Player player) {
+        CompiledHologramText text = this.getCompiledText(crate);
+        return text == null ? null : this.renderText(text, player);
     }
-    
-    private boolean isValidLocation(@NotNull WorldPos blockPosition) {
-        try {
-            return blockPosition.isChunkLoaded();
-        } catch (Exception e) {
-            return false;
+
+    @Nullable
+    private CompiledHologramText getCompiledText(@NotNull Crate crate) {
+        List<String> baseText = Replacer.create().replace(crate.replacePlaceholders()).apply(crate.getHologramText().reversed());
+        if (baseText.isEmpty()) return null;
+
+        CompiledHologramText text = this.compiledTexts.get(crate.getId());
+        if (text == null || !text.isCompiledFrom(baseText)) {
+            text = CompiledHologramText.compile(baseText, Config.CRATE_HOLOGRAM_GLOBAL_PLACEHOLDERS.get());
+            this.compiledTexts.put(crate.getId(), text);
         }
+        return text;
     }
-    
-    @NotNull
-    private List<Player> getCurrentViewers(@NotNull FakeEntityGroup group, @NotNull World world) {
-        List<Player> viewers = new ArrayList<>();
-
-        try {
-            for (Player player : world.getPlayers()) {
-                if (player.isOnline() && group.isViewer(player)) {
-                    viewers.add(player);
-                }
-            }
-        } catch (Exception e) {
-            // Handle any concurrent modification or world access issues
-        }
 
-        return viewers;
-    }
+    private void processGroupAsync(@NotNull FakeEntityGroup group, @NotNull CompiledHologramText text,
+                                  @NotNull AsyncHologramUpdate update) {
+        // Text without per-player placeholders is rendered once for all viewers.
+        List<String> sharedText = text.isPerPlayer() ? null : this.renderText(text, null);
 
-    @NotNull
-    private List<Player> getNearbyPlayers(@NotNull World world, @NotNull Location location) {
-        List<Player> players = new ArrayList<>();
-
-        try {
-            for (Player player : world.getPlayers()) {
-                if (player.isOnline() && CrateUtils.isInEffectRange(player, location)) {
-                    players.add(player);
-                }
-            }
-        } catch (Exception e) {
-            // Handle any concurrent modification or world access issues
-        }
+        for (UUID playerId : group.getViewers()) {
+            Player player = Bukkit.getPlayer(playerId);
+            if (player == null) continue;
 
-        return players;
+            List<String> playerText = sharedText != null ? sharedText : this.renderText(text, player);
+            this.scheduleHologramPackets(group, player, playerText, update);
+        }
     }
-    
+
     @NotNull
-    private List<String> processPlayerText(@NotNull List<String> baseText, @NotNull Player player) {
-        try {
-            return Replacer.create().replacePlaceholderAPI(player).apply(baseText);
-        } catch (Exception e) {
-            return baseText;
-        }
+    private List<String> renderText(@NotNull CompiledHologramText text, @Nullable Player player) {
+        return text.render(player, this.placeholders);
     }
-    
-    private void scheduleHologramPackets(@NotNull FakeEntityGroup group, @NotNull Player player, 
-                                       @NotNull List<String> hologramText, boolean needSpawn, 
-                                       @NotNull AsyncHologramUpdate update) {
+
+    private void scheduleHologramPackets(@NotNull FakeEntityGroup group, @NotNull Player player,
+                                         @NotNull List<String> hologramText, @NotNull AsyncHologramUpdate update) {
         List<FakeEntity> holograms = group.getEntities();
-        
+
         for (int index = 0; index < hologramText.size() && index < holograms.size(); index++) {
             String line = hologramText.get(index);
             FakeEntity entity = holograms.get(index);
-            update.addHologramPacket(player, entity, needSpawn, line);
-        }
-    }
-    
-    private void scheduleGroupDestroy(@NotNull FakeEntityGroup group, @NotNull AsyncHologramUpdate update) {
-        WorldPos blockPosition = group.getBlockPosition();
-        World world = blockPosition.getWorld();
-        if (world == null) return;
-
-        List<Player> currentViewers = this.getCurrentViewers(group, world);
-        for (Player viewer : currentViewers) {
-            update.removeViewer(group, viewer);
-            update.addDestroyPacket(viewer, group.getEntityIDs());
+            update.addHologramPacket(player, entity, false, line);
         }
     }
-    
-
 }
@@ -46,7 +46,11 @@ public class AsyncHologramUpdate {
                !viewersToAdd.isEmpty() || !viewersToRemove.isEmpty();
     }
     
-    public void applyToMainThread(@NotNull HologramHandler handler) {
+    /**
+     * Queues packets in the handler and updates viewer sets. Can be called from any thread, as viewer sets are
+     * concurrent and packets are sent by the handler's own sender.
+     */
+    public void apply(@NotNull HologramHandler handler) {
         for (Map.Entry<Player, Map<FakeEntity, HologramPacketData>> entry : packetsToSend.entrySet()) {
             Player player = entry.getKey();
             if (!player.isOnline()) continue;
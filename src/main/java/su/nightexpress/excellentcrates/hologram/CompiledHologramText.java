@@ -0,0 +1,120 @@
+package su.nightexpress.excellentcrates.hologram;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import su.nightexpress.nightcore.util.Plugins;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hologram text split into static segments and PlaceholderAPI slots. Lines without slots are used as is,
+ * so PlaceholderAPI is only called for the tokens themselves.
+ */
+public class CompiledHologramText {
+
+    // Same as PlaceholderAPI: identifier, underscore, params. So a literal '%' in text does not start a token.
+    private static final Pattern PLACEHOLDER = Pattern.compile("%([a-zA-Z0-9]+)_([^%]+)%");
+
+    private final List<String> source;
+    private final Object[][]   lines; // Line segments, either String or Slot.
+    private final boolean      placeholders;
+    private final boolean      perPlayer;
+
+    private CompiledHologramText(@NotNull List<String> source, @NotNull Object[][] lines, boolean placeholders, boolean perPlayer) {
+        this.source = source;
+        this.lines = lines;
+        this.placeholders = placeholders;
+        this.perPlayer = perPlayer;
+    }
+
+    @NotNull
+    public static CompiledHologramText compile(@NotNull List<String> text, @NotNull Collection<String> globalPrefixes) {
+        boolean parse = Plugins.hasPlaceholderAPI();
+        boolean placeholders = false;
+        boolean perPlayer = false;
+        Object[][] lines = new Object[text.size()][];
+
+        for (int index = 0; index < text.size(); index++) {
+            String line = text.get(index);
+            if (!parse || line.indexOf('%') < 0) {
+                lines[index] = new Object[]{line};
+                continue;
+            }
+
+            List<Object> segments = new ArrayList<>();
+            Matcher matcher = PLACEHOLDER.matcher(line);
+            int start = 0;
+            while (matcher.find()) {
+                if (matcher.start() > start) {
+                    segments.add(line.substring(start, matcher.start()));
+                }
+
+                String params = matcher.group(1) + "_" + matcher.group(2);
+                boolean global = globalPrefixes.stream().anyMatch(params::startsWith);
+                if (!global) perPlayer = true;
+                placeholders = true;
+
+                segments.add(new Slot(matcher.group(), global));
+                start = matcher.end();
+            }
+            if (start < line.length()) {
+                segments.add(line.substring(start));
+            }
+            lines[index] = segments.toArray();
+        }
+
+        return new CompiledHologramText(List.copyOf(text), lines, placeholders, perPlayer);
+    }
+
+    public boolean isCompiledFrom(@NotNull List<String> text) {
+        return this.source.equals(text);
+    }
+
+    /**
+     * @return True if the text has any PlaceholderAPI placeholders, otherwise rendered text is always the same.
+     */
+    public boolean hasPlaceholders() {
+        return this.placeholders;
+    }
+
+    /**
+     * @return True if the text has placeholders that depend on a player, otherwise rendered text is the same for all
+     * players.
+     */
+    public boolean isPerPlayer() {
+        return this.perPlayer;
+    }
+
+    @NotNull
+    public List<String> render(@Nullable Player player, @NotNull HologramPlaceholders placeholders) {
+        List<String> result = new ArrayList<>(this.lines.length);
+        StringBuilder builder = new StringBuilder();
+
+        for (Object[] segments : this.lines) {
+            if (segments.length == 1 && segments[0] instanceof String line) {
+                result.add(line);
+                continue;
+            }
+
+            builder.setLength(0);
+            for (Object segment : segments) {
+                if (segment instanceof Slot slot) {
+                    builder.append(slot.global || player == null ? placeholders.resolveGlobal(slot.token) : placeholders.resolve(player, slot.token));
+                }
+                else builder.append((String) segment);
+            }
+            result.add(builder.toString());
+        }
+
+        return result;
+    }
+
+    private record Slot(@NotNull String token, boolean global) {
+
+    }
+}
@@ -12,5 +12,5 @@ public interface HologramHandler {
 
     void sendDestroyEntityPacket(@NotNull Player player, @NotNull Set<Integer> idList);
 
-    void sendDestroyEntityPacket(@NotNull Set<Integer> idList);
+    void shutdown();
 }
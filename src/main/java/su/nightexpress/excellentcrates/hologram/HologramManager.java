@@ -1,6 +1,8 @@
 package su.nightexpress.excellentcrates.hologram;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -14,23 +16,39 @@ import su.nightexpress.excellentcrates.hologram.entity.FakeEntityGroup;
 import su.nightexpress.excellentcrates.hologram.handler.HologramPacketsHandler;
 import su.nightexpress.excellentcrates.hologram.listener.HologramListener;
 import su.nightexpress.excellentcrates.hooks.HookId;
+import su.nightexpress.excellentcrates.metrics.Metrics;
+import su.nightexpress.excellentcrates.metrics.profiler.CrateProfiler;
+import su.nightexpress.excellentcrates.metrics.profiler.ProfileSection;
 import su.nightexpress.excellentcrates.util.pos.WorldPos;
+import su.nightexpress.excellentcrates.util.pos.WorldPosIndex;
 import su.nightexpress.nightcore.manager.AbstractManager;
 import su.nightexpress.nightcore.util.LocationUtil;
 import su.nightexpress.nightcore.util.Plugins;
 
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hologram visibility is driven by player events: crossing a chunk border, teleport, world change, respawn and
+ * chunks sent to or dropped by the client. Groups are looked up in a chunk index around the player, so there is
+ * no scanning of world players. The update timer only refreshes text for current viewers.
+ * <p>
+ * Packets are queued in the handler and sent from its own thread, so nothing here has to run on the main thread.
+ */
 public class HologramManager extends AbstractManager<CratesPlugin> {
 
-    private final Map<String, FakeDisplay> displayMap;
-    private final AsyncHologramProcessor asyncProcessor;
+    private final Map<String, FakeDisplay>        displayMap;
+    private final WorldPosIndex<FakeEntityGroup>  groupIndex;
+    private final Map<UUID, Set<FakeEntityGroup>> viewedGroups;
+    private final AsyncHologramProcessor          asyncProcessor;
 
     private HologramHandler handler;
 
     public HologramManager(@NotNull CratesPlugin plugin) {
         super(plugin);
-        this.displayMap = new HashMap<>();
+        this.displayMap = new ConcurrentHashMap<>();
+        this.groupIndex = new WorldPosIndex<>();
+        this.viewedGroups = new ConcurrentHashMap<>();
         this.asyncProcessor = new AsyncHologramProcessor();
     }
 
@@ -40,6 +58,10 @@ public class HologramManager extends AbstractManager<CratesPlugin> {
             this.addListener(new HologramListener(this.plugin, this));
 
             this.startAsyncHologramTicker();
+
+            this.plugin.getCrateManager().getCrates().forEach(crate -> {
+                if (crate.isHologramEnabled()) this.render(crate);
+            });
         }
     }
 
@@ -47,12 +69,23 @@ public class HologramManager extends AbstractManager<CratesPlugin> {
     protected void onShutdown() {
         this.displayMap.values().forEach(this::discard);
         this.displayMap.clear();
+        this.groupIndex.clear();
+        this.viewedGroups.clear();
+        this.asyncProcessor.clear();
 
-        this.handler = null;
+        if (this.handler != null) {
+            this.handler.shutdown();
+            this.handler = null;
+        }
     }
 
     private boolean detectHandler() {
-        if (Plugins.isInstalled(HookId.PACKET_EVENTS)) {
+        // Handlers registered as a service take priority, so holograms can run on other packet libraries.
+        HologramHandler provided = Bukkit.getServicesManager().load(HologramHandler.class);
+        if (provided != null) {
+            this.handler = provided;
+        }
+        else if (Plugins.isInstalled(HookId.PACKET_EVENTS)) {
             this.handler = new HologramPacketsHandler();
         }
         else {
@@ -73,35 +106,34 @@ public class HologramManager extends AbstractManager<CratesPlugin> {
     }
 
     private void processHologramsAsync() {
-        this.plugin.getCrateManager().getCrates().forEach(crate -> {
-            if (!crate.isHologramEnabled()) return;
+        long started = Metrics.HOLOGRAM_UPDATE.start();
+
+        this.displayMap.forEach((crateId, display) -> {
+            Crate crate = this.plugin.getCrateManager().getCrateById(crateId);
+            if (crate == null || !crate.isHologramEnabled()) return;
 
             try {
-                this.processHologramAsync(crate);
+                this.processHologramAsync(crate, display);
             } catch (Exception e) {
                 this.plugin.error("Error processing hologram for crate " + crate.getId() + ": " + e.getMessage());
                 e.printStackTrace();
             }
         });
-    }
-
-    private void processHologramAsync(@NotNull Crate crate) {
-        this.createIfAbsent(crate);
 
-        FakeDisplay display = this.getDisplay(crate);
-        if (display == null) return;
+        Metrics.HOLOGRAM_UPDATE.stop(started);
+    }
 
-        AsyncHologramUpdate update = this.asyncProcessor.processHologramAsync(crate, display);
+    private void processHologramAsync(@NotNull Crate crate, @NotNull FakeDisplay display) {
+        CrateProfiler.Sample sample = CrateProfiler.start(crate, ProfileSection.HOLOGRAM, crate.getHologramTemplateId());
+        try {
+            AsyncHologramUpdate update = this.asyncProcessor.processHologramAsync(crate, display);
 
-        if (update.hasUpdates()) {
-            this.plugin.getFoliaScheduler().runNextTick(() -> {
-                try {
-                    update.applyToMainThread(this.handler);
-                } catch (Exception e) {
-                    this.plugin.error("Error applying hologram update for crate " + crate.getId() + ": " + e.getMessage());
-                    e.printStackTrace();
-                }
-            });
+            if (update.hasUpdates()) {
+                update.apply(this.handler);
+            }
+        }
+        finally {
+            CrateProfiler.stop(sample);
         }
     }
 
@@ -135,18 +167,137 @@ public class HologramManager extends AbstractManager<CratesPlugin> {
             this.discard(group);
         }
         else {
-            this.render(crate);
+            this.showToNearby(group);
+        }
+    }
+
+
+
+    /**
+     * Shows holograms around the player's new position and hides ones that are out of range now.
+     */
+    public void updateViewer(@NotNull Player player, @NotNull Location location) {
+        World world = location.getWorld();
+        if (world == null) return;
+
+        Set<FakeEntityGroup> inRange = new HashSet<>();
+        int radius = getChunkRadius();
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+
+        for (int x = chunkX - radius; x <= chunkX + radius; x++) {
+            for (int z = chunkZ - radius; z <= chunkZ + radius; z++) {
+                this.collectGroups(world.getName(), x, z, inRange);
+            }
+        }
+
+        Set<FakeEntityGroup> viewed = this.getViewedGroups(player);
+        new HashSet<>(viewed).forEach(group -> {
+            if (!inRange.contains(group)) this.hide(player, group);
+        });
+        inRange.forEach(group -> {
+            if (!viewed.contains(group)) this.show(player, group);
+        });
+    }
+
+    /**
+     * Chunk was sent to the player. Entities sent before the client had the chunk are dropped by the client,
+     * so holograms in the chunk are spawned again.
+     */
+    public void handleChunkLoad(@NotNull Player player, @NotNull World world, int chunkX, int chunkZ) {
+        if (!this.groupIndex.hasInChunk(world.getName(), chunkX, chunkZ)) return;
+        if (player.getWorld() != world) return;
+
+        Location location = player.getLocation();
+        int radius = getChunkRadius();
+        if (Math.abs((location.getBlockX() >> 4) - chunkX) > radius || Math.abs((location.getBlockZ() >> 4) - chunkZ) > radius) return;
+
+        Set<FakeEntityGroup> groups = new HashSet<>();
+        this.collectGroups(world.getName(), chunkX, chunkZ, groups);
+        groups.forEach(group -> this.show(player, group));
+    }
+
+    /**
+     * Chunk was dropped by the client along with its entities.
+     */
+    public void handleChunkUnload(@NotNull Player player, @NotNull World world, int chunkX, int chunkZ) {
+        if (!this.groupIndex.hasInChunk(world.getName(), chunkX, chunkZ)) return;
+
+        Set<FakeEntityGroup> groups = new HashSet<>();
+        this.collectGroups(world.getName(), chunkX, chunkZ, groups);
+
+        Set<FakeEntityGroup> viewed = this.getViewedGroups(player);
+        groups.forEach(group -> {
+            group.removeViewer(player);
+            viewed.remove(group);
+        });
+    }
+
+    private void collectGroups(@NotNull String worldName, int chunkX, int chunkZ, @NotNull Set<FakeEntityGroup> groups) {
+        for (WorldPos pos : this.groupIndex.getInChunk(worldName, chunkX, chunkZ)) {
+            FakeEntityGroup group = this.groupIndex.get(pos);
+            if (group != null && !group.isDisabled()) groups.add(group);
+        }
+    }
+
+    private void showToNearby(@NotNull FakeEntityGroup group) {
+        WorldPos blockPos = group.getBlockPosition();
+        World world = blockPos.getWorld();
+        if (world == null) return;
+
+        int radius = getChunkRadius();
+        int chunkX = blockPos.getX() >> 4;
+        int chunkZ = blockPos.getZ() >> 4;
+
+        for (Player player : world.getPlayers()) {
+            Location location = player.getLocation();
+            if (Math.abs((location.getBlockX() >> 4) - chunkX) > radius || Math.abs((location.getBlockZ() >> 4) - chunkZ) > radius) continue;
+
+            this.show(player, group);
+        }
+    }
+
+    private void show(@NotNull Player player, @NotNull FakeEntityGroup group) {
+        Crate crate = this.plugin.getCrateManager().getCrateById(group.getCrateId());
+        if (crate == null || group.isDisabled()) return;
+
+        List<String> text = this.asyncProcessor.renderText(crate, player);
+        if (text == null) return;
+
+        List<FakeEntity> entities = group.getEntities();
+        for (int index = 0; index < text.size() && index < entities.size(); index++) {
+            this.handler.sendHologramPackets(player, entities.get(index), true, text.get(index));
         }
+
+        group.addViewer(player);
+        this.getViewedGroups(player).add(group);
+    }
+
+    private void hide(@NotNull Player player, @NotNull FakeEntityGroup group) {
+        this.getViewedGroups(player).remove(group);
+        this.removeForViewer(player, group);
+    }
+
+    @NotNull
+    private Set<FakeEntityGroup> getViewedGroups(@NotNull Player player) {
+        return this.viewedGroups.computeIfAbsent(player.getUniqueId(), k -> ConcurrentHashMap.newKeySet());
+    }
+
+    private static int getChunkRadius() {
+        return Math.max(0, (int) Math.ceil(Config.CRATE_EFFECTS_VISIBILITY_DISTANCE.get() / 16D));
     }
 
 
 
     public void removeForViewer(@NotNull Player player) {
         this.displayMap.values().forEach(display -> this.removeForViewer(player, display));
+        this.viewedGroups.remove(player.getUniqueId());
     }
 
     public void removeForViewer(@NotNull Player player, @NotNull FakeDisplay display) {
-        display.getGroups().forEach(group -> this.removeForViewer(player, group));
+        display.getGroups().forEach(group -> {
+            if (group.isViewer(player)) this.removeForViewer(player, group);
+        });
     }
 
     public void removeForViewer(@NotNull Player player, @NotNull FakeEntityGroup group) {
@@ -158,8 +309,10 @@ public class HologramManager extends AbstractManager<CratesPlugin> {
 
     public void discard(@NotNull Crate crate) {
         FakeDisplay display = this.displayMap.remove(crate.getId());
+        this.asyncProcessor.forget(crate.getId());
         if (display == null) return;
 
+        display.getGroups().forEach(group -> this.groupIndex.remove(group.getBlockPosition()));
         this.discard(display);
     }
 
@@ -168,14 +321,20 @@ public class HologramManager extends AbstractManager<CratesPlugin> {
     }
 
     public void discard(@NotNull FakeEntityGroup group) {
+        Set<Integer> entityIds = group.getEntityIDs();
+
+        group.getViewers().forEach(playerId -> {
+            Player player = Bukkit.getPlayer(playerId);
+            if (player != null) this.handler.sendDestroyEntityPacket(player, entityIds);
+        });
         group.clearViewers();
-        this.handler.sendDestroyEntityPacket(group.getEntityIDs());
+        this.viewedGroups.values().forEach(groups -> groups.remove(group));
     }
 
 
 
     public void render(@NotNull Crate crate) {
-        this.processHologramAsync(crate);
+        this.createIfAbsent(crate);
     }
 
     private void createIfAbsent(@NotNull Crate crate) {
@@ -185,7 +344,8 @@ public class HologramManager extends AbstractManager<CratesPlugin> {
         List<String> originText = crate.getHologramText();
         if (originText.isEmpty()) return;
 
-        FakeDisplay display = new FakeDisplay();
+        FakeDisplay display = new FakeDisplay(crate.getId());
+        this.displayMap.put(crate.getId(), display);
 
         double yOffset = crate.getHologramYOffset() + 0.2;
         double lineGap = Config.CRATE_HOLOGRAM_LINE_GAP.get();
@@ -209,9 +369,13 @@ public class HologramManager extends AbstractManager<CratesPlugin> {
                     Location hologramLocation = LocationUtil.setCenter3D(block.getLocation()).add(0, height + gap, 0);
                     group.addEntity(FakeEntity.create(hologramLocation));
                 }
+
+                // Display could be discarded while waiting for the location thread.
+                if (this.displayMap.get(crate.getId()) != display) return;
+
+                this.groupIndex.put(blockPos, group);
+                this.showToNearby(group);
             });
         });
-
-        this.displayMap.put(crate.getId(), display);
     }
 }
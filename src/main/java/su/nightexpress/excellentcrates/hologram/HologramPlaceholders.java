@@ -0,0 +1,60 @@
+package su.nightexpress.excellentcrates.hologram;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import su.nightexpress.excellentcrates.config.Config;
+import su.nightexpress.excellentcrates.hooks.impl.PlaceholderCache;
+import su.nightexpress.excellentcrates.hooks.impl.PlaceholderHook;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves PlaceholderAPI tokens of hologram texts. Global tokens are resolved once per tick and shared by all
+ * holograms and players, per-player tokens are cached per player and token for a short time.
+ */
+public class HologramPlaceholders {
+
+    private static final long TICK_MILLIS = 50L;
+
+    private final Map<String, String> globalValues;
+
+    private volatile long globalTick;
+
+    public HologramPlaceholders() {
+        this.globalValues = new ConcurrentHashMap<>();
+    }
+
+    @NotNull
+    public String resolveGlobal(@NotNull String token) {
+        long tick = System.currentTimeMillis() / TICK_MILLIS;
+        if (tick != this.globalTick) {
+            this.globalTick = tick;
+            this.globalValues.clear();
+        }
+
+        return this.globalValues.computeIfAbsent(token, k -> this.setPlaceholders(null, k));
+    }
+
+    @NotNull
+    public String resolve(@NotNull Player player, @NotNull String token) {
+        // Tokens are stored with '%', so they never clash with the expansion's own params in the same cache.
+        String value = PlaceholderCache.get(player, token, Config.CRATE_HOLOGRAM_PLACEHOLDER_CACHE_TTL.get(), () -> this.setPlaceholders(player, token));
+        return value == null ? token : value;
+    }
+
+    public void clear() {
+        this.globalValues.clear();
+    }
+
+    @NotNull
+    private String setPlaceholders(@Nullable Player player, @NotNull String token) {
+        try {
+            return PlaceholderHook.setPlaceholders(player, token);
+        }
+        catch (Exception exception) {
+            return token;
+        }
+    }
+}
@@ -4,22 +4,24 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import su.nightexpress.excellentcrates.util.pos.WorldPos;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FakeDisplay {
 
+    private final String                         crateId;
     private final Map<WorldPos, FakeEntityGroup> entityGroups;
 
-    public FakeDisplay() {
-        this.entityGroups = new HashMap<>();
+    public FakeDisplay(@NotNull String crateId) {
+        this.crateId = crateId;
+        this.entityGroups = new ConcurrentHashMap<>();
     }
 
     @NotNull
     public FakeEntityGroup getGroupOrCreate(@NotNull WorldPos blockPos) {
-        return this.entityGroups.computeIfAbsent(blockPos, k -> new FakeEntityGroup(blockPos));
+        return this.entityGroups.computeIfAbsent(blockPos, k -> new FakeEntityGroup(this.crateId, blockPos));
     }
 
     @Nullable
@@ -5,20 +5,23 @@ import org.jetbrains.annotations.NotNull;
 import su.nightexpress.excellentcrates.util.pos.WorldPos;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class FakeEntityGroup {
 
+    private final String           crateId;
     private final WorldPos         blockPos;
     private final List<FakeEntity> entities;
     private final Set<UUID>        humanViewers;
 
-    private boolean disabled;
+    private volatile boolean disabled;
 
-    public FakeEntityGroup(@NotNull WorldPos blockPos) {
+    public FakeEntityGroup(@NotNull String crateId, @NotNull WorldPos blockPos) {
+        this.crateId = crateId;
         this.blockPos = blockPos;
         this.entities = new ArrayList<>();
-        this.humanViewers = new HashSet<>();
+        this.humanViewers = ConcurrentHashMap.newKeySet();
         this.disabled = false;
     }
 
@@ -34,6 +37,15 @@ public class FakeEntityGroup {
         return this.humanViewers.contains(player.getUniqueId());
     }
 
+    public boolean hasViewers() {
+        return !this.humanViewers.isEmpty();
+    }
+
+    @NotNull
+    public Set<UUID> getViewers() {
+        return new HashSet<>(this.humanViewers);
+    }
+
     public void clearViewers() {
         this.humanViewers.clear();
     }
@@ -52,6 +64,11 @@ public class FakeEntityGroup {
         return this.entities.stream().map(FakeEntity::getId).collect(Collectors.toSet());
     }
 
+    @NotNull
+    public String getCrateId() {
+        return this.crateId;
+    }
+
     @NotNull
     public WorldPos getBlockPosition() {
         return this.blockPos;
@@ -0,0 +1,154 @@
+package su.nightexpress.excellentcrates.hologram.handler;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.manager.player.PlayerManager;
+import com.github.retrooper.packetevents.netty.channel.ChannelHelper;
+import com.github.retrooper.packetevents.protocol.player.ClientVersion;
+import com.github.retrooper.packetevents.protocol.player.User;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerBundle;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends hologram packets from a dedicated thread once per tick. Packets queued for a player during a tick are
+ * written in a single bundle on the player's network thread, so the client applies them at once and other
+ * packets can not get in between.
+ */
+public class HologramPacketSender {
+
+    private static final long TICK_NANOS      = 50_000_000L;
+    private static final int  MAX_BUNDLE_SIZE = 4000; // Client limit is 4096 packets per bundle.
+
+    private final PlayerManager                      playerManager;
+    private final Map<UUID, Queue<PacketWrapper<?>>> pending;
+
+    private volatile boolean running;
+    private Thread           thread;
+
+    public HologramPacketSender() {
+        this.playerManager = PacketEvents.getAPI().getPlayerManager();
+        this.pending = new ConcurrentHashMap<>();
+    }
+
+    public void start() {
+        if (this.running) return;
+
+        this.running = true;
+        this.thread = new Thread(this::run, "ExcellentCrates-HologramSender");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stops the sender thread and sends packets that are still queued.
+     */
+    public void shutdown() {
+        if (!this.running) return;
+
+        this.running = false;
+        LockSupport.unpark(this.thread);
+        try {
+            this.thread.join(1000L);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        this.flush();
+        this.pending.clear();
+    }
+
+    public void enqueue(@NotNull Player player, @NotNull PacketWrapper<?> packet) {
+        Metrics.HOLOGRAM_PACKETS.increment();
+
+        if (!this.running) {
+            this.sendNow(player, packet);
+            return;
+        }
+
+        this.pending.computeIfAbsent(player.getUniqueId(), k -> new ConcurrentLinkedQueue<>()).add(packet);
+    }
+
+    private void run() {
+        long nextTick = System.nanoTime();
+
+        while (this.running) {
+            nextTick += TICK_NANOS;
+            long delay = nextTick - System.nanoTime();
+            if (delay > 0L) {
+                LockSupport.parkNanos(delay);
+            }
+            else nextTick = System.nanoTime(); // Fell behind, do not try to catch up.
+
+            try {
+                this.flush();
+            }
+            catch (RuntimeException exception) {
+                exception.printStackTrace();
+            }
+        }
+    }
+
+    private void flush() {
+        this.pending.forEach((playerId, queue) -> {
+            if (queue.isEmpty()) return;
+
+            Player player = Bukkit.getPlayer(playerId);
+            if (player == null) {
+                this.pending.remove(playerId);
+                return;
+            }
+
+            List<PacketWrapper<?>> packets = new ArrayList<>();
+            PacketWrapper<?> packet;
+            while ((packet = queue.poll()) != null) {
+                packets.add(packet);
+            }
+
+            this.sendBundled(player, packets);
+        });
+    }
+
+    private void sendBundled(@NotNull Player player, @NotNull List<PacketWrapper<?>> packets) {
+        User user = this.playerManager.getUser(player);
+        if (user == null || user.getChannel() == null) return;
+
+        boolean bundle = packets.size() > 1 && user.getClientVersion().isNewerThanOrEquals(ClientVersion.V_1_19_4);
+
+        ChannelHelper.runInEventLoop(user.getChannel(), () -> {
+            try {
+                for (int start = 0; start < packets.size(); start += MAX_BUNDLE_SIZE) {
+                    List<PacketWrapper<?>> part = packets.subList(start, Math.min(packets.size(), start + MAX_BUNDLE_SIZE));
+
+                    if (bundle) user.writePacket(new WrapperPlayServerBundle());
+                    part.forEach(user::writePacket);
+                    if (bundle) user.writePacket(new WrapperPlayServerBundle());
+                }
+                user.flushPackets();
+            }
+            catch (Throwable ignored) {
+                // Connection is closed.
+            }
+        });
+    }
+
+    private void sendNow(@NotNull Player player, @NotNull PacketWrapper<?> packet) {
+        if (!player.isOnline()) return;
+        try {
+            this.playerManager.sendPacket(player, packet);
+        }
+        catch (Throwable ignored) {
+        }
+    }
+}
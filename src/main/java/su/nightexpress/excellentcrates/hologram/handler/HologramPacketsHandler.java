@@ -1,7 +1,5 @@
 package su.nightexpress.excellentcrates.hologram.handler;
 
-import com.github.retrooper.packetevents.PacketEvents;
-import com.github.retrooper.packetevents.manager.player.PlayerManager;
 import com.github.retrooper.packetevents.protocol.entity.data.EntityData;
 import com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes;
 import com.github.retrooper.packetevents.wrapper.PacketWrapper;
@@ -13,7 +11,6 @@ import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import su.nightexpress.excellentcrates.hologram.entity.FakeEntity;
-import su.nightexpress.nightcore.util.Players;
 import su.nightexpress.nightcore.util.text.night.NightMessage;
 
 import java.util.ArrayList;
@@ -24,23 +21,22 @@ import java.util.function.Consumer;
 
 public class HologramPacketsHandler extends AbstractHologramHandler {
 
-    private final PlayerManager playerManager;
+    private final HologramPacketSender sender;
 
     public HologramPacketsHandler() {
-        this.playerManager = PacketEvents.getAPI().getPlayerManager();
+        this.sender = new HologramPacketSender();
+        this.sender.start();
     }
 
-    private void sendPacket(@NotNull Player player, @NotNull PacketWrapper<?> packet) {
-        if (!player.isOnline() || !player.isValid()) return;
-        try {
-            this.playerManager.sendPacket(player, packet);
-        }
-        catch (Throwable ignored) {
-        }
+    @Override
+    public void shutdown() {
+        this.sender.shutdown();
     }
 
-    private void broadcastPacket(@NotNull PacketWrapper<?> packet) {
-        Players.getOnline().forEach(player -> this.sendPacket(player, packet));
+    private void sendPacket(@NotNull Player player, @NotNull PacketWrapper<?> packet) {
+        if (!player.isOnline()) return;
+
+        this.sender.enqueue(player, packet);
     }
 
     @SuppressWarnings("deprecation")
@@ -62,11 +58,6 @@ public class HologramPacketsHandler extends AbstractHologramHandler {
         this.sendPacket(player, dataPacket);
     }
 
-    @Override
-    public void sendDestroyEntityPacket(@NotNull Set<Integer> idList) {
-        this.broadcastPacket(this.createDestroyPacket(idList));
-    }
-
     @Override
     public void sendDestroyEntityPacket(@NotNull Player player, @NotNull Set<Integer> idList) {
         this.sendPacket(player, this.createDestroyPacket(idList));
@@ -0,0 +1,82 @@
+package su.nightexpress.excellentcrates.hooks.impl;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import su.nightexpress.excellentcrates.config.Config;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-player memo of placeholder values, kept for a short time set in config. Values are dropped earlier when
+ * player's keys, openings or cooldowns are changed. Does not depend on PlaceholderAPI classes, so invalidation
+ * can be called from anywhere.
+ */
+public class PlaceholderCache {
+
+    private static final Map<UUID, Map<String, CachedValue>> VALUES = new ConcurrentHashMap<>();
+    private static final LongAdder                           HITS   = new LongAdder();
+    private static final LongAdder                           MISSES = new LongAdder();
+
+    @Nullable
+    public static String get(@NotNull Player player, @NotNull String params, @NotNull Supplier<String> supplier) {
+        return get(player, params, Config.PLACEHOLDER_CACHE_TTL.get(), supplier);
+    }
+
+    @Nullable
+    public static String get(@NotNull Player player, @NotNull String params, long ttl, @NotNull Supplier<String> supplier) {
+        if (ttl <= 0L) return supplier.get();
+
+        long now = System.currentTimeMillis();
+        Map<String, CachedValue> values = VALUES.computeIfAbsent(player.getUniqueId(), k -> new ConcurrentHashMap<>());
+        CachedValue cached = values.get(params);
+        if (cached != null && cached.expireTime > now) {
+            HITS.increment();
+            return cached.value;
+        }
+
+        MISSES.increment();
+        String value = supplier.get();
+        values.put(params, new CachedValue(value, now + ttl));
+        return value;
+    }
+
+    public static void invalidate(@NotNull UUID playerId) {
+        VALUES.remove(playerId);
+    }
+
+    public static void invalidate(@NotNull Player player) {
+        invalidate(player.getUniqueId());
+    }
+
+    public static void clear() {
+        VALUES.clear();
+    }
+
+    @NotNull
+    public static Stats getStats() {
+        int entries = VALUES.values().stream().mapToInt(Map::size).sum();
+        return new Stats(HITS.sum(), MISSES.sum(), entries);
+    }
+
+    public static void resetStats() {
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    public record Stats(long hits, long misses, int entries) {
+
+        public double hitRate() {
+            long total = this.hits + this.misses;
+            return total == 0L ? 0D : (double) this.hits / (double) total;
+        }
+    }
+
+    private record CachedValue(@Nullable String value, long expireTime) {
+
+    }
+}
@@ -1,6 +1,8 @@
 package su.nightexpress.excellentcrates.hooks.impl;
 
+import me.clip.placeholderapi.PlaceholderAPI;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -18,6 +20,8 @@ import su.nightexpress.nightcore.util.time.TimeFormats;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
 public class PlaceholderHook {
@@ -36,16 +40,41 @@ public class PlaceholderHook {
             expansion.unregister();
             expansion = null;
         }
+        PlaceholderCache.clear();
+    }
+
+    /**
+     * Resolves a single placeholder token. A null player is passed as is, for placeholders that do not depend on it.
+     * Must be called only when PlaceholderAPI is installed.
+     */
+    @NotNull
+    public static String setPlaceholders(@Nullable Player player, @NotNull String text) {
+        return PlaceholderAPI.setPlaceholders((OfflinePlayer) player, text);
+    }
+
+    /**
+     * Resolved placeholder: handler and crate ID parsed from the params string.
+     */
+    private record Binding(@NotNull BiFunction<Player, Crate, String> handler, @NotNull String crateId, boolean cached) {
+
     }
 
     private static class Expansion extends PlaceholderExpansion {
 
+        /** Upper bound for resolved params, protects from requests with random crate names. */
+        private static final int MAX_BINDINGS = 4096;
+
+        /** Placeholders that are not worth caching: cheap or changing on every call. */
+        private static final Set<String> UNCACHED = Set.of("latest_opener", "latest_rolled_reward");
+
         private final CratesPlugin                                   plugin;
         private final Map<String, BiFunction<Player, Crate, String>> userPlaceholders;
+        private final Map<String, Binding>                           bindings;
 
         public Expansion(@NotNull CratesPlugin plugin) {
             this.plugin = plugin;
             this.userPlaceholders = new LinkedHashMap<>();
+            this.bindings = new ConcurrentHashMap<>();
 
             this.userPlaceholders.put("keys", (player, crate) -> {
                 if (player == null) return null;
@@ -148,15 +177,40 @@ public class PlaceholderHook {
 
         @Override
         public String onPlaceholderRequest(@Nullable Player player, @NotNull String params) {
+            Binding binding = this.getBinding(params);
+            if (binding == null) return null;
+
+            Crate crate = this.plugin.getCrateManager().getCrateById(binding.crateId);
+            if (crate == null) return null;
+
+            if (player == null || !binding.cached) {
+                return binding.handler.apply(player, crate);
+            }
+
+            return PlaceholderCache.get(player, params, () -> binding.handler.apply(player, crate));
+        }
+
+        /**
+         * Resolves params into a placeholder and crate ID once, later requests with the same params are a single
+         * map lookup. Prefixes are checked in registration order, same as before.
+         */
+        @Nullable
+        private Binding getBinding(@NotNull String params) {
+            Binding binding = this.bindings.get(params);
+            if (binding != null) return binding;
+
             for (var entry : this.userPlaceholders.entrySet()) {
                 String prefix = entry.getKey() + "_";
                 if (!params.startsWith(prefix)) continue;
 
-                String id = params.substring(prefix.length());
-                Crate crate = plugin.getCrateManager().getCrateById(id);
-                if (crate == null) return null;
+                String crateId = params.substring(prefix.length());
+                if (this.plugin.getCrateManager().getCrateById(crateId) == null) return null;
 
-                return entry.getValue().apply(player, crate);
+                binding = new Binding(entry.getValue(), crateId, !UNCACHED.contains(entry.getKey()));
+                if (this.bindings.size() < MAX_BINDINGS) {
+                    this.bindings.put(params, binding);
+                }
+                return binding;
             }
 
             return null;
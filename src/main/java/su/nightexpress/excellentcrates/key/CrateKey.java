@@ -17,6 +17,7 @@ import su.nightexpress.nightcore.util.bukkit.NightItem;
 import su.nightexpress.nightcore.util.problem.ProblemCollector;
 import su.nightexpress.nightcore.util.problem.ProblemReporter;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.function.UnaryOperator;
@@ -32,7 +33,8 @@ public class CrateKey implements ConfigBacked {
     private AdaptedItem item;
     private boolean     itemStackable;
 
-    private boolean dirty;
+    private boolean       dirty;
+    private volatile long fileStamp;
 
     public CrateKey(@NotNull CratesPlugin plugin, @NotNull Path path, @NotNull String id) {
         this.plugin = plugin;
@@ -46,7 +48,15 @@ public class CrateKey implements ConfigBacked {
             return;
         }
 
-        this.loadConfig().edit(this::load);
+        this.loadFrom(this.loadConfig());
+    }
+
+    /**
+     * Loads key settings from an already loaded config. Can be called off the main thread.
+     */
+    public void loadFrom(@NotNull FileConfig config) throws IllegalStateException {
+        config.edit(this::load);
+        this.updateFileStamp();
     }
 
     private void load(@NotNull FileConfig config) throws IllegalStateException {
@@ -73,10 +83,31 @@ public class CrateKey implements ConfigBacked {
     public void saveIfDirty() {
         if (this.dirty) {
             this.loadConfig().edit(this::write);
+            this.updateFileStamp();
             this.dirty = false;
         }
     }
 
+    private void updateFileStamp() {
+        this.fileStamp = getLastModified(this.path);
+    }
+
+    /**
+     * @return true if the file was changed by something else since it was last loaded or saved by the plugin.
+     */
+    public boolean isFileChangedExternally() {
+        return getLastModified(this.path) != this.fileStamp;
+    }
+
+    private static long getLastModified(@NotNull Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        }
+        catch (IOException exception) {
+            return 0L;
+        }
+    }
+
     private void write(@NotNull FileConfig config) {
         config.set("Name", this.name);
         config.set("Virtual", this.virtual);
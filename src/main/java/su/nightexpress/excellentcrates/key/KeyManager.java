@@ -13,9 +13,11 @@ import su.nightexpress.excellentcrates.config.Config;
 import su.nightexpress.excellentcrates.config.Keys;
 import su.nightexpress.excellentcrates.crate.cost.type.impl.KeyCostType;
 import su.nightexpress.excellentcrates.crate.impl.Crate;
+import su.nightexpress.excellentcrates.hooks.impl.PlaceholderCache;
 import su.nightexpress.excellentcrates.registry.CratesRegistries;
 import su.nightexpress.excellentcrates.user.CrateUser;
 import su.nightexpress.excellentcrates.util.ItemHelper;
+import su.nightexpress.excellentcrates.util.config.ParallelConfigLoader;
 import su.nightexpress.nightcore.config.FileConfig;
 import su.nightexpress.nightcore.manager.AbstractManager;
 import su.nightexpress.nightcore.util.*;
@@ -59,13 +61,51 @@ public class KeyManager extends AbstractManager<CratesPlugin> {
     }
 
     private void loadKeys() {
-        for (File file : FileUtil.getFiles(plugin.getDataFolder() + Config.DIR_KEYS, true)) {
+        ParallelConfigLoader<CrateKey> loader = new ParallelConfigLoader<>(this.plugin, "Key", file -> {
             String id = Strings.varStyle(FileConfig.getName(file)).orElseThrow(); // TODO Handle
-            this.loadKey(new CrateKey(this.plugin, file.toPath(), id));
-        }
+            return new CrateKey(this.plugin, file.toPath(), id);
+        }, CrateKey::loadFrom);
+
+        loader.loadAll(FileUtil.getFiles(plugin.getDataFolder() + Config.DIR_KEYS, true)).forEach(key -> this.keyByIdMap.put(key.getId(), key));
         this.plugin.info("Loaded " + this.keyByIdMap.size() + " crate keys.");
     }
 
+    /**
+     * Reloads a single key from its file, or unloads it if the file was deleted. The file is parsed on the calling
+     * thread, then the key is swapped on the main thread.
+     */
+    public void reloadKey(@NotNull File file) {
+        String id = Strings.varStyle(FileConfig.getName(file)).orElse(null);
+        if (id == null) return;
+
+        if (!file.exists()) {
+            this.plugin.runNextTick(() -> {
+                if (this.keyByIdMap.remove(id) != null) this.plugin.info("Unloaded key '" + id + "' (file removed).");
+            });
+            return;
+        }
+
+        CrateKey key = new CrateKey(this.plugin, file.toPath(), id);
+        try {
+            key.loadFrom(FileConfig.load(file.toPath()));
+        }
+        catch (RuntimeException exception) {
+            this.plugin.error("Key '" + file.getPath() + "' can not be reloaded, the current version is kept.");
+            exception.printStackTrace();
+            return;
+        }
+
+        // Key map is changed on the main thread only, so it is not read here.
+        this.plugin.runNextTick(() -> {
+            CrateKey current = this.keyByIdMap.get(key.getId());
+            if (current != null && !current.isFileChangedExternally()) return; // Saved by the plugin itself.
+
+            this.keyByIdMap.put(key.getId(), key);
+            key.collectProblems().print(this.plugin.getLogger());
+            this.plugin.info("Reloaded key '" + key.getId() + "'.");
+        });
+    }
+
     private void loadKey(@NotNull CrateKey key) {
         try {
             key.load();
@@ -299,6 +339,7 @@ public class KeyManager extends AbstractManager<CratesPlugin> {
             user.setKeys(key.getId(), amount);
             plugin.getUserManager().save(user);
             this.plugin.getRedisSyncManager().ifPresent(sync -> sync.publishUser(user));
+            PlaceholderCache.invalidate(player);
         }
         else {
             this.plugin.getFoliaScheduler().runAtEntity(player, () -> {
@@ -310,6 +351,7 @@ public class KeyManager extends AbstractManager<CratesPlugin> {
                 else if (has < amount) {
                     Players.addItem(player, keyItem, amount - has);
                 }
+                PlaceholderCache.invalidate(player);
             });
         }
         //return true;
@@ -337,6 +379,7 @@ public class KeyManager extends AbstractManager<CratesPlugin> {
             user.addKeys(key.getId(), amount);
             plugin.getUserManager().save(user);
             this.plugin.getRedisSyncManager().ifPresent(sync -> sync.publishUser(user));
+            PlaceholderCache.invalidate(player);
         }
         else {
             int actualAmount = amount < 0 ? Math.abs(amount) : amount;
@@ -364,6 +407,7 @@ public class KeyManager extends AbstractManager<CratesPlugin> {
                     } catch (Throwable ignored) {}
                     Players.addItem(player, keyItem);
                 }
+                PlaceholderCache.invalidate(player);
             });
         }
     }
@@ -387,6 +431,7 @@ public class KeyManager extends AbstractManager<CratesPlugin> {
             user.takeKeys(key.getId(), amount);
             plugin.getUserManager().save(user);
             this.plugin.getRedisSyncManager().ifPresent(sync -> sync.publishUser(user));
+            PlaceholderCache.invalidate(player);
         }
         else {
             final int toRemoveRequested = amount;
@@ -398,6 +443,7 @@ public class KeyManager extends AbstractManager<CratesPlugin> {
                 int toRemove = Math.min(has, toRemoveRequested);
 
                 Players.takeItem(player, predicate, toRemove);
+                PlaceholderCache.invalidate(player);
             });
         }
     }
@@ -7,6 +7,7 @@ import org.jetbrains.annotations.Nullable;
 import su.nightexpress.excellentcrates.CratesPlugin;
 import su.nightexpress.excellentcrates.config.Config;
 import su.nightexpress.excellentcrates.config.Keys;
+import su.nightexpress.excellentcrates.metrics.Metrics;
 import su.nightexpress.nightcore.manager.AbstractManager;
 import su.nightexpress.nightcore.util.PDCUtil;
 
@@ -117,6 +118,7 @@ public class UuidAntiDupeManager extends AbstractManager<CratesPlugin> {
         }
 
         if (Boolean.TRUE.equals(this.usedKeyCache.get(keyUuid))) {
+            Metrics.ANTIDUPE_HITS.increment();
             this.totalDupeAttempts++;
             this.plugin.warn("ANTI-DUPE: Already used key UUID detected: " + keyUuid + 
                 (player != null ? " (Player: " + player.getName() + ")" : ""));
@@ -129,10 +131,12 @@ public class UuidAntiDupeManager extends AbstractManager<CratesPlugin> {
         }
 
         if (Boolean.TRUE.equals(this.validKeyCache.get(keyUuid))) {
+            Metrics.ANTIDUPE_HITS.increment();
             this.totalValidUsages++;
             return true;
         }
 
+        Metrics.ANTIDUPE_MISSES.increment();
         Boolean used = this.plugin.getDataHandler().isKeyUuidUsed(keyUuid);
         if (used == null) {
             this.totalDupeAttempts++;
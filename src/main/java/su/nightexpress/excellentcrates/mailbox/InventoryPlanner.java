@@ -0,0 +1,116 @@
+package su.nightexpress.excellentcrates.mailbox;
+
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Plans insertion of many item stacks into inventory contents in a single pass.
+ * Similar stacks are combined first, then each combined stack tops up existing stacks and fills empty slots.
+ */
+public class InventoryPlanner {
+
+    /**
+     * Inserts items into the contents array in place.
+     * @return Stacks that did not fit, each within its max stack size.
+     */
+    @NotNull
+    public static List<ItemStack> insert(@NotNull ItemStack[] contents, @NotNull Collection<ItemStack> items) {
+        List<ItemStack> leftovers = new ArrayList<>();
+
+        for (Entry entry : combine(items)) {
+            ItemStack item = entry.item;
+            int remaining = fill(contents, item, entry.amount);
+
+            int maxSize = Math.max(1, item.getMaxStackSize());
+            while (remaining > 0) {
+                ItemStack leftover = item.clone();
+                leftover.setAmount(Math.min(remaining, maxSize));
+                leftovers.add(leftover);
+                remaining -= leftover.getAmount();
+            }
+        }
+
+        return leftovers;
+    }
+
+    /**
+     * Combines similar items into as few stacks as possible.
+     */
+    @NotNull
+    public static List<ItemStack> toStacks(@NotNull Collection<ItemStack> items) {
+        return insert(new ItemStack[0], items);
+    }
+
+    /**
+     * Groups similar items, so each kind of item is inserted once with its total amount.
+     */
+    @NotNull
+    private static List<Entry> combine(@NotNull Collection<ItemStack> items) {
+        List<Entry> entries = new ArrayList<>();
+
+        for (ItemStack item : items) {
+            if (item == null || item.getType().isAir() || item.getAmount() <= 0) continue;
+
+            Entry entry = findSimilar(entries, item);
+            if (entry != null) {
+                entry.amount += item.getAmount();
+            }
+            else {
+                entries.add(new Entry(item, item.getAmount()));
+            }
+        }
+
+        return entries;
+    }
+
+    @Nullable
+    private static Entry findSimilar(@NotNull List<Entry> entries, @NotNull ItemStack item) {
+        for (Entry entry : entries) {
+            if (entry.item.isSimilar(item)) return entry;
+        }
+        return null;
+    }
+
+    private static int fill(@NotNull ItemStack[] contents, @NotNull ItemStack item, int amount) {
+        int maxSize = Math.max(1, item.getMaxStackSize());
+
+        // Top up existing stacks first, so items end up where the player expects them.
+        for (int slot = 0; slot < contents.length && amount > 0; slot++) {
+            ItemStack current = contents[slot];
+            if (current == null || current.getAmount() >= maxSize || !current.isSimilar(item)) continue;
+
+            int added = Math.min(amount, maxSize - current.getAmount());
+            current.setAmount(current.getAmount() + added);
+            amount -= added;
+        }
+
+        for (int slot = 0; slot < contents.length && amount > 0; slot++) {
+            ItemStack current = contents[slot];
+            if (current != null && !current.getType().isAir()) continue;
+
+            ItemStack stack = item.clone();
+            stack.setAmount(Math.min(amount, maxSize));
+            contents[slot] = stack;
+            amount -= stack.getAmount();
+        }
+
+        return amount;
+    }
+
+    private static class Entry {
+
+        private final ItemStack item;
+
+        private int amount;
+
+        Entry(@NotNull ItemStack item, int amount) {
+            this.item = item;
+            this.amount = amount;
+        }
+    }
+}
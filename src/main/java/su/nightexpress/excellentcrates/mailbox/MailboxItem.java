@@ -0,0 +1,42 @@
+package su.nightexpress.excellentcrates.mailbox;
+
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Reward item that did not fit in player's inventory and waits to be claimed.
+ */
+public class MailboxItem {
+
+    private final long      id;
+    private final UUID      playerId;
+    private final ItemStack itemStack;
+    private final long      createdTime;
+
+    public MailboxItem(long id, @NotNull UUID playerId, @NotNull ItemStack itemStack, long createdTime) {
+        this.id = id;
+        this.playerId = playerId;
+        this.itemStack = itemStack;
+        this.createdTime = createdTime;
+    }
+
+    public long getId() {
+        return this.id;
+    }
+
+    @NotNull
+    public UUID getPlayerId() {
+        return this.playerId;
+    }
+
+    @NotNull
+    public ItemStack getItemStack() {
+        return this.itemStack.clone();
+    }
+
+    public long getCreatedTime() {
+        return this.createdTime;
+    }
+}
@@ -0,0 +1,29 @@
+package su.nightexpress.excellentcrates.mailbox;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.nightcore.manager.AbstractListener;
+
+public class MailboxListener extends AbstractListener<CratesPlugin> {
+
+    private final MailboxManager manager;
+
+    public MailboxListener(@NotNull CratesPlugin plugin, @NotNull MailboxManager manager) {
+        super(plugin);
+        this.manager = manager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        this.manager.loadItems(event.getPlayer(), true);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        this.manager.unloadItems(event.getPlayer());
+    }
+}
@@ -0,0 +1,265 @@
+package su.nightexpress.excellentcrates.mailbox;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.Placeholders;
+import su.nightexpress.excellentcrates.config.Config;
+import su.nightexpress.excellentcrates.config.Lang;
+import su.nightexpress.nightcore.manager.AbstractManager;
+import su.nightexpress.nightcore.util.Players;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers reward items to player inventories and keeps items that did not fit in a persistent mailbox.
+ * <p>
+ * Items given during the same tick are collected and inserted in a single inventory pass, so a mass opening
+ * updates the inventory once instead of once per reward. Leftovers go to the mailbox instead of being dropped.
+ */
+public class MailboxManager extends AbstractManager<CratesPlugin> {
+
+    public static final String FILE_MENU = "reward_mailbox.yml";
+
+    private final Map<UUID, List<ItemStack>>   pendingByPlayer;
+    private final Map<UUID, List<MailboxItem>> itemsByPlayer;
+
+    private MailboxMenu menu;
+    private boolean     enabled;
+    private int         maxItems;
+
+    public MailboxManager(@NotNull CratesPlugin plugin) {
+        super(plugin);
+        this.pendingByPlayer = new ConcurrentHashMap<>();
+        this.itemsByPlayer = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    protected void onLoad() {
+        this.enabled = Config.REWARD_MAILBOX_ENABLED.get();
+        this.maxItems = Config.REWARD_MAILBOX_MAX_ITEMS.get();
+        if (!this.enabled) return;
+
+        this.menu = this.addMenu(new MailboxMenu(this.plugin, this), Config.DIR_UI, FILE_MENU);
+        this.addListener(new MailboxListener(this.plugin, this));
+
+        this.plugin.getServer().getOnlinePlayers().forEach(player -> this.loadItems(player, false));
+    }
+
+    @Override
+    protected void onShutdown() {
+        // Items of the current tick were not inserted yet, keep them in the mailbox or give them as usual.
+        this.pendingByPlayer.forEach((playerId, items) -> {
+            if (this.enabled) {
+                this.plugin.getDataHandler().insertMailboxItems(playerId, InventoryPlanner.toStacks(items));
+                return;
+            }
+
+            Player player = this.plugin.getServer().getPlayer(playerId);
+            if (player != null) items.forEach(item -> Players.addItem(player, item));
+        });
+        this.pendingByPlayer.clear();
+        this.itemsByPlayer.clear();
+        this.menu = null;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Schedules items to be given to the player. All items given to the player during the current tick
+     * are inserted together.
+     */
+    public void deliver(@NotNull Player player, @NotNull List<ItemStack> items) {
+        if (items.isEmpty()) return;
+
+        UUID playerId = player.getUniqueId();
+        boolean[] scheduled = {false};
+
+        this.pendingByPlayer.compute(playerId, (id, pending) -> {
+            if (pending == null) {
+                pending = new ArrayList<>();
+                scheduled[0] = true;
+            }
+            pending.addAll(items);
+            return pending;
+        });
+
+        if (scheduled[0]) {
+            this.plugin.getFoliaScheduler().runAtEntityWithFallback(player,
+                task -> this.flush(player),
+                () -> this.storeOffline(player)
+            );
+        }
+    }
+
+    private void flush(@NotNull Player player) {
+        List<ItemStack> items = this.pendingByPlayer.remove(player.getUniqueId());
+        if (items == null || items.isEmpty()) return;
+
+        PlayerInventory inventory = player.getInventory();
+        ItemStack[] contents = inventory.getStorageContents();
+        List<ItemStack> leftovers = InventoryPlanner.insert(contents, items);
+        inventory.setStorageContents(contents);
+
+        if (!leftovers.isEmpty()) {
+            this.handleLeftovers(player, leftovers);
+        }
+    }
+
+    private void storeOffline(@NotNull Player player) {
+        UUID playerId = player.getUniqueId();
+        List<ItemStack> items = this.pendingByPlayer.remove(playerId);
+        if (items == null || items.isEmpty()) return;
+
+        List<ItemStack> stacks = InventoryPlanner.toStacks(items);
+        if (!this.enabled) {
+            this.giveOrDrop(player, stacks);
+            return;
+        }
+
+        this.plugin.getFoliaScheduler().runAsync(() -> this.plugin.getDataHandler().insertMailboxItems(playerId, stacks));
+    }
+
+    /**
+     * Without a mailbox, items are given to the player if they came back already, or dropped where they logged out.
+     */
+    private void giveOrDrop(@NotNull Player player, @NotNull List<ItemStack> items) {
+        Player online = this.plugin.getServer().getPlayer(player.getUniqueId());
+        if (online != null) {
+            this.plugin.getFoliaScheduler().runAtEntity(online, () -> items.forEach(item -> Players.addItem(online, item)));
+            return;
+        }
+
+        Location location = player.getLocation();
+        if (location.getWorld() == null) {
+            this.plugin.warn("Could not give " + items.size() + " reward item(s) to " + player.getName() + ": player is offline and mailbox is disabled.");
+            return;
+        }
+
+        this.plugin.runAtLocation(location, () -> items.forEach(item -> location.getWorld().dropItemNaturally(location, item)));
+    }
+
+    private void handleLeftovers(@NotNull Player player, @NotNull List<ItemStack> leftovers) {
+        int space = 0;
+        if (this.enabled) {
+            space = this.maxItems <= 0 ? leftovers.size() : Math.max(0, this.maxItems - this.getItems(player).size());
+        }
+
+        // Items over the mailbox limit are dropped, as before the mailbox existed.
+        int storeAmount = Math.min(space, leftovers.size());
+        List<ItemStack> toStore = new ArrayList<>(leftovers.subList(0, storeAmount));
+        List<ItemStack> toDrop = leftovers.subList(storeAmount, leftovers.size());
+
+        toDrop.forEach(item -> player.getWorld().dropItem(player.getLocation(), item));
+        if (toStore.isEmpty()) return;
+
+        UUID playerId = player.getUniqueId();
+        this.plugin.getFoliaScheduler().runAsync(() -> {
+            List<MailboxItem> stored = this.plugin.getDataHandler().insertMailboxItems(playerId, toStore);
+            if (stored.isEmpty()) {
+                // Database is not available, do not lose the items.
+                this.plugin.getFoliaScheduler().runAtEntity(player, () -> toStore.forEach(item -> Players.addItem(player, item)));
+                return;
+            }
+
+            List<MailboxItem> cached = this.itemsByPlayer.get(playerId);
+            if (cached != null) cached.addAll(stored);
+
+            Lang.MAILBOX_STORED.message().send(player, replacer -> replacer.replace(Placeholders.GENERIC_AMOUNT, stored.size()));
+        });
+    }
+
+    void loadItems(@NotNull Player player, boolean notify) {
+        UUID playerId = player.getUniqueId();
+
+        this.plugin.getFoliaScheduler().runAsync(() -> {
+            List<MailboxItem> items = this.plugin.getDataHandler().selectMailboxItems(playerId);
+            this.itemsByPlayer.put(playerId, Collections.synchronizedList(new ArrayList<>(items)));
+
+            if (notify && !items.isEmpty()) {
+                Lang.MAILBOX_NOTIFY.message().send(player, replacer -> replacer.replace(Placeholders.GENERIC_AMOUNT, items.size()));
+            }
+        });
+    }
+
+    void unloadItems(@NotNull Player player) {
+        this.itemsByPlayer.remove(player.getUniqueId());
+    }
+
+    @NotNull
+    public List<MailboxItem> getItems(@NotNull Player player) {
+        List<MailboxItem> items = this.itemsByPlayer.get(player.getUniqueId());
+        if (items == null) return Collections.emptyList();
+
+        synchronized (items) {
+            return new ArrayList<>(items);
+        }
+    }
+
+    public void openMailbox(@NotNull Player player) {
+        if (this.menu == null) return;
+
+        if (this.getItems(player).isEmpty()) {
+            Lang.MAILBOX_EMPTY.message().send(player);
+            return;
+        }
+        this.menu.open(player);
+    }
+
+    /**
+     * Claims the given items that fit in player's inventory. Items are deleted from the database before they are given,
+     * so an item can not be claimed twice, even from different servers.
+     */
+    public void claim(@NotNull Player player, @NotNull List<MailboxItem> items) {
+        List<MailboxItem> cached = this.itemsByPlayer.get(player.getUniqueId());
+        if (cached == null) return;
+
+        ItemStack[] contents = copyContents(player.getInventory().getStorageContents());
+        List<MailboxItem> claimed = new ArrayList<>();
+
+        for (MailboxItem item : items) {
+            if (!InventoryPlanner.insert(contents, List.of(item.getItemStack())).isEmpty()) {
+                Lang.MAILBOX_NO_SPACE.message().send(player);
+                break;
+            }
+            if (cached.remove(item)) claimed.add(item);
+        }
+        if (claimed.isEmpty()) return;
+
+        this.plugin.getFoliaScheduler().runAsync(() -> {
+            List<ItemStack> deleted = new ArrayList<>();
+            claimed.forEach(item -> {
+                if (this.plugin.getDataHandler().deleteMailboxItem(item.getId())) {
+                    deleted.add(item.getItemStack());
+                }
+            });
+
+            if (!deleted.isEmpty()) {
+                this.deliver(player, deleted);
+                this.plugin.getFoliaScheduler().runAtEntity(player, () -> {
+                    if (this.menu != null && this.menu.isViewer(player)) this.menu.flush(player);
+                });
+            }
+        });
+    }
+
+    public void claimAll(@NotNull Player player) {
+        this.claim(player, this.getItems(player));
+    }
+
+    @NotNull
+    private static ItemStack[] copyContents(@NotNull ItemStack[] contents) {
+        ItemStack[] copy = new ItemStack[contents.length];
+        for (int slot = 0; slot < contents.length; slot++) {
+            ItemStack item = contents[slot];
+            copy[slot] = item == null ? null : item.clone();
+        }
+        return copy;
+    }
+}
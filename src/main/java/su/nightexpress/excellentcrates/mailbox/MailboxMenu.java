@@ -0,0 +1,85 @@
+package su.nightexpress.excellentcrates.mailbox;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.MenuType;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.config.Lang;
+import su.nightexpress.nightcore.config.ConfigValue;
+import su.nightexpress.nightcore.config.FileConfig;
+import su.nightexpress.nightcore.ui.menu.MenuViewer;
+import su.nightexpress.nightcore.ui.menu.data.ConfigBased;
+import su.nightexpress.nightcore.ui.menu.data.Filled;
+import su.nightexpress.nightcore.ui.menu.data.MenuFiller;
+import su.nightexpress.nightcore.ui.menu.data.MenuLoader;
+import su.nightexpress.nightcore.ui.menu.item.ItemHandler;
+import su.nightexpress.nightcore.ui.menu.item.MenuItem;
+import su.nightexpress.nightcore.ui.menu.type.NormalMenu;
+import su.nightexpress.nightcore.util.bukkit.NightItem;
+
+import java.util.List;
+
+import static su.nightexpress.nightcore.util.text.night.wrapper.TagWrappers.*;
+
+public class MailboxMenu extends NormalMenu<CratesPlugin> implements Filled<MailboxItem>, ConfigBased {
+
+    private final MailboxManager manager;
+
+    private int[] itemSlots;
+
+    public MailboxMenu(@NotNull CratesPlugin plugin, @NotNull MailboxManager manager) {
+        super(plugin, MenuType.GENERIC_9X6, BLACK.wrap("Reward Mailbox"));
+        this.manager = manager;
+    }
+
+    @Override
+    protected void onPrepare(@NotNull MenuViewer viewer, @NotNull InventoryView view) {
+        this.autoFill(viewer);
+    }
+
+    @Override
+    protected void onReady(@NotNull MenuViewer viewer, @NotNull Inventory inventory) {
+
+    }
+
+    @Override
+    @NotNull
+    public MenuFiller<MailboxItem> createFiller(@NotNull MenuViewer viewer) {
+        Player player = viewer.getPlayer();
+
+        return MenuFiller.builder(this)
+            .setSlots(this.itemSlots)
+            .setItems(this.manager.getItems(player))
+            .setItemCreator(item -> NightItem.fromItemStack(item.getItemStack()))
+            .setItemClick(item -> (viewer1, event) -> {
+                this.manager.claim(player, List.of(item));
+            })
+            .build();
+    }
+
+    @Override
+    public void loadConfiguration(@NotNull FileConfig config, @NotNull MenuLoader loader) {
+        this.itemSlots = ConfigValue.create("Item.Slots",
+            new int[] {0,1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18,19,20,21,22,23,24,25,26,27,28,29,30,31,32,33,34,35,36,37,38,39,40,41,42,43,44}
+        ).read(config);
+
+        loader.addDefaultItem(new NightItem(Material.BLACK_STAINED_GLASS_PANE).setHideTooltip(true).toMenuItem()
+            .setSlots(45,46,47,48,50,51,52,53));
+
+        loader.addDefaultItem(NightItem.fromType(Material.HOPPER)
+            .localized(Lang.UI_MAILBOX_CLAIM_ALL)
+            .toMenuItem()
+            .setPriority(10)
+            .setSlots(49)
+            .setHandler(new ItemHandler("claim_all", (viewer, event) -> {
+                this.manager.claimAll(viewer.getPlayer());
+            }))
+        );
+
+        loader.addDefaultItem(MenuItem.buildNextPage(this, 53).setPriority(10));
+        loader.addDefaultItem(MenuItem.buildPreviousPage(this, 45).setPriority(10));
+    }
+}
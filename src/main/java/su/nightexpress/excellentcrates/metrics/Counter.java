@@ -0,0 +1,51 @@
+package su.nightexpress.excellentcrates.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, cheap to update from many threads at once.
+ */
+public class Counter implements Metric {
+
+    private final String    name;
+    private final String    help;
+    private final LongAdder value;
+
+    public Counter(@NotNull String name, @NotNull String help) {
+        this.name = name;
+        this.help = help;
+        this.value = new LongAdder();
+    }
+
+    public void increment() {
+        this.value.increment();
+    }
+
+    public void add(long amount) {
+        this.value.add(amount);
+    }
+
+    public long get() {
+        return this.value.sum();
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    @NotNull
+    public String getHelp() {
+        return this.help;
+    }
+
+    @Override
+    public void writePrometheus(@NotNull StringBuilder builder) {
+        Metrics.writeHeader(builder, this, "counter");
+        builder.append(this.name).append(' ').append(this.get()).append('\n');
+    }
+}
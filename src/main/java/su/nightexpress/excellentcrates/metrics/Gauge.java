@@ -0,0 +1,50 @@
+package su.nightexpress.excellentcrates.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Value read from a subsystem at export time, e.g. a queue size or a counter kept by the subsystem itself.
+ */
+public class Gauge implements Metric {
+
+    private final String       name;
+    private final String       help;
+    private final boolean      monotonic;
+    private final LongSupplier supplier;
+
+    public Gauge(@NotNull String name, @NotNull String help, boolean monotonic, @NotNull LongSupplier supplier) {
+        this.name = name;
+        this.help = help;
+        this.monotonic = monotonic;
+        this.supplier = supplier;
+    }
+
+    public long get() {
+        try {
+            return this.supplier.getAsLong();
+        }
+        catch (RuntimeException exception) {
+            return 0L; // Subsystem is not loaded.
+        }
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    @NotNull
+    public String getHelp() {
+        return this.help;
+    }
+
+    @Override
+    public void writePrometheus(@NotNull StringBuilder builder) {
+        Metrics.writeHeader(builder, this, this.monotonic ? "counter" : "gauge");
+        builder.append(this.name).append(' ').append(this.get()).append('\n');
+    }
+}
@@ -0,0 +1,15 @@
+package su.nightexpress.excellentcrates.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+public interface Metric {
+
+    @NotNull String getName();
+
+    @NotNull String getHelp();
+
+    /**
+     * Appends the metric in Prometheus text exposition format, including HELP and TYPE lines.
+     */
+    void writePrometheus(@NotNull StringBuilder builder);
+}
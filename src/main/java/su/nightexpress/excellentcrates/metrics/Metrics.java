@@ -0,0 +1,99 @@
+package su.nightexpress.excellentcrates.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of plugin metrics. Counters and timers are static, so hot paths update them without lookups.
+ * Gauges are registered by {@link MetricsManager} as they read values from loaded subsystems.
+ */
+public class Metrics {
+
+    public static final String PREFIX = "excellentcrates_";
+
+    private static final Map<String, Metric> REGISTRY = new ConcurrentSkipListMap<>();
+
+    private static volatile boolean enabled = true;
+
+    public static final Counter OPENINGS_STARTED   = counter("openings_started_total", "Crate openings started.");
+    public static final Counter OPENINGS_FINISHED  = counter("openings_finished_total", "Crate openings completed with rewards given.");
+    public static final Counter OPENINGS_CANCELLED = counter("openings_cancelled_total", "Crate openings stopped before completion.");
+    public static final Counter REWARD_ROLLS       = counter("reward_rolls_total", "Reward rolls, including visual rolls of spinners.");
+    public static final Counter DB_STATEMENTS      = counter("db_statements_total", "Executed database statements, each batch entry counted.");
+    public static final Counter REDIS_OUT          = counter("redis_messages_out_total", "Messages published to Redis.");
+    public static final Counter REDIS_IN           = counter("redis_messages_in_total", "Messages received from other nodes.");
+    public static final Counter REDIS_FAILURES     = counter("redis_publish_failures_total", "Failed Redis publishes.");
+    public static final Counter HOLOGRAM_PACKETS   = counter("hologram_packets_total", "Hologram packets sent to players.");
+    public static final Counter ANTIDUPE_HITS      = counter("antidupe_cache_hits_total", "Key UUID validations answered from cache.");
+    public static final Counter ANTIDUPE_MISSES    = counter("antidupe_cache_misses_total", "Key UUID validations that queried the database.");
+
+    public static final Timer OPENING_TICK    = timer("opening_tick_seconds", "Time to tick all running openings.");
+    public static final Timer CRATE_EFFECTS   = timer("crate_effects_seconds", "Time to play crate block effects.");
+    public static final Timer HOLOGRAM_UPDATE = timer("hologram_update_seconds", "Time to refresh hologram text for viewers.");
+    public static final Timer DATA_SAVE       = timer("data_save_seconds", "Time to save changed crate data and reward limits.");
+    public static final Timer DATA_SYNC       = timer("data_sync_seconds", "Time to synchronize user and crate data with the database.");
+    public static final Timer DB_SELECT       = timer("db_select_seconds", "Latency of database reads.");
+    public static final Timer DB_UPDATE       = timer("db_update_seconds", "Latency of database writes.");
+    public static final Timer REDIS_PUBLISH   = timer("redis_publish_seconds", "Latency of Redis publishes.");
+    public static final Timer REDIS_HANDLE    = timer("redis_handle_seconds", "Time to handle a message from other nodes.");
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    @NotNull
+    private static Counter counter(@NotNull String name, @NotNull String help) {
+        return register(new Counter(PREFIX + name, help));
+    }
+
+    @NotNull
+    private static Timer timer(@NotNull String name, @NotNull String help) {
+        return register(new Timer(PREFIX + name, help));
+    }
+
+    public static void gauge(@NotNull String name, @NotNull String help, @NotNull LongSupplier supplier) {
+        register(new Gauge(PREFIX + name, help, false, supplier));
+    }
+
+    /**
+     * Registers a counter that is kept by a subsystem itself.
+     */
+    public static void counter(@NotNull String name, @NotNull String help, @NotNull LongSupplier supplier) {
+        register(new Gauge(PREFIX + name, help, true, supplier));
+    }
+
+    @NotNull
+    private static <T extends Metric> T register(@NotNull T metric) {
+        REGISTRY.put(metric.getName(), metric);
+        return metric;
+    }
+
+    public static void clearGauges() {
+        REGISTRY.values().removeIf(metric -> metric instanceof Gauge);
+    }
+
+    @NotNull
+    public static Collection<Metric> getMetrics() {
+        return REGISTRY.values();
+    }
+
+    @NotNull
+    public static String toPrometheus() {
+        StringBuilder builder = new StringBuilder(8192);
+        REGISTRY.values().forEach(metric -> metric.writePrometheus(builder));
+        return builder.toString();
+    }
+
+    static void writeHeader(@NotNull StringBuilder builder, @NotNull Metric metric, @NotNull String type) {
+        builder.append("# HELP ").append(metric.getName()).append(' ').append(metric.getHelp()).append('\n');
+        builder.append("# TYPE ").append(metric.getName()).append(' ').append(type).append('\n');
+    }
+}
@@ -0,0 +1,104 @@
+package su.nightexpress.excellentcrates.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.config.Config;
+import su.nightexpress.excellentcrates.crate.cost.CostCache;
+import su.nightexpress.excellentcrates.hooks.impl.PlaceholderCache;
+import su.nightexpress.excellentcrates.metrics.profiler.CrateProfiler;
+import su.nightexpress.excellentcrates.sync.RedisSyncManager;
+import su.nightexpress.nightcore.manager.AbstractManager;
+
+/**
+ * Registers gauges of loaded subsystems, samples per second rates and runs the optional Prometheus endpoint.
+ */
+public class MetricsManager extends AbstractManager<CratesPlugin> {
+
+    private static final int RATE_WINDOW = 60; // Seconds
+
+    private final long[] rollSamples;
+
+    private PrometheusExporter exporter;
+    private int                sampleIndex;
+    private int                sampleCount;
+
+    public MetricsManager(@NotNull CratesPlugin plugin) {
+        super(plugin);
+        this.rollSamples = new long[RATE_WINDOW + 1];
+    }
+
+    @Override
+    protected void onLoad() {
+        Metrics.setEnabled(Config.METRICS_ENABLED.get());
+        if (!Metrics.isEnabled()) return;
+
+        this.registerGauges();
+        this.addAsyncTask(this::sampleRates, 1);
+
+        if (Config.METRICS_PROMETHEUS_ENABLED.get()) {
+            this.startExporter();
+        }
+    }
+
+    @Override
+    protected void onShutdown() {
+        if (this.exporter != null) {
+            this.exporter.stop();
+            this.exporter = null;
+        }
+        Metrics.clearGauges();
+        CrateProfiler.stopSession();
+    }
+
+    private void registerGauges() {
+        Metrics.gauge("openings_active", "Openings in progress.", () -> this.plugin.getOpeningManager().getOpenings().size());
+        Metrics.gauge("redis_publish_queue", "Redis messages waiting to be published.",
+            () -> this.plugin.getRedisSyncManager().map(RedisSyncManager::getPendingPublishes).orElse(0));
+        Metrics.gauge("reward_commands_queued", "Reward commands waiting to be dispatched.", () -> this.plugin.getRewardCommandQueue().getQueueSize());
+        Metrics.gauge("cooldowns_scheduled", "Cooldowns tracked for expiry notifications.", () -> this.plugin.getCooldownManager().getScheduledCount());
+        Metrics.gauge("reward_broadcasts_pending", "Reward broadcasts waiting for their window or rate limit.", () -> this.plugin.getRewardBroadcaster().getPendingCount());
+
+        Metrics.counter("placeholder_cache_hits_total", "Placeholder values served from cache.", () -> PlaceholderCache.getStats().hits());
+        Metrics.counter("placeholder_cache_misses_total", "Placeholder values computed.", () -> PlaceholderCache.getStats().misses());
+        Metrics.counter("cost_cache_hits_total", "Cost checks served from the per-tick snapshot.", () -> CostCache.getStats().hits());
+        Metrics.counter("cost_cache_misses_total", "Cost checks that queried the economy or key storage.", () -> CostCache.getStats().misses());
+
+        Metrics.gauge("logger_queue", "Reward log entries waiting to be written.", () -> this.plugin.getCrateLogger().getQueueSize());
+        Metrics.counter("logger_dropped_total", "Reward log entries dropped because the queue was full.", () -> this.plugin.getCrateLogger().getDroppedCount());
+        Metrics.gauge("history_queue", "Opening history records waiting to be written.", () -> this.plugin.getHistoryManager().getQueueSize());
+        Metrics.counter("history_dropped_total", "Opening history records dropped because the queue was full.", () -> this.plugin.getHistoryManager().getDroppedCount());
+    }
+
+    private void startExporter() {
+        String host = Config.METRICS_PROMETHEUS_HOST.get();
+        int port = Config.METRICS_PROMETHEUS_PORT.get();
+
+        try {
+            this.exporter = new PrometheusExporter(host, port);
+            this.exporter.start();
+            this.plugin.info("Metrics are available at http://" + host + ":" + port + "/metrics");
+        }
+        catch (Exception exception) {
+            this.plugin.error("Could not start metrics endpoint on " + host + ":" + port + ": " + exception.getMessage());
+            this.exporter = null;
+        }
+    }
+
+    private synchronized void sampleRates() {
+        this.rollSamples[this.sampleIndex] = Metrics.REWARD_ROLLS.get();
+        this.sampleIndex = (this.sampleIndex + 1) % this.rollSamples.length;
+        this.sampleCount = Math.min(this.sampleCount + 1, this.rollSamples.length);
+    }
+
+    /**
+     * @return Average reward rolls per second over the last minute, or less if the plugin was loaded recently.
+     */
+    public synchronized double getRollsPerSecond() {
+        if (this.sampleCount < 2) return 0D;
+
+        int newest = Math.floorMod(this.sampleIndex - 1, this.rollSamples.length);
+        int oldest = this.sampleCount < this.rollSamples.length ? 0 : this.sampleIndex;
+
+        return (double) (this.rollSamples[newest] - this.rollSamples[oldest]) / (this.sampleCount - 1);
+    }
+}
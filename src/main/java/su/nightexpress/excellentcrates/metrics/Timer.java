@@ -0,0 +1,125 @@
+package su.nightexpress.excellentcrates.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Duration histogram with fixed buckets from 10 µs to 2.5 s. Recording is lock-free and does not allocate.
+ * <p>
+ * Usage: {@code long started = timer.start(); ... timer.stop(started);}
+ */
+public class Timer implements Metric {
+
+    private static final long[] BOUNDS = {
+        10_000L, 50_000L, 100_000L, 250_000L, 500_000L,
+        1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L,
+        100_000_000L, 250_000_000L, 500_000_000L, 1_000_000_000L, 2_500_000_000L
+    };
+
+    private final String          name;
+    private final String          help;
+    private final LongAdder[]     buckets;
+    private final LongAdder       count;
+    private final LongAdder       sum;
+    private final LongAccumulator max;
+
+    public Timer(@NotNull String name, @NotNull String help) {
+        this.name = name;
+        this.help = help;
+        this.buckets = new LongAdder[BOUNDS.length + 1];
+        for (int index = 0; index < this.buckets.length; index++) {
+            this.buckets[index] = new LongAdder();
+        }
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0L);
+    }
+
+    /**
+     * @return Start time to pass to {@link #stop(long)}, or 0 if metrics are disabled.
+     */
+    public long start() {
+        return Metrics.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    public void stop(long started) {
+        if (started == 0L) return;
+
+        this.record(System.nanoTime() - started);
+    }
+
+    public void record(long nanos) {
+        int index = 0;
+        while (index < BOUNDS.length && nanos > BOUNDS[index]) {
+            index++;
+        }
+
+        this.buckets[index].increment();
+        this.count.increment();
+        this.sum.add(nanos);
+        this.max.accumulate(nanos);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getTotalNanos() {
+        return this.sum.sum();
+    }
+
+    public long getMaxNanos() {
+        return this.max.get();
+    }
+
+    public double getMeanNanos() {
+        long count = this.getCount();
+        return count == 0L ? 0D : (double) this.getTotalNanos() / count;
+    }
+
+    /**
+     * @return Upper bound of the bucket that contains the given percentile, capped by the max recorded value.
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = this.getCount();
+        if (total == 0L) return 0L;
+
+        long rank = (long) Math.ceil(percentile / 100D * total);
+        long seen = 0L;
+        for (int index = 0; index < BOUNDS.length; index++) {
+            seen += this.buckets[index].sum();
+            if (seen >= rank) return Math.min(BOUNDS[index], this.getMaxNanos());
+        }
+        return this.getMaxNanos();
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    @NotNull
+    public String getHelp() {
+        return this.help;
+    }
+
+    @Override
+    public void writePrometheus(@NotNull StringBuilder builder) {
+        Metrics.writeHeader(builder, this, "histogram");
+
+        long cumulative = 0L;
+        for (int index = 0; index < BOUNDS.length; index++) {
+            cumulative += this.buckets[index].sum();
+            builder.append(this.name).append("_bucket{le=\"").append(BOUNDS[index] / 1_000_000_000D).append("\"} ").append(cumulative).append('\n');
+        }
+        cumulative += this.buckets[BOUNDS.length].sum();
+
+        builder.append(this.name).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+        builder.append(this.name).append("_sum ").append(this.getTotalNanos() / 1_000_000_000D).append('\n');
+        builder.append(this.name).append("_count ").append(cumulative).append('\n');
+    }
+}
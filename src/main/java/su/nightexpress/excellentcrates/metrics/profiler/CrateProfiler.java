@@ -0,0 +1,151 @@
+package su.nightexpress.excellentcrates.metrics.profiler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import su.nightexpress.excellentcrates.crate.impl.Crate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures wall time and allocated bytes of crate workloads while a profiling window is open.
+ * When no window is open, {@link #start(Crate, ProfileSection, String)} is a single volatile read.
+ * <p>
+ * Usage: {@code CrateProfiler.Sample sample = CrateProfiler.start(crate, section, name); try { ... } finally { CrateProfiler.stop(sample); }}
+ */
+public class CrateProfiler {
+
+    private static final int MAX_DEPTH = 16;
+
+    private static final ThreadLocal<SampleStack> STACKS = ThreadLocal.withInitial(SampleStack::new);
+
+    private static final com.sun.management.ThreadMXBean THREADS = detectThreadBean();
+
+    private static volatile ProfileSession session;
+
+    @Nullable
+    private static com.sun.management.ThreadMXBean detectThreadBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean threads)) return null;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) return null;
+
+        return threads;
+    }
+
+    /**
+     * Opens a new profiling window.
+     * @return The new session, or null if a window is already open.
+     */
+    @Nullable
+    public static synchronized ProfileSession startSession() {
+        if (session != null) return null;
+
+        session = new ProfileSession(THREADS != null);
+        return session;
+    }
+
+    /**
+     * Closes the current profiling window.
+     * @return The closed session, or null if no window was open.
+     */
+    @Nullable
+    public static synchronized ProfileSession stopSession() {
+        ProfileSession current = session;
+        if (current == null) return null;
+
+        current.stop();
+        session = null;
+        return current;
+    }
+
+    /**
+     * Closes the given window if it is still the current one.
+     */
+    public static synchronized boolean stopSession(@NotNull ProfileSession expected) {
+        if (session != expected) return false;
+
+        return stopSession() != null;
+    }
+
+    @Nullable
+    public static ProfileSession getSession() {
+        return session;
+    }
+
+    public static boolean isRunning() {
+        return session != null;
+    }
+
+    @Nullable
+    public static Sample start(@NotNull Crate crate, @NotNull ProfileSection section, @NotNull String name) {
+        ProfileSession current = session;
+        if (current == null) return null;
+
+        SampleStack stack = STACKS.get();
+        if (stack.depth >= MAX_DEPTH) return null;
+
+        Sample parent = stack.depth == 0 ? null : stack.samples[stack.depth - 1];
+        ProfileNode parentNode = parent == null || parent.session != current ? current.getRoot() : parent.node;
+
+        Sample sample = stack.samples[stack.depth];
+        sample.session = current;
+        sample.node = parentNode.getChild(crate.getId(), section, name);
+        sample.depth = stack.depth;
+        sample.childNanos = 0L;
+        sample.childBytes = 0L;
+        stack.depth++;
+
+        sample.startedBytes = allocatedBytes();
+        sample.startedNanos = System.nanoTime();
+        return sample;
+    }
+
+    public static void stop(@Nullable Sample sample) {
+        if (sample == null) return;
+
+        long totalNanos = System.nanoTime() - sample.startedNanos;
+        long totalBytes = allocatedBytes() - sample.startedBytes;
+
+        // Drop samples above this one in case some were not stopped due to an exception.
+        SampleStack stack = STACKS.get();
+        stack.depth = sample.depth;
+
+        if (sample.session != session) return;
+
+        sample.node.record(totalNanos, Math.max(0L, totalNanos - sample.childNanos), totalBytes, Math.max(0L, totalBytes - sample.childBytes));
+        if (sample.depth > 0) {
+            Sample parent = stack.samples[sample.depth - 1];
+            parent.childNanos += totalNanos;
+            parent.childBytes += totalBytes;
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? 0L : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    public static class Sample {
+
+        private ProfileSession session;
+        private ProfileNode    node;
+        private int            depth;
+        private long           startedNanos;
+        private long           startedBytes;
+        private long           childNanos;
+        private long           childBytes;
+    }
+
+    private static class SampleStack {
+
+        private final Sample[] samples;
+
+        private int depth;
+
+        SampleStack() {
+            this.samples = new Sample[MAX_DEPTH];
+            for (int index = 0; index < MAX_DEPTH; index++) {
+                this.samples[index] = new Sample();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package su.nightexpress.excellentcrates.metrics.profiler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Frame of the profile call tree. Child nodes are created once per unique path, so repeated samples do not allocate.
+ */
+public class ProfileNode {
+
+    private final ProfileNode    parent;
+    private final String         crateId;
+    private final ProfileSection section;
+    private final String         name;
+    private final String         frame;
+
+    private final Map<String, ProfileNode>   crateChildren;
+    private final Map<String, ProfileNode>[] sectionChildren;
+
+    private final LongAdder calls;
+    private final LongAdder totalNanos;
+    private final LongAdder selfNanos;
+    private final LongAdder totalBytes;
+    private final LongAdder selfBytes;
+
+    @SuppressWarnings("unchecked")
+    ProfileNode(@Nullable ProfileNode parent, @Nullable String crateId, @Nullable ProfileSection section, @NotNull String name, @NotNull String frame) {
+        this.parent = parent;
+        this.crateId = crateId;
+        this.section = section;
+        this.name = name;
+        this.frame = frame;
+
+        this.crateChildren = new ConcurrentHashMap<>();
+        this.sectionChildren = new Map[ProfileSection.values().length];
+        for (int index = 0; index < this.sectionChildren.length; index++) {
+            this.sectionChildren[index] = new ConcurrentHashMap<>();
+        }
+
+        this.calls = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.selfNanos = new LongAdder();
+        this.totalBytes = new LongAdder();
+        this.selfBytes = new LongAdder();
+    }
+
+    @NotNull
+    static ProfileNode root() {
+        return new ProfileNode(null, null, null, "ExcellentCrates", "ExcellentCrates");
+    }
+
+    /**
+     * Returns node of the given section, nested in a crate frame unless this node already belongs to that crate.
+     */
+    @NotNull
+    ProfileNode getChild(@NotNull String crateId, @NotNull ProfileSection section, @NotNull String name) {
+        ProfileNode owner = this;
+        if (!crateId.equals(this.crateId)) {
+            owner = this.crateChildren.computeIfAbsent(crateId, id -> new ProfileNode(this, id, null, id, "crate:" + id));
+        }
+
+        ProfileNode crateNode = owner;
+        return owner.sectionChildren[section.ordinal()].computeIfAbsent(name, id -> new ProfileNode(crateNode, crateId, section, id, section.getId() + ":" + id));
+    }
+
+    void record(long totalNanos, long selfNanos, long totalBytes, long selfBytes) {
+        this.calls.increment();
+        this.totalNanos.add(totalNanos);
+        this.selfNanos.add(selfNanos);
+        this.totalBytes.add(totalBytes);
+        this.selfBytes.add(selfBytes);
+    }
+
+    void collect(@NotNull Collection<ProfileNode> nodes) {
+        if (this.section != null) nodes.add(this);
+
+        this.crateChildren.values().forEach(node -> node.collect(nodes));
+        for (Map<String, ProfileNode> children : this.sectionChildren) {
+            children.values().forEach(node -> node.collect(nodes));
+        }
+    }
+
+    /**
+     * @return Semicolon separated frames from the root to this node, as used by collapsed stack files.
+     */
+    @NotNull
+    public String getStack() {
+        return this.parent == null ? this.frame : this.parent.getStack() + ";" + this.frame;
+    }
+
+    @Nullable
+    public String getCrateId() {
+        return this.crateId;
+    }
+
+    @Nullable
+    public ProfileSection getSection() {
+        return this.section;
+    }
+
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    public long getCalls() {
+        return this.calls.sum();
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    public long getSelfNanos() {
+        return this.selfNanos.sum();
+    }
+
+    public long getTotalBytes() {
+        return this.totalBytes.sum();
+    }
+
+    public long getSelfBytes() {
+        return this.selfBytes.sum();
+    }
+}
@@ -0,0 +1,36 @@
+package su.nightexpress.excellentcrates.metrics.profiler;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Crate workloads measured by {@link CrateProfiler}.
+ */
+public enum ProfileSection {
+
+    OPENING("opening", "openings"),
+    SPINNER("spinner", "spins"),
+    EFFECT("effect", "positions"),
+    HOLOGRAM("hologram", "holograms"),
+    REWARD("reward", "rewards");
+
+    private final String id;
+    private final String unit;
+
+    ProfileSection(@NotNull String id, @NotNull String unit) {
+        this.id = id;
+        this.unit = unit;
+    }
+
+    @NotNull
+    public String getId() {
+        return this.id;
+    }
+
+    /**
+     * @return Plural name of a single call of this section, used in reports.
+     */
+    @NotNull
+    public String getUnit() {
+        return this.unit;
+    }
+}
@@ -0,0 +1,110 @@
+package su.nightexpress.excellentcrates.metrics.profiler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Profiling window with the recorded call tree.
+ */
+public class ProfileSession {
+
+    private static final double TICK_NANOS = 50_000_000D;
+
+    private final ProfileNode root;
+    private final long        startedMillis;
+    private final long        startedNanos;
+    private final boolean     allocations;
+
+    private volatile long stoppedNanos;
+
+    ProfileSession(boolean allocations) {
+        this.root = ProfileNode.root();
+        this.startedMillis = System.currentTimeMillis();
+        this.startedNanos = System.nanoTime();
+        this.allocations = allocations;
+    }
+
+    void stop() {
+        this.stoppedNanos = System.nanoTime();
+    }
+
+    @NotNull
+    ProfileNode getRoot() {
+        return this.root;
+    }
+
+    public long getStartedMillis() {
+        return this.startedMillis;
+    }
+
+    public long getDurationNanos() {
+        long stopped = this.stoppedNanos;
+        return (stopped == 0L ? System.nanoTime() : stopped) - this.startedNanos;
+    }
+
+    /**
+     * @return Number of server ticks in the window, assuming 20 TPS.
+     */
+    public double getTicks() {
+        return Math.max(1D, this.getDurationNanos() / TICK_NANOS);
+    }
+
+    /**
+     * @return Whether allocated bytes were measured, which depends on JVM support.
+     */
+    public boolean hasAllocations() {
+        return this.allocations;
+    }
+
+    /**
+     * @return Measured nodes sorted by self time, the most expensive first.
+     */
+    @NotNull
+    public List<ProfileNode> getTopNodes(int limit) {
+        List<ProfileNode> nodes = new ArrayList<>();
+        this.root.collect(nodes);
+        nodes.sort(Comparator.comparingLong(ProfileNode::getSelfNanos).reversed());
+        return nodes.size() > limit ? nodes.subList(0, limit) : nodes;
+    }
+
+    /**
+     * Writes self time of each stack in microseconds, in the collapsed format read by flamegraph.pl and speedscope.
+     */
+    public void writeCollapsedTime(@NotNull Path file) throws IOException {
+        this.writeCollapsed(file, node -> node.getSelfNanos() / 1000L);
+    }
+
+    /**
+     * Writes bytes allocated by each stack itself, in the collapsed format.
+     */
+    public void writeCollapsedAllocations(@NotNull Path file) throws IOException {
+        this.writeCollapsed(file, ProfileNode::getSelfBytes);
+    }
+
+    private void writeCollapsed(@NotNull Path file, @NotNull ToLongFunction<ProfileNode> value) throws IOException {
+        List<ProfileNode> nodes = new ArrayList<>();
+        this.root.collect(nodes);
+
+        Files.createDirectories(file.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (ProfileNode node : nodes) {
+                long amount = value.applyAsLong(node);
+                if (amount <= 0L) continue;
+
+                writer.write(node.getStack().replace(' ', '_'));
+                writer.write(' ');
+                writer.write(Long.toString(amount));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -13,12 +13,15 @@ import su.nightexpress.excellentcrates.crate.impl.Crate;
 import su.nightexpress.excellentcrates.crate.impl.CrateSource;
 import su.nightexpress.excellentcrates.data.crate.GlobalCrateData;
 import su.nightexpress.excellentcrates.data.crate.UserCrateData;
+import su.nightexpress.excellentcrates.hooks.impl.PlaceholderCache;
+import su.nightexpress.excellentcrates.metrics.Metrics;
 import su.nightexpress.excellentcrates.user.CrateUser;
 import su.nightexpress.nightcore.util.Players;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 public abstract class AbstractOpening implements Opening {
@@ -109,12 +112,21 @@ public abstract class AbstractOpening implements Opening {
                 });
             }
         } else {
-            this.getRewards().forEach(reward -> this.plugin.getCrateManager().giveReward(this.player, reward));
+            // Cost is refunded at most once, even if several rewards of the opening are no longer available.
+            AtomicBoolean refunded = new AtomicBoolean();
+            Runnable refund = () -> {
+                if (this.cost != null && refunded.compareAndSet(false, true)) this.cost.refundAll(this.player);
+            };
+            this.getRewards().forEach(reward -> this.plugin.getCrateManager().giveReward(this.player, reward, refund));
         }
 
         this.plugin.getOpeningManager().removeOpening(this.getPlayer());
 
-        if (this.isCompleted()) {
+        if (!this.isCompleted()) {
+            Metrics.OPENINGS_CANCELLED.increment();
+        }
+        else {
+            Metrics.OPENINGS_FINISHED.increment();
             this.onComplete();
 
             // Fetch user data off-thread to avoid blocking the main thread on DB I/O
@@ -133,18 +145,20 @@ public abstract class AbstractOpening implements Opening {
 
                     if (crate.hasOpenCooldown() && !crate.hasCooldownBypassPermission(player)) {
                         userData.setCooldown(crate.getOpenCooldown());
+                        plugin.getCooldownManager().scheduleOpenCooldown(player.getUniqueId(), crate, userData.getOpenCooldown());
                     }
 
                     if (crate.hasMilestones()) {
                         userData.addMilestones(1);
                         plugin.getCrateManager().triggerMilestones(player, crate, userData.getMilestone());
-                        if (userData.getMilestone() >= crate.getMaxMilestone() && crate.isMilestonesRepeatable()) {
+                        if (crate.isMilestoneCycleCompleted(userData.getMilestone())) {
                             userData.setMilestone(0);
                         }
                     }
 
                     this.plugin.getUserManager().save(user);
                     this.plugin.getRedisSyncManager().ifPresent(sync -> sync.publishUser(user));
+                    PlaceholderCache.invalidate(this.player);
                 });
             });
         }
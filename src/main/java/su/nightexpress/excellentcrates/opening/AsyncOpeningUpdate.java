@@ -7,116 +7,245 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import su.nightexpress.nightcore.bridge.wrap.NightSound;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Reusable buffer of inventory changes prepared off the main thread. Instances are taken from a per-opening
+ * {@link Pool} and go back to it after {@link #applyToMainThread()}, so a running opening does not allocate
+ * a new update every tick.
+ */
 public class AsyncOpeningUpdate {
-    
-    private final Map<Integer, ItemStack> inventoryUpdates;
-    private final Map<String, NightSound> soundsToPlay;
-    private final Player player;
-    private final Inventory inventory;
-    private boolean shouldCloseInventory;
-    private boolean shouldOpenInventory;
+
+    private static final Map<String, Integer> SOUND_IDS       = new ConcurrentHashMap<>();
+    private static final AtomicInteger        SOUND_ID_COUNTER = new AtomicInteger();
+
+    private static final int MAX_SOUNDS = 8;
+
+    private final Pool         pool;
+    private final ItemStack[]  items;
+    private final long[]       dirty;
+    private final int[]        soundIds;
+    private final NightSound[] sounds;
+
+    private int       soundCount;
+    private boolean   shouldCloseInventory;
     private Inventory inventoryToOpen;
-    private boolean shouldStopOpening;
-    private boolean shouldCompleteOpening;
-    
-    public AsyncOpeningUpdate(@NotNull Player player, @NotNull Inventory inventory) {
-        this.player = player;
-        this.inventory = inventory;
-        this.inventoryUpdates = new ConcurrentHashMap<>();
-        this.soundsToPlay = new ConcurrentHashMap<>();
-        this.shouldCloseInventory = false;
-        this.shouldOpenInventory = false;
-        this.inventoryToOpen = null;
-        this.shouldStopOpening = false;
-        this.shouldCompleteOpening = false;
+    private boolean   shouldStopOpening;
+    private boolean   shouldCompleteOpening;
+
+    private AsyncOpeningUpdate(@NotNull Pool pool) {
+        int size = pool.inventory.getSize();
+
+        this.pool = pool;
+        this.items = new ItemStack[size];
+        this.dirty = new long[(size + 63) >>> 6];
+        this.soundIds = new int[MAX_SOUNDS];
+        this.sounds = new NightSound[MAX_SOUNDS];
+    }
+
+    /**
+     * Returns a stable numeric ID for the given sound key. Intended to be called once per sound source, not per tick.
+     */
+    public static int internSoundId(@NotNull String key) {
+        return SOUND_IDS.computeIfAbsent(key, k -> SOUND_ID_COUNTER.getAndIncrement());
     }
-    
+
     public void addInventoryUpdate(int slot, @Nullable ItemStack item) {
-        if (item != null) {
-            this.inventoryUpdates.put(slot, item);
-        }
+        if (item == null || slot < 0 || slot >= this.items.length) return;
+
+        this.items[slot] = item;
+        this.dirty[slot >>> 6] |= 1L << slot;
     }
-    
-    public void addSound(@NotNull String soundId, @NotNull NightSound sound) {
-        this.soundsToPlay.put(soundId, sound);
+
+    public void addSound(int soundId, @NotNull NightSound sound) {
+        for (int index = 0; index < this.soundCount; index++) {
+            if (this.soundIds[index] == soundId) {
+                this.sounds[index] = sound;
+                return;
+            }
+        }
+        if (this.soundCount >= MAX_SOUNDS) return;
+
+        this.soundIds[this.soundCount] = soundId;
+        this.sounds[this.soundCount] = sound;
+        this.soundCount++;
     }
-    
+
     public void setCloseInventory(boolean close) {
         this.shouldCloseInventory = close;
     }
-    
+
     public void setOpenInventory(@Nullable Inventory inventory) {
-        this.shouldOpenInventory = inventory != null;
         this.inventoryToOpen = inventory;
     }
-    
+
     public void setStopOpening(boolean stop) {
         this.shouldStopOpening = stop;
     }
-    
+
     public void setCompleteOpening(boolean complete) {
         this.shouldCompleteOpening = complete;
     }
-    
+
     public boolean hasUpdates() {
-        return !inventoryUpdates.isEmpty() || 
-               !soundsToPlay.isEmpty() || 
-               shouldCloseInventory || 
-               shouldOpenInventory || 
-               shouldStopOpening || 
-               shouldCompleteOpening;
-    }
-    
+        return this.hasDirtySlots() ||
+               this.soundCount > 0 ||
+               this.shouldCloseInventory ||
+               this.inventoryToOpen != null ||
+               this.shouldStopOpening ||
+               this.shouldCompleteOpening;
+    }
+
+    private boolean hasDirtySlots() {
+        for (long word : this.dirty) {
+            if (word != 0L) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Applies changes and returns this buffer to its pool. The buffer must not be used after this call.
+     */
     public void applyToMainThread() {
-        for (Map.Entry<Integer, ItemStack> entry : inventoryUpdates.entrySet()) {
-            inventory.setItem(entry.getKey(), entry.getValue());
+        try {
+            this.apply();
         }
-        
-        for (NightSound sound : soundsToPlay.values()) {
-            sound.play(player);
+        finally {
+            this.release();
         }
-        
-        if (shouldOpenInventory && inventoryToOpen != null) {
-            player.openInventory(inventoryToOpen);
+    }
+
+    private void apply() {
+        Pool pool = this.pool;
+        ItemStack[] applied = pool.applied;
+
+        for (int wordIndex = 0; wordIndex < this.dirty.length; wordIndex++) {
+            long word = this.dirty[wordIndex];
+            while (word != 0L) {
+                int slot = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1L;
+
+                // Spinners reuse cached item instances, so the same reference means the slot already shows this item.
+                ItemStack item = this.items[slot];
+                if (applied[slot] == item) continue;
+
+                pool.inventory.setItem(slot, item);
+                applied[slot] = item;
+            }
         }
-        
-        if (shouldCloseInventory) {
-            player.closeInventory();
+
+        for (int index = 0; index < this.soundCount; index++) {
+            this.sounds[index].play(pool.player);
+        }
+
+        if (this.inventoryToOpen != null) {
+            pool.player.openInventory(this.inventoryToOpen);
+            pool.invalidate();
+        }
+
+        if (this.shouldCloseInventory) {
+            pool.player.closeInventory();
         }
     }
-    
-    @NotNull
-    public Map<Integer, ItemStack> getInventoryUpdates() {
-        return new HashMap<>(inventoryUpdates);
+
+    /**
+     * Clears this buffer and returns it to its pool without applying. Use when the update is discarded.
+     */
+    public void release() {
+        Arrays.fill(this.items, null);
+        Arrays.fill(this.dirty, 0L);
+        Arrays.fill(this.sounds, 0, this.soundCount, null);
+        this.soundCount = 0;
+        this.shouldCloseInventory = false;
+        this.inventoryToOpen = null;
+        this.shouldStopOpening = false;
+        this.shouldCompleteOpening = false;
+
+        this.pool.release(this);
     }
-    
-    @NotNull
-    public Map<String, NightSound> getSoundsToPlay() {
-        return new HashMap<>(soundsToPlay);
+
+    public boolean isSlotDirty(int slot) {
+        return slot >= 0 && slot < this.items.length && (this.dirty[slot >>> 6] & (1L << slot)) != 0L;
+    }
+
+    @Nullable
+    public ItemStack getItem(int slot) {
+        return this.isSlotDirty(slot) ? this.items[slot] : null;
     }
-    
+
+    public int getSoundCount() {
+        return this.soundCount;
+    }
+
     public boolean shouldCloseInventory() {
-        return shouldCloseInventory;
+        return this.shouldCloseInventory;
     }
-    
+
     public boolean shouldOpenInventory() {
-        return shouldOpenInventory;
+        return this.inventoryToOpen != null;
     }
-    
+
     @Nullable
     public Inventory getInventoryToOpen() {
-        return inventoryToOpen;
+        return this.inventoryToOpen;
     }
-    
+
     public boolean shouldStopOpening() {
-        return shouldStopOpening;
+        return this.shouldStopOpening;
     }
-    
+
     public boolean shouldCompleteOpening() {
-        return shouldCompleteOpening;
+        return this.shouldCompleteOpening;
+    }
+
+    /**
+     * Update buffers of a single opening inventory, together with the last state applied to that inventory.
+     * Buffers are acquired by the async ticker and released on the player's thread, so the free list is concurrent.
+     */
+    public static class Pool {
+
+        private static final int MAX_FREE = 4;
+
+        private final Player                    player;
+        private final Inventory                 inventory;
+        private final ItemStack[]               applied;
+        private final Queue<AsyncOpeningUpdate> free;
+
+        public Pool(@NotNull Player player, @NotNull Inventory inventory) {
+            this.player = player;
+            this.inventory = inventory;
+            this.applied = new ItemStack[inventory.getSize()];
+            this.free = new ConcurrentLinkedQueue<>();
+        }
+
+        @NotNull
+        public AsyncOpeningUpdate acquire() {
+            AsyncOpeningUpdate update = this.free.poll();
+            return update == null ? new AsyncOpeningUpdate(this) : update;
+        }
+
+        private void release(@NotNull AsyncOpeningUpdate update) {
+            if (this.free.size() < MAX_FREE) {
+                this.free.offer(update);
+            }
+        }
+
+        /**
+         * Forgets the last applied state, so the next update sets all its slots again. Call it when inventory
+         * contents are changed outside of update buffers.
+         */
+        public void invalidate() {
+            Arrays.fill(this.applied, null);
+        }
+
+        @NotNull
+        public Inventory getInventory() {
+            return this.inventory;
+        }
     }
 }
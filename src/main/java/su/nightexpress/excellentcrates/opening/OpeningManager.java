@@ -12,6 +12,9 @@ import su.nightexpress.excellentcrates.config.Config;
 import su.nightexpress.excellentcrates.crate.cost.Cost;
 import su.nightexpress.excellentcrates.crate.impl.Crate;
 import su.nightexpress.excellentcrates.crate.impl.CrateSource;
+import su.nightexpress.excellentcrates.metrics.Metrics;
+import su.nightexpress.excellentcrates.metrics.profiler.CrateProfiler;
+import su.nightexpress.excellentcrates.metrics.profiler.ProfileSection;
 import su.nightexpress.excellentcrates.opening.world.provider.DummyProvider;
 import su.nightexpress.nightcore.config.FileConfig;
 import su.nightexpress.nightcore.manager.AbstractManager;
@@ -113,6 +116,35 @@ public class OpeningManager extends AbstractManager<CratesPlugin> {
         this.loadProvider(provider);
     }
 
+    /**
+     * Reloads a single opening provider from its file, or removes it if the file was deleted. Running openings
+     * keep using the provider they were started with.
+     */
+    public void reloadProvider(@NotNull File file) {
+        ProviderLoader loader = ProviderRegistry.getLoaders().stream()
+            .filter(other -> new File(this.getDirectoryPath(other.getDirectory())).toPath().equals(file.toPath().getParent()))
+            .findFirst().orElse(null);
+        if (loader == null) return;
+
+        String name = FileConfig.getName(file);
+        FileConfig config = file.exists() ? FileConfig.load(file.toPath()) : null;
+
+        this.plugin.runNextTick(() -> {
+            if (config == null) {
+                this.providerByIdMap.remove(name.toLowerCase());
+                this.plugin.info("Removed opening '" + name + "'.");
+                return;
+            }
+
+            OpeningProvider provider = loader.getSupplier().supply(this.plugin, name);
+            provider.load(config);
+            config.saveChanges();
+
+            this.loadProvider(provider);
+            this.plugin.info("Reloaded opening '" + provider.getId() + "'.");
+        });
+    }
+
     public void loadProvider(@NotNull OpeningProvider provider) {
         this.providerByIdMap.put(provider.getId(), provider);
     }
@@ -182,21 +214,47 @@ public class OpeningManager extends AbstractManager<CratesPlugin> {
     private void processOpeningAsync(Opening opening, AsyncProcessable asyncOpening) {
         AsyncOpeningUpdate update = asyncOpening.processAsync();
 
-        if (update != null && update.hasUpdates()) {
-            this.plugin.getFoliaScheduler().runAtEntity(opening.getPlayer(), () -> {
-                try {
-                    update.applyToMainThread();
-                } catch (Exception e) {
-                    this.plugin.error("Error applying opening update for player " + opening.getPlayer().getName() + ": " + e.getMessage());
-                    e.printStackTrace();
-                }
-            });
+        if (update == null) return;
+        if (!update.hasUpdates()) {
+            update.release();
+            return;
         }
+
+        this.plugin.getFoliaScheduler().runAtEntity(opening.getPlayer(), () -> {
+            try {
+                update.applyToMainThread();
+            } catch (Exception e) {
+                this.plugin.error("Error applying opening update for player " + opening.getPlayer().getName() + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        });
     }
 
     public void tickOpenings() {
+        long started = Metrics.OPENING_TICK.start();
+
         List<Opening> openingsCopy = new ArrayList<>(this.getOpenings());
-        openingsCopy.forEach(Opening::tick);
+        if (CrateProfiler.isRunning()) {
+            openingsCopy.forEach(this::tickProfiled);
+        }
+        else {
+            openingsCopy.forEach(Opening::tick);
+        }
+
+        Metrics.OPENING_TICK.stop(started);
+    }
+
+    private void tickProfiled(@NotNull Opening opening) {
+        Crate crate = opening.getCrate();
+        String providerId = crate.isOpeningEnabled() ? crate.getOpeningId() : this.dummyProvider.getId();
+
+        CrateProfiler.Sample sample = CrateProfiler.start(crate, ProfileSection.OPENING, providerId);
+        try {
+            opening.tick();
+        }
+        finally {
+            CrateProfiler.stop(sample);
+        }
     }
 
     public boolean isOpening(@NotNull Player player) {
@@ -238,6 +296,7 @@ public class OpeningManager extends AbstractManager<CratesPlugin> {
 
     public void startOpening(@NotNull Player player, @NotNull Opening opening, boolean instaRoll) {
         this.openingByPlayerMap.putIfAbsent(player.getUniqueId(), opening);
+        Metrics.OPENINGS_STARTED.increment();
 
         opening.start(); // Start ticking
 
@@ -27,6 +27,7 @@ public class InventoryOpening extends AbstractOpening implements AsyncProcessabl
     protected final InventoryProvider config;
     protected InventoryView           view; // not final: Paper may return a different view on open
     protected final List<Spinner>     spinners;
+    protected final AsyncOpeningUpdate.Pool updatePool;
 
     private boolean launched;
     private long    closeTicks;
@@ -42,6 +43,7 @@ public class InventoryOpening extends AbstractOpening implements AsyncProcessabl
         this.view = view;
         this.config = config;
         this.spinners = new ArrayList<>();
+        this.updatePool = new AsyncOpeningUpdate.Pool(player, view.getTopInventory());
         this.closeTicks = config.getCompletionPauseTicks();
         this.launchTicks = 0L;
     }
@@ -86,6 +88,7 @@ public class InventoryOpening extends AbstractOpening implements AsyncProcessabl
                     this.view.getTopInventory().setItem(slot, menuItem.getItem().getItemStack());
                 }
             });
+            this.updatePool.invalidate();
         });
 
         this.launched = true;
@@ -99,7 +102,7 @@ public class InventoryOpening extends AbstractOpening implements AsyncProcessabl
         if (!this.running) return null;
 
         if (this.isCompleted()) {
-            AsyncOpeningUpdate update = new AsyncOpeningUpdate(this.player, this.view.getTopInventory());
+            AsyncOpeningUpdate update = this.updatePool.acquire();
             update.setStopOpening(true);
             return update;
         }
@@ -109,7 +112,7 @@ public class InventoryOpening extends AbstractOpening implements AsyncProcessabl
             return null;
         }
 
-        AsyncOpeningUpdate update = new AsyncOpeningUpdate(this.player, this.view.getTopInventory());
+        AsyncOpeningUpdate update = this.updatePool.acquire();
 
         if (this.isSpinnersCompleted()) {
             if (this.closeTicks > 0) {
@@ -125,17 +128,26 @@ public class InventoryOpening extends AbstractOpening implements AsyncProcessabl
         this.launchTicks++;
         this.tickCount = Math.max(0L, this.tickCount + 1L);
 
-        return update.hasUpdates() ? update : null;
+        if (!update.hasUpdates()) {
+            update.release();
+            return null;
+        }
+        return update;
     }
 
     @Override
     protected void onTick() {
         AsyncOpeningUpdate update = this.processAsync();
-        if (update != null && update.hasUpdates()) {
+        if (update != null) {
             update.applyToMainThread();
         }
     }
 
+    @NotNull
+    public AsyncOpeningUpdate.Pool getUpdatePool() {
+        return this.updatePool;
+    }
+
     private void processSpinnersAsync(AsyncOpeningUpdate update) {
         List<Spinner> spinnersCopy = new ArrayList<>(this.getSpinners());
         for (Spinner spinner : spinnersCopy) {
@@ -5,13 +5,14 @@ import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import su.nightexpress.excellentcrates.api.opening.Spinner;
 import su.nightexpress.excellentcrates.opening.inventory.InventoryOpening;
+import su.nightexpress.excellentcrates.metrics.profiler.CrateProfiler;
+import su.nightexpress.excellentcrates.metrics.profiler.ProfileSection;
 import su.nightexpress.excellentcrates.opening.AsyncOpeningUpdate;
 import su.nightexpress.nightcore.bridge.wrap.NightSound;
 import su.nightexpress.nightcore.util.random.Rnd;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.IntStream;
 
 public abstract class AbstractSpinner implements Spinner, AsyncSpinnerProcessable {
 
@@ -19,7 +20,9 @@ public abstract class AbstractSpinner implements Spinner, AsyncSpinnerProcessabl
     protected final InventoryOpening opening;
     protected final Inventory        inventory;
     protected final int[]            slots;
+    protected final int[]            shuffleSlots;
     protected final int[]            winSlots;
+    protected final int              soundId;
 
     protected boolean silent;
     protected boolean running;
@@ -40,7 +43,9 @@ public abstract class AbstractSpinner implements Spinner, AsyncSpinnerProcessabl
         this.inventory = opening.getInventory();
 
         this.slots = data.getSlots();
+        this.shuffleSlots = new int[this.slots.length];
         this.winSlots = opening.getConfig().getWinSlots();
+        this.soundId = AsyncOpeningUpdate.internSoundId("spinner_" + data.getSpinnerId());
 
         this.steps = new ArrayList<>(data.getSpinSteps());
         this.requiredSpins = this.steps.stream().mapToInt(SpinStep::getSpinsAmount).sum();
@@ -101,7 +106,7 @@ public abstract class AbstractSpinner implements Spinner, AsyncSpinnerProcessabl
         }
 
         if (this.isSpinTime()) {
-            this.onSpinAsync(update);
+            this.spin(update);
         }
 
         this.tickCount = Math.max(0L, this.tickCount + 1L);
@@ -109,24 +114,27 @@ public abstract class AbstractSpinner implements Spinner, AsyncSpinnerProcessabl
 
     @Override
     public void tick() {
-        AsyncOpeningUpdate update = new AsyncOpeningUpdate(this.opening.getPlayer(), this.inventory);
+        AsyncOpeningUpdate update = this.opening.getUpdatePool().acquire();
         this.processAsync(update);
         if (update.hasUpdates()) {
             update.applyToMainThread();
         }
+        else {
+            update.release();
+        }
     }
 
     @Override
     public void tickAll() {
         if (!this.running) return;
 
-        AsyncOpeningUpdate update = new AsyncOpeningUpdate(this.opening.getPlayer(), this.inventory);
+        AsyncOpeningUpdate update = this.opening.getUpdatePool().acquire();
         long total = Math.max(0L, this.getTotalSpins());
 
         for (int count = 0; count < total; count++) {
             if (this.isCompleted()) break;
 
-            this.onSpinAsync(update);
+            this.spin(update);
         }
 
         update.applyToMainThread();
@@ -145,6 +153,16 @@ public abstract class AbstractSpinner implements Spinner, AsyncSpinnerProcessabl
 
     protected abstract void onStop();
 
+    private void spin(@NotNull AsyncOpeningUpdate update) {
+        CrateProfiler.Sample sample = CrateProfiler.start(this.opening.getCrate(), ProfileSection.SPINNER, this.data.getSpinnerId());
+        try {
+            this.onSpinAsync(update);
+        }
+        finally {
+            CrateProfiler.stop(sample);
+        }
+    }
+
     protected void onSpinAsync(@NotNull AsyncOpeningUpdate update) {
         if (this.isCompleted()) {
             return;
@@ -152,7 +170,7 @@ public abstract class AbstractSpinner implements Spinner, AsyncSpinnerProcessabl
         if (!this.isSilent()) {
             NightSound sound = this.data.getSound();
             if (sound != null) {
-                update.addSound("spinner_" + this.getId() + "_" + this.spinCount, sound);
+                update.addSound(this.soundId, sound);
             }
         }
 
@@ -189,8 +207,10 @@ public abstract class AbstractSpinner implements Spinner, AsyncSpinnerProcessabl
             if (index == 0) {
                 update.addInventoryUpdate(slot, item);
             } else {
+                // Prefer the pending item, so several spins in one update (insta roll) still shift correctly.
                 int previousSlot = slots[index - 1];
-                ItemStack previousItem = this.inventory.getItem(previousSlot);
+                ItemStack previousItem = update.getItem(previousSlot);
+                if (previousItem == null) previousItem = this.inventory.getItem(previousSlot);
                 if (previousItem != null) {
                     update.addInventoryUpdate(slot, previousItem);
                 }
@@ -221,12 +241,18 @@ public abstract class AbstractSpinner implements Spinner, AsyncSpinnerProcessabl
     }
 
     protected void spinRandomAsync(@NotNull AsyncOpeningUpdate update) {
-        List<Integer> slots = new ArrayList<>(IntStream.of(this.slots).boxed().toList());
-        int roll = Rnd.get(slots.size() + 1);
+        int[] slots = this.shuffleSlots;
+        System.arraycopy(this.slots, 0, slots, 0, slots.length);
+
+        int roll = Rnd.get(slots.length + 1);
         if (roll <= 0) return;
 
-        while (roll > 0 && !slots.isEmpty()) {
-            int slot = slots.remove(Rnd.get(slots.size()));
+        // Partial Fisher-Yates shuffle: picks 'roll' distinct slots without boxing.
+        int left = slots.length;
+        while (roll > 0 && left > 0) {
+            int pick = Rnd.get(left);
+            int slot = slots[pick];
+            slots[pick] = slots[--left];
 
             if (!this.isOutOfBounds(slot)) {
                 ItemStack item = this.createItem(slot);
@@ -79,7 +79,8 @@ public class RewardSpinner extends AbstractSpinner {
         Reward reward = this.shouldUsePredictedReward(slot) ? this.opening.getRewards().get(this.rewardIndex++) : this.rollReward(true);
         if (reward == null) return new ItemStack(Material.AIR);
 
-        return reward.getPreviewItem();
+        // Inventories copy items on set, so the shared preview instance can be passed as is.
+        return reward.getCachedPreviewItem();
     }
 
     private boolean shouldUsePredictedReward(int slot) {
@@ -64,7 +64,7 @@ public class SelectableMenu extends LinkedMenu<CratesPlugin, SelectableOpening>
             .setSlots(this.rewardSlots)
             .setItems(opening.getCrateRewards())
             .setItemCreator(reward -> {
-                NightItem item = opening.isSelectedReward(reward) ? this.selectedIcon.copy() : NightItem.fromItemStack(reward.getPreviewItem())
+                NightItem item = opening.isSelectedReward(reward) ? this.selectedIcon.copy() : NightItem.fromItemStack(reward.getCachedPreviewItem())
                     .setDisplayName(this.rewardName)
                     .setLore(this.rewardLore);
 
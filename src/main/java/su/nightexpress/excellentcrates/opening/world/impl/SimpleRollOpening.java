@@ -171,7 +171,7 @@ public class SimpleRollOpening extends WorldOpening {
             //this.rewardDisplay.setTransformation(new Transformation(new Vector3f(), new AxisAngle4f(), new Vector3f(0.35f, 0.35f, 0.35f), new AxisAngle4f()));
         }
         if (this.rewardDisplay != null) {
-            ItemStack itemStack = reward.getPreviewItem();
+            ItemStack itemStack = reward.getCachedPreviewItem();
             this.rewardDisplay.setItemStack(itemStack);
             EntityUtil.setCustomName(this.rewardDisplay, reward.getName());
         }
@@ -0,0 +1,196 @@
+package su.nightexpress.excellentcrates.reload;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.config.Config;
+import su.nightexpress.nightcore.manager.AbstractManager;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches crate, key, preview and opening directories and reloads only the files that were changed, instead of
+ * a full plugin reload. Events are collected per file and handled once the file is quiet for the debounce time,
+ * since editors often write a file in several steps.
+ */
+public class HotReloadManager extends AbstractManager<CratesPlugin> {
+
+    private final Map<WatchKey, Path> watchedDirs;
+    private final Map<Path, Long>     pendingChanges;
+
+    private WatchService watchService;
+    private Thread       watchThread;
+
+    private Path cratesDir;
+    private Path keysDir;
+    private Path previewsDir;
+    private Path openingsDir;
+
+    public HotReloadManager(@NotNull CratesPlugin plugin) {
+        super(plugin);
+        this.watchedDirs = new ConcurrentHashMap<>();
+        this.pendingChanges = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    protected void onLoad() {
+        Path dataDir = this.plugin.getDataFolder().toPath();
+        this.cratesDir = dataDir.resolve(Config.DIR_CRATES.substring(1));
+        this.keysDir = dataDir.resolve(Config.DIR_KEYS.substring(1));
+        this.previewsDir = dataDir.resolve(Config.DIR_PREVIEWS.substring(1));
+        this.openingsDir = dataDir.resolve(Config.DIR_OPENINGS.substring(1));
+
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.registerAll(this.cratesDir);
+            this.registerAll(this.keysDir);
+            this.registerAll(this.previewsDir);
+            this.registerAll(this.openingsDir);
+        }
+        catch (IOException exception) {
+            this.plugin.error("Could not start file watcher, hot reload is disabled: " + exception.getMessage());
+            this.closeWatchService();
+            return;
+        }
+
+        this.watchThread = new Thread(this::runWatcher, "ExcellentCrates-FileWatcher");
+        this.watchThread.setDaemon(true);
+        this.watchThread.start();
+
+        this.addAsyncTask(this::processChanges, 10L);
+    }
+
+    @Override
+    protected void onShutdown() {
+        this.closeWatchService();
+        if (this.watchThread != null) {
+            this.watchThread.interrupt();
+            this.watchThread = null;
+        }
+        this.watchedDirs.clear();
+        this.pendingChanges.clear();
+    }
+
+    private void closeWatchService() {
+        if (this.watchService == null) return;
+
+        try {
+            this.watchService.close();
+        }
+        catch (IOException ignored) {
+
+        }
+        this.watchService = null;
+    }
+
+    private void registerAll(@NotNull Path root) throws IOException {
+        if (!Files.isDirectory(root)) return;
+
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                register(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void register(@NotNull Path dir) throws IOException {
+        WatchKey key = dir.register(this.watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        this.watchedDirs.put(key, dir);
+    }
+
+    private void runWatcher() {
+        WatchService service = this.watchService;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = service.take();
+            }
+            catch (InterruptedException | ClosedWatchServiceException exception) {
+                return;
+            }
+
+            Path dir = this.watchedDirs.get(key);
+            if (dir != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW || !(event.context() instanceof Path name)) continue;
+
+                    Path path = dir.resolve(name);
+                    if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                        try {
+                            this.registerAll(path);
+                        }
+                        catch (IOException | ClosedWatchServiceException exception) {
+                            this.plugin.warn("Could not watch directory '" + path + "': " + exception.getMessage());
+                        }
+                        continue;
+                    }
+
+                    if (name.toString().endsWith(".yml")) {
+                        this.pendingChanges.put(path, System.currentTimeMillis());
+                    }
+                }
+            }
+
+            if (!key.reset()) {
+                this.watchedDirs.remove(key);
+            }
+        }
+    }
+
+    private void processChanges() {
+        if (this.pendingChanges.isEmpty()) return;
+
+        long deadline = System.currentTimeMillis() - Config.HOT_RELOAD_DEBOUNCE.get();
+
+        this.pendingChanges.forEach((path, changedAt) -> {
+            if (changedAt > deadline) return;
+            if (!this.pendingChanges.remove(path, changedAt)) return; // Changed again meanwhile.
+
+            try {
+                this.reload(path);
+            }
+            catch (RuntimeException exception) {
+                this.plugin.error("Could not hot reload '" + path + "'.");
+                exception.printStackTrace();
+            }
+        });
+    }
+
+    private void reload(@NotNull Path path) {
+        FileType type = this.getFileType(path);
+        if (type == null) return;
+
+        switch (type) {
+            case CRATE -> this.plugin.getCrateManager().reloadCrate(path.toFile());
+            case KEY -> this.plugin.getKeyManager().reloadKey(path.toFile());
+            case PREVIEW -> this.plugin.getCrateManager().reloadPreview(path.toFile());
+            case OPENING -> this.plugin.getOpeningManager().reloadProvider(path.toFile());
+        }
+    }
+
+    @Nullable
+    private FileType getFileType(@NotNull Path path) {
+        Path parent = path.getParent();
+        if (parent == null) return null;
+
+        // Crates and previews are loaded from the top level of their directory only.
+        if (parent.equals(this.cratesDir)) return FileType.CRATE;
+        if (parent.equals(this.previewsDir)) return FileType.PREVIEW;
+        if (path.startsWith(this.keysDir)) return FileType.KEY;
+        if (path.startsWith(this.openingsDir)) return FileType.OPENING;
+        return null;
+    }
+
+    private enum FileType {
+        CRATE, KEY, PREVIEW, OPENING
+    }
+}
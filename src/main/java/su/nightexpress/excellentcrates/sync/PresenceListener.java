@@ -0,0 +1,29 @@
+package su.nightexpress.excellentcrates.sync;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.nightcore.manager.AbstractListener;
+
+public class PresenceListener extends AbstractListener<CratesPlugin> {
+
+    private final RedisSyncManager manager;
+
+    public PresenceListener(@NotNull CratesPlugin plugin, @NotNull RedisSyncManager manager) {
+        super(plugin);
+        this.manager = manager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        this.manager.publishPresenceJoin(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        this.manager.publishPresenceQuit(event.getPlayer());
+    }
+}
@@ -0,0 +1,167 @@
+package su.nightexpress.excellentcrates.sync;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Players online on other nodes of the network, grouped by node. Each node sends join/quit deltas, a periodic
+ * heartbeat with its player count and a full snapshot on request. Nodes that miss heartbeats for longer than
+ * the TTL are dropped with all their players.
+ */
+public class PresenceRegistry {
+
+    private final Map<String, NodePresence>           nodes;
+    private final Map<UUID, PresenceEntry>            byId;
+    private final NavigableMap<String, PresenceEntry> byName;
+
+    public PresenceRegistry() {
+        this.nodes = new ConcurrentHashMap<>();
+        this.byId = new ConcurrentHashMap<>();
+        this.byName = new ConcurrentSkipListMap<>();
+    }
+
+    public void clear() {
+        this.nodes.clear();
+        this.byId.clear();
+        this.byName.clear();
+    }
+
+    public synchronized void join(@NotNull String nodeId, @NotNull UUID playerId, @NotNull String playerName) {
+        PresenceEntry previous = this.byId.get(playerId);
+        if (previous != null) {
+            this.remove(previous);
+        }
+
+        PresenceEntry entry = new PresenceEntry(playerId, playerName, nodeId);
+        this.getNode(nodeId).players.put(playerId, entry);
+        this.byId.put(playerId, entry);
+        this.byName.put(toKey(playerName), entry);
+    }
+
+    public synchronized void quit(@NotNull String nodeId, @NotNull UUID playerId) {
+        PresenceEntry entry = this.byId.get(playerId);
+        if (entry == null || !entry.nodeId().equals(nodeId)) return;
+
+        this.remove(entry);
+    }
+
+    /**
+     * Replaces all players of the node with the given ones.
+     */
+    public synchronized void snapshot(@NotNull String nodeId, @NotNull Map<UUID, String> players) {
+        this.removeNode(nodeId);
+        players.forEach((playerId, playerName) -> this.join(nodeId, playerId, playerName));
+        this.getNode(nodeId);
+    }
+
+    /**
+     * Marks the node as alive.
+     * @return true when the local view of the node differs from its reported player count, so a snapshot is needed.
+     */
+    public boolean heartbeat(@NotNull String nodeId, int playerCount) {
+        NodePresence node = this.nodes.get(nodeId);
+        if (node == null) return true;
+
+        node.lastSeen = System.currentTimeMillis();
+        return node.players.size() != playerCount;
+    }
+
+    /**
+     * Removes nodes that sent no heartbeat within the given time.
+     * @return amount of removed nodes.
+     */
+    public synchronized int expire(long ttlMillis) {
+        long deadline = System.currentTimeMillis() - ttlMillis;
+        List<String> expired = new ArrayList<>();
+
+        this.nodes.forEach((nodeId, node) -> {
+            if (node.lastSeen < deadline) expired.add(nodeId);
+        });
+        expired.forEach(this::removeNode);
+        return expired.size();
+    }
+
+    public synchronized void removeNode(@NotNull String nodeId) {
+        NodePresence node = this.nodes.remove(nodeId);
+        if (node == null) return;
+
+        node.players.values().forEach(entry -> {
+            this.byId.remove(entry.playerId(), entry);
+            this.byName.remove(toKey(entry.playerName()), entry);
+        });
+    }
+
+    @Nullable
+    public PresenceEntry getById(@NotNull UUID playerId) {
+        return this.byId.get(playerId);
+    }
+
+    @Nullable
+    public PresenceEntry getByName(@NotNull String playerName) {
+        return this.byName.get(toKey(playerName));
+    }
+
+    public int getNodeCount() {
+        return this.nodes.size();
+    }
+
+    public int getPlayerCount() {
+        return this.byId.size();
+    }
+
+    /**
+     * Returns names of remote players starting with the given prefix (case-insensitive), in alphabetical order.
+     */
+    @NotNull
+    public List<String> complete(@NotNull String prefix, int limit) {
+        String key = toKey(prefix);
+        NavigableMap<String, PresenceEntry> range = key.isEmpty() ? this.byName : this.byName.subMap(key, true, key + Character.MAX_VALUE, false);
+
+        List<String> names = new ArrayList<>(Math.min(limit, 16));
+        for (PresenceEntry entry : range.values()) {
+            if (names.size() >= limit) break;
+            names.add(entry.playerName());
+        }
+        return names;
+    }
+
+    private void remove(@NotNull PresenceEntry entry) {
+        this.byId.remove(entry.playerId(), entry);
+        this.byName.remove(toKey(entry.playerName()), entry);
+
+        NodePresence node = this.nodes.get(entry.nodeId());
+        if (node != null) {
+            node.players.remove(entry.playerId(), entry);
+        }
+    }
+
+    @NotNull
+    private NodePresence getNode(@NotNull String nodeId) {
+        NodePresence node = this.nodes.computeIfAbsent(nodeId, k -> new NodePresence());
+        node.lastSeen = System.currentTimeMillis();
+        return node;
+    }
+
+    @NotNull
+    private static String toKey(@NotNull String name) {
+        return name.toLowerCase();
+    }
+
+    public record PresenceEntry(@NotNull UUID playerId, @NotNull String playerName, @NotNull String nodeId) {
+
+    }
+
+    private static class NodePresence {
+
+        private final Map<UUID, PresenceEntry> players = new ConcurrentHashMap<>();
+        private volatile long lastSeen;
+    }
+}
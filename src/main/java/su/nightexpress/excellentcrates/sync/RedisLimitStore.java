@@ -0,0 +1,137 @@
+package su.nightexpress.excellentcrates.sync;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.nightcore.lib.redis.jedis.Jedis;
+import su.nightexpress.nightcore.lib.redis.jedis.JedisPool;
+import su.nightexpress.nightcore.lib.redis.jedis.exceptions.JedisNoScriptException;
+
+import java.util.List;
+
+/**
+ * Global reward limit counters stored in Redis. Rolls and cooldowns are checked and updated by a single Lua script,
+ * so two nodes can not both take the last available roll of a reward.
+ */
+public class RedisLimitStore {
+
+    /*
+     * KEYS[1] - limit hash
+     * ARGV[1] - max rolls (-1 = unlimited)
+     * ARGV[2] - current time
+     * ARGV[3] - cooldown timestamp to set on success (0 = none)
+     * ARGV[4] - check cooldown (1/0)
+     * ARGV[5] - seed rolls, ARGV[6] - seed cooldown: used when the hash does not exist yet (values from the database)
+     * Returns {acquired (1/0), rolls, cooldownUntil}
+     */
+    private static final String ACQUIRE_SCRIPT = """
+        if redis.call('EXISTS', KEYS[1]) == 0 then
+            redis.call('HSET', KEYS[1], 'rolls', ARGV[5], 'until', ARGV[6])
+        end
+        local rolls = tonumber(redis.call('HGET', KEYS[1], 'rolls')) or 0
+        local untilTs = tonumber(redis.call('HGET', KEYS[1], 'until')) or 0
+        local maxRolls = tonumber(ARGV[1])
+        if ARGV[4] == '1' and untilTs > tonumber(ARGV[2]) then
+            return {0, rolls, untilTs}
+        end
+        if maxRolls >= 0 and rolls >= maxRolls then
+            return {0, rolls, untilTs}
+        end
+        rolls = redis.call('HINCRBY', KEYS[1], 'rolls', 1)
+        local newUntil = tonumber(ARGV[3])
+        if newUntil > 0 then
+            redis.call('HSET', KEYS[1], 'until', ARGV[3])
+            untilTs = newUntil
+        end
+        return {1, rolls, untilTs}
+        """;
+
+    private final CratesPlugin plugin;
+    private final JedisPool    pool;
+    private final String       prefix;
+
+    private volatile String scriptSha;
+
+    public RedisLimitStore(@NotNull CratesPlugin plugin, @NotNull JedisPool pool, @NotNull String channel) {
+        this.plugin = plugin;
+        this.pool = pool;
+        this.prefix = channel + ":limit:";
+    }
+
+    /**
+     * Takes one roll of a global limit if it is available.
+     * @return Limit state after the call, or null if Redis is not reachable (caller should fall back to local data).
+     */
+    @Nullable
+    public LimitState tryAcquire(@NotNull String crateId, @NotNull String rewardId, int maxRolls, long newCooldownUntil,
+                                 boolean checkCooldown, int seedRolls, long seedCooldownUntil) {
+        List<String> keys = List.of(this.getKey(crateId, rewardId));
+        List<String> args = List.of(
+            String.valueOf(maxRolls),
+            String.valueOf(System.currentTimeMillis()),
+            String.valueOf(newCooldownUntil),
+            checkCooldown ? "1" : "0",
+            String.valueOf(seedRolls),
+            String.valueOf(seedCooldownUntil)
+        );
+
+        try (Jedis jedis = this.pool.getResource()) {
+            Object result;
+            try {
+                if (this.scriptSha == null) {
+                    this.scriptSha = jedis.scriptLoad(ACQUIRE_SCRIPT);
+                }
+                result = jedis.evalsha(this.scriptSha, keys, args);
+            }
+            catch (JedisNoScriptException exception) {
+                // Script cache was flushed on the server.
+                this.scriptSha = null;
+                result = jedis.eval(ACQUIRE_SCRIPT, keys, args);
+            }
+
+            List<?> values = (List<?>) result;
+            return new LimitState(((Long) values.get(0)) == 1L, ((Long) values.get(1)).intValue(), (Long) values.get(2));
+        }
+        catch (Exception exception) {
+            this.plugin.warn("Could not update global reward limit in Redis: " + exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads current state of a global limit.
+     * @return Limit state, or null if there is no such limit in Redis or Redis is not reachable.
+     */
+    @Nullable
+    public LimitState get(@NotNull String crateId, @NotNull String rewardId) {
+        try (Jedis jedis = this.pool.getResource()) {
+            List<String> values = jedis.hmget(this.getKey(crateId, rewardId), "rolls", "until");
+            if (values.get(0) == null) return null;
+
+            long cooldownUntil = values.get(1) == null ? 0L : Long.parseLong(values.get(1));
+            return new LimitState(false, Integer.parseInt(values.get(0)), cooldownUntil);
+        }
+        catch (Exception exception) {
+            this.plugin.warn("Could not read global reward limit from Redis: " + exception.getMessage());
+            return null;
+        }
+    }
+
+    public void delete(@NotNull String crateId, @NotNull String rewardId) {
+        try (Jedis jedis = this.pool.getResource()) {
+            jedis.del(this.getKey(crateId, rewardId));
+        }
+        catch (Exception exception) {
+            this.plugin.warn("Could not delete global reward limit from Redis: " + exception.getMessage());
+        }
+    }
+
+    @NotNull
+    private String getKey(@NotNull String crateId, @NotNull String rewardId) {
+        return this.prefix + crateId.toLowerCase() + ":" + rewardId.toLowerCase();
+    }
+
+    public record LimitState(boolean acquired, int rolls, long cooldownUntil) {
+
+    }
+}
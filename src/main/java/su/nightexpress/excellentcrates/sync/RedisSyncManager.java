@@ -6,6 +6,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import su.nightexpress.nightcore.lib.redis.jedis.DefaultJedisClientConfig;
@@ -14,37 +15,52 @@ import su.nightexpress.nightcore.lib.redis.jedis.Jedis;
 import su.nightexpress.nightcore.lib.redis.jedis.JedisPool;
 import su.nightexpress.nightcore.lib.redis.jedis.JedisPubSub;
 import su.nightexpress.nightcore.lib.commons.pool2.impl.GenericObjectPoolConfig;
+import su.nightexpress.nightcore.lib.folialib.wrapper.task.WrappedTask;
 import su.nightexpress.excellentcrates.CratesPlugin;
 import su.nightexpress.excellentcrates.Placeholders;
 import su.nightexpress.excellentcrates.config.Config;
 import su.nightexpress.excellentcrates.config.Lang;
+import su.nightexpress.excellentcrates.crate.impl.Crate;
 import su.nightexpress.excellentcrates.data.crate.GlobalCrateData;
 import su.nightexpress.excellentcrates.data.crate.UserCrateData;
 import su.nightexpress.excellentcrates.data.reward.RewardData;
 import su.nightexpress.excellentcrates.data.serialize.UserCrateDataSerializer;
 import su.nightexpress.excellentcrates.user.CrateUser;
 import su.nightexpress.excellentcrates.key.CrateKey;
+import su.nightexpress.excellentcrates.metrics.Metrics;
 
 import java.lang.reflect.Type;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class RedisSyncManager {
 
+    private static final Type KEYS_TYPE       = new TypeToken<Map<String, Integer>>() {}.getType();
+    private static final Type CRATE_DATA_TYPE = new TypeToken<Map<String, UserCrateData>>() {}.getType();
+
     private final CratesPlugin plugin;
     private JedisPool pool;
+    private SyncTransport transport;
     private JedisPubSub subscriber;
     private Thread subscriberThread;
 
     private final Gson gson;
     private final String nodeId;
     private String channel;
+    private String nodeChannel;
     private volatile boolean active;
 
-    private final Set<String> crossServerPlayerNames = new HashSet<>();
+    private final AtomicInteger    pendingPublishes = new AtomicInteger();
+    private final PresenceRegistry presence = new PresenceRegistry();
+    private RedisLimitStore        limitStore;
+    private PresenceListener presenceListener;
+    private WrappedTask      heartbeatTask;
 
     public RedisSyncManager(@NotNull CratesPlugin plugin) {
         this.plugin = plugin;
@@ -68,6 +84,7 @@ public class RedisSyncManager {
         String password = Config.REDIS_PASSWORD.get();
         boolean ssl = Config.REDIS_SSL.get();
         this.channel = Config.REDIS_CHANNEL.get();
+        this.nodeChannel = this.channel + ":node:" + this.nodeId;
 
         try {
             DefaultJedisClientConfig clientConfig = DefaultJedisClientConfig.builder()
@@ -87,7 +104,15 @@ public class RedisSyncManager {
             poolConfig.setTimeBetweenEvictionRunsMillis(30000);
 
             this.pool = new JedisPool(poolConfig, new HostAndPort(host, port), clientConfig);
+            this.transport = (target, message) -> {
+                try (Jedis jedis = this.pool.getResource()) {
+                    jedis.publish(target, message);
+                }
+            };
             this.active = true;
+            if (Config.REDIS_ATOMIC_GLOBAL_LIMITS.get()) {
+                this.limitStore = new RedisLimitStore(this.plugin, this.pool, this.channel);
+            }
             this.startSubscriber();
 
             this.plugin.info("Redis sync enabled. Channel: " + this.channel + " | NodeId: " + this.nodeId);
@@ -98,7 +123,37 @@ public class RedisSyncManager {
         }
     }
 
+    /**
+     * Enables sync over a custom transport instead of Redis. Messages for this node must be passed
+     * to {@link #handleIncoming(String)} by the transport owner.
+     */
+    void activate(@NotNull SyncTransport transport) {
+        this.channel = Config.REDIS_CHANNEL.get();
+        this.nodeChannel = this.channel + ":node:" + this.nodeId;
+        this.transport = transport;
+        this.active = true;
+        this.startPresence();
+
+        this.publishPresenceSnapshot(null);
+        this.publish("PRESENCE_REQUEST", new JsonObject());
+    }
+
     public void shutdown() {
+        if (this.presenceListener != null) {
+            this.presenceListener.unregisterListeners();
+            this.presenceListener = null;
+        }
+        if (this.heartbeatTask != null) {
+            this.heartbeatTask.cancel();
+            this.heartbeatTask = null;
+        }
+        if (this.isActive()) {
+            // Scheduler may be unavailable during shutdown, so tell other nodes directly.
+            this.publishNow(this.channel, this.createMessage("PRESENCE_LEAVE", new JsonObject()));
+        }
+        this.presence.clear();
+        this.limitStore = null;
+
         this.active = false;
         try {
             if (this.subscriber != null) {
@@ -110,10 +165,18 @@ public class RedisSyncManager {
             if (this.pool != null) this.pool.close();
         }
         catch (Exception ignored) {}
+        this.transport = null;
+    }
+
+    /**
+     * @return Amount of messages scheduled for publishing, but not yet sent.
+     */
+    public int getPendingPublishes() {
+        return this.pendingPublishes.get();
     }
 
     public boolean isActive() {
-        return this.pool != null && this.active;
+        return this.transport != null && this.active;
     }
 
     @NotNull
@@ -121,6 +184,14 @@ public class RedisSyncManager {
         return this.nodeId;
     }
 
+    /**
+     * @return Atomic store of global reward limits, or null if disabled.
+     */
+    @Nullable
+    public RedisLimitStore getLimitStore() {
+        return this.isActive() ? this.limitStore : null;
+    }
+
     /* =========================
        Publisher API
        ========================= */
@@ -128,12 +199,7 @@ public class RedisSyncManager {
     public void publishUser(@NotNull CrateUser user) {
         if (!isActive()) return;
 
-        JsonObject data = new JsonObject();
-        data.addProperty("id", user.getId().toString());
-        data.add("keys", gson.toJsonTree(user.getKeysMap()));
-        data.add("crateData", gson.toJsonTree(user.getCrateDataMap()));
-
-        publish("USER_UPDATE", data);
+        publish("USER_UPDATE", this.writeUserData(user.getId(), user.getKeysMap(), user.getCrateDataMap()));
     }
 
     public void publishCrateData(@NotNull GlobalCrateData data) {
@@ -170,6 +236,19 @@ public class RedisSyncManager {
         publish("REWARD_LIMIT_UPSERT", d);
     }
 
+    /**
+     * Tells other nodes that a global limit was changed in the atomic store, so they re-read it from Redis.
+     */
+    public void publishRewardLimitInvalidate(@NotNull String crateId, @NotNull String rewardId) {
+        if (!isActive()) return;
+
+        JsonObject d = new JsonObject();
+        d.addProperty("crateId", crateId);
+        d.addProperty("rewardId", rewardId);
+
+        publish("REWARD_LIMIT_INVALIDATE", d);
+    }
+
     public void publishRewardLimitDeleteSingle(@NotNull String holder, @NotNull String crateId, @NotNull String rewardId) {
         if (!isActive()) return;
 
@@ -222,7 +301,7 @@ public class RedisSyncManager {
         d.addProperty("amount", amount);
         d.addProperty("origin", this.nodeId);
 
-        publish("GIVE_PHYSICAL_KEY", d);
+        publishDelivery(this.getNodeOf(playerId), "GIVE_PHYSICAL_KEY", d);
     }
 
     /**
@@ -267,7 +346,7 @@ public class RedisSyncManager {
         keyUuids.forEach(uuid -> uuidArray.add(uuid.toString()));
         d.add("keyUuids", uuidArray);
 
-        publish("GIVE_PHYSICAL_KEY_WITH_UUID", d);
+        publishDelivery(this.getNodeOf(playerId), "GIVE_PHYSICAL_KEY_WITH_UUID", d);
     }
 
     /**
@@ -298,7 +377,7 @@ public class RedisSyncManager {
         d.addProperty("amount", amount);
         d.addProperty("origin", this.nodeId);
 
-        publish("GIVE_CRATE_ITEM", d);
+        publishDelivery(this.getNodeOf(playerId), "GIVE_CRATE_ITEM", d);
     }
 
     /**
@@ -313,7 +392,7 @@ public class RedisSyncManager {
         d.addProperty("amount", amount);
         d.addProperty("origin", this.nodeId);
 
-        publish("GIVE_CRATE_ITEM_BY_NAME", d);
+        publishDelivery(this.getNodeOf(playerName), "GIVE_CRATE_ITEM_BY_NAME", d);
     }
 
     /**
@@ -331,22 +410,134 @@ public class RedisSyncManager {
         publish("OPENING_STATE_CLEANUP", d);
     }
 
+    /**
+     * Publishes a reward broadcast, already combined and rate limited, to other servers
+     */
+    public void publishRewardBroadcast(@NotNull String playerName, @NotNull String displayName, @NotNull String crateId, @NotNull Map<String, Integer> rewards) {
+        if (!isActive()) return;
+
+        JsonObject rewardsObject = new JsonObject();
+        rewards.forEach(rewardsObject::addProperty);
+
+        JsonObject d = new JsonObject();
+        d.addProperty("playerName", playerName);
+        d.addProperty("displayName", displayName);
+        d.addProperty("crateId", crateId);
+        d.add("rewards", rewardsObject);
+
+        publish("REWARD_BROADCAST", d);
+    }
+
     private void publish(@NotNull String type, @NotNull JsonObject data) {
+        this.publishTo(null, type, data);
+    }
+
+    /**
+     * Publishes a delivery for a player to the node the player is on, or to all nodes if the node is unknown.
+     * A node that no longer has the player sends the delivery to all nodes, see {@link #redirectDelivery}.
+     */
+    private void publishDelivery(@Nullable String targetNode, @NotNull String type, @NotNull JsonObject data) {
+        if (targetNode != null) data.addProperty("targeted", true);
+
+        this.publishTo(targetNode, type, data);
+    }
+
+    /**
+     * Sends a delivery that was sent to this node only, but the player is not here (e.g. switching servers), to all nodes.
+     */
+    private void redirectDelivery(@NotNull String type, @NotNull JsonObject data) {
+        if (!data.has("targeted") || !data.get("targeted").getAsBoolean()) return;
+
+        data.remove("targeted");
+        this.plugin.info("Player of '" + type + "' delivery is not on this node, sending it to all nodes.");
+        this.publish(type, data);
+    }
+
+    /**
+     * Publishes a message to the channel of a single node, or to the shared channel if the node is unknown.
+     */
+    private void publishTo(@Nullable String targetNode, @NotNull String type, @NotNull JsonObject data) {
         if (!isActive()) return;
 
+        String channel = targetNode == null ? this.channel : this.channel + ":node:" + targetNode;
+        JsonObject root = this.createMessage(type, data);
+
+        this.pendingPublishes.incrementAndGet();
+        this.plugin.getFoliaScheduler().runAsync(() -> {
+            this.pendingPublishes.decrementAndGet();
+            this.publishNow(channel, root);
+        });
+    }
+
+    @NotNull
+    JsonObject createMessage(@NotNull String type, @NotNull JsonObject data) {
         JsonObject root = new JsonObject();
         root.addProperty("type", type);
         root.addProperty("nodeId", this.nodeId);
         root.add("data", data);
+        return root;
+    }
 
-        this.plugin.getFoliaScheduler().runAsync(() -> {
-            try (Jedis jedis = this.pool.getResource()) {
-                jedis.publish(this.channel, this.gson.toJson(root));
-            }
-            catch (Exception e) {
-                this.plugin.warn("Redis publish failed: " + e.getMessage());
-            }
-        });
+    @NotNull
+    String encodeMessage(@NotNull JsonObject root) {
+        return this.gson.toJson(root);
+    }
+
+    @Nullable
+    JsonObject decodeMessage(@NotNull String message) {
+        return this.gson.fromJson(message, JsonObject.class);
+    }
+
+    @NotNull
+    JsonObject writeUserData(@NotNull UUID id, @NotNull Map<String, Integer> keys, @NotNull Map<String, UserCrateData> crateData) {
+        JsonObject data = new JsonObject();
+        data.addProperty("id", id.toString());
+        data.add("keys", this.gson.toJsonTree(keys));
+        data.add("crateData", this.gson.toJsonTree(crateData));
+        return data;
+    }
+
+    @NotNull
+    UserUpdate readUserData(@NotNull JsonObject data) {
+        UUID id = UUID.fromString(data.get("id").getAsString());
+        Map<String, Integer> keys = this.gson.fromJson(data.get("keys"), KEYS_TYPE);
+        Map<String, UserCrateData> crates = this.gson.fromJson(data.get("crateData"), CRATE_DATA_TYPE);
+
+        return new UserUpdate(id, keys, crates);
+    }
+
+    record UserUpdate(@NotNull UUID id, @Nullable Map<String, Integer> keys, @Nullable Map<String, UserCrateData> crates) {
+
+    }
+
+    private void publishNow(@NotNull String channel, @NotNull JsonObject root) {
+        SyncTransport transport = this.transport;
+        if (transport == null) return;
+
+        long started = Metrics.REDIS_PUBLISH.start();
+        try {
+            transport.publish(channel, this.encodeMessage(root));
+            Metrics.REDIS_OUT.increment();
+        }
+        catch (Exception e) {
+            Metrics.REDIS_FAILURES.increment();
+            this.plugin.warn("Redis publish failed: " + e.getMessage());
+        }
+        finally {
+            Metrics.REDIS_PUBLISH.stop(started);
+        }
+    }
+
+    @Nullable
+    private String getNodeOf(@NotNull UUID playerId) {
+        PresenceRegistry.PresenceEntry entry = this.presence.getById(playerId);
+        return entry == null ? null : entry.nodeId();
+    }
+
+    @Nullable
+    private String getNodeOf(@NotNull String playerName) {
+        PresenceRegistry.PresenceEntry entry = this.presence.getByName(playerName);
+        return entry == null ? null : entry.nodeId();
     }
 
     /* =========================
@@ -359,12 +550,21 @@ public class RedisSyncManager {
             public void onMessage(String channel, String message) {
                 handleIncoming(message);
             }
+
+            @Override
+            public void onSubscribe(String channel, int subscribedChannels) {
+                // Announce ourselves once actually listening, so replies to the request are not missed.
+                if (channel.equals(RedisSyncManager.this.channel)) {
+                    publishPresenceSnapshot(null);
+                    publish("PRESENCE_REQUEST", new JsonObject());
+                }
+            }
         };
 
         this.subscriberThread = new Thread(() -> {
             while (this.active) {
                 try (Jedis jedis = this.pool.getResource()) {
-                    jedis.subscribe(this.subscriber, this.channel);
+                    jedis.subscribe(this.subscriber, this.channel, this.nodeChannel);
                 }
                 catch (Exception e) {
                     this.plugin.error("Redis subscriber error: " + e.getMessage());
@@ -384,17 +584,30 @@ public class RedisSyncManager {
         this.subscriberThread.setDaemon(true);
         this.subscriberThread.start();
 
-        this.plugin.getFoliaScheduler().runTimerAsync(this::syncPlayerNames, 0L, 600L);
+        this.startPresence();
+    }
+
+    private void startPresence() {
+        long heartbeatInterval = Math.max(1L, Config.REDIS_PRESENCE_HEARTBEAT.get()) * 20L;
+        this.heartbeatTask = this.plugin.getFoliaScheduler().runTimerAsync(this::heartbeat, heartbeatInterval, heartbeatInterval);
+
+        this.presenceListener = new PresenceListener(this.plugin, this);
+        this.presenceListener.registerListeners();
     }
 
-    private void handleIncoming(@NotNull String message) {
+    void handleIncoming(@NotNull String message) {
+        long started = Metrics.REDIS_HANDLE.start();
         try {
-            JsonObject root = this.gson.fromJson(message, JsonObject.class);
+            JsonObject root = this.decodeMessage(message);
             if (root == null) return;
 
             String origin = root.has("nodeId") && !root.get("nodeId").isJsonNull() ? root.get("nodeId").getAsString() : null;
             if (origin != null && origin.equals(this.nodeId)) return;
 
+            if (origin == null) return;
+
+            Metrics.REDIS_IN.increment();
+
             String type = root.has("type") ? root.get("type").getAsString() : null;
             JsonObject data = root.has("data") && root.get("data").isJsonObject() ? root.getAsJsonObject("data") : null;
             if (type == null || data == null) return;
@@ -405,34 +618,40 @@ public class RedisSyncManager {
                 case "CRATE_DATA_DELETE" -> applyCrateDataDelete(data);
                 case "REWARD_LIMIT_UPSERT" -> applyRewardLimitUpsert(data);
                 case "REWARD_LIMIT_DELETE" -> applyRewardLimitDelete(data);
+                case "REWARD_LIMIT_INVALIDATE" -> applyRewardLimitInvalidate(data);
                 case "GIVE_PHYSICAL_KEY" -> applyGivePhysicalKey(data);
                 case "KEY_UUID_REGISTERED" -> applyKeyUuidRegistered(data);
                 case "KEY_UUID_USED" -> applyKeyUuidUsed(data);
                 case "GIVE_PHYSICAL_KEY_WITH_UUID" -> applyGivePhysicalKeyWithUuid(data);
                 case "KEY_DELIVERY_NOTIFICATION" -> applyKeyDeliveryNotification(data);
                 case "OPENING_STATE_CLEANUP" -> applyOpeningStateCleanup(data);
+                case "REWARD_BROADCAST" -> applyRewardBroadcast(data);
                 case "GIVE_CRATE_ITEM" -> applyGiveCrateItem(data);
                 case "GIVE_CRATE_ITEM_BY_NAME" -> applyGiveCrateItemByName(data);
-                case "PLAYER_NAMES_UPDATE" -> applyPlayerNamesUpdate(data);
+                case "PRESENCE_JOIN" -> applyPresenceJoin(origin, data);
+                case "PRESENCE_QUIT" -> applyPresenceQuit(origin, data);
+                case "PRESENCE_HEARTBEAT" -> applyPresenceHeartbeat(origin, data);
+                case "PRESENCE_SNAPSHOT" -> applyPresenceSnapshot(origin, data);
+                case "PRESENCE_REQUEST" -> publishPresenceSnapshot(origin);
+                case "PRESENCE_LEAVE" -> this.presence.removeNode(origin);
                 default -> {}
             }
         }
         catch (Exception e) {
             this.plugin.warn("Failed to handle Redis message: " + e.getMessage());
         }
+        finally {
+            Metrics.REDIS_HANDLE.stop(started);
+        }
     }
 
     private void applyUserUpdate(@NotNull JsonObject data) {
-        UUID id = UUID.fromString(data.get("id").getAsString());
-
-        Type mapSI = new TypeToken<Map<String, Integer>>() {}.getType();
-        Type mapSUserData = new TypeToken<Map<String, UserCrateData>>() {}.getType();
-
-        Map<String, Integer> keys = this.gson.fromJson(data.get("keys"), mapSI);
-        Map<String, UserCrateData> crates = this.gson.fromJson(data.get("crateData"), mapSUserData);
+        UserUpdate update = this.readUserData(data);
+        Map<String, Integer> keys = update.keys();
+        Map<String, UserCrateData> crates = update.crates();
 
         this.plugin.runTask(task -> {
-            CrateUser user = this.plugin.getUserManager().getLoaded(id);
+            CrateUser user = this.plugin.getUserManager().getLoaded(update.id());
             if (user != null) {
                 user.getKeysMap().clear();
                 if (keys != null) user.getKeysMap().putAll(keys);
@@ -476,6 +695,20 @@ public class RedisSyncManager {
         this.plugin.runNextTick(() -> this.plugin.getDataManager().applyExternalRewardLimit(limit));
     }
 
+    private void applyRewardLimitInvalidate(@NotNull JsonObject data) {
+        RedisLimitStore store = this.getLimitStore();
+        if (store == null) return;
+
+        String crateId = data.get("crateId").getAsString();
+        String rewardId = data.get("rewardId").getAsString();
+
+        // Do not block the subscriber thread with a Redis read.
+        this.plugin.runTaskAsync(() -> {
+            RedisLimitStore.LimitState state = store.get(crateId, rewardId);
+            this.plugin.runNextTick(() -> this.plugin.getDataManager().applyExternalGlobalLimit(crateId, rewardId, state));
+        });
+    }
+
     private void applyRewardLimitDelete(@NotNull JsonObject data) {
         String mode = data.get("mode").getAsString();
 
@@ -519,7 +752,10 @@ public class RedisSyncManager {
                 this.plugin.getKeyManager().giveKey(player, key, amount);
                 this.plugin.info("Gave physical key '" + keyId + "' x" + amount + " to " + player.getName() + " via Redis request from " + origin + ".");
             }
-            // If player not online on this node, ignore. Another node should handle if the player is present there.
+            else {
+                // Another node should handle if the player is present there.
+                this.redirectDelivery("GIVE_PHYSICAL_KEY", data);
+            }
         });
     }
 
@@ -580,6 +816,9 @@ public class RedisSyncManager {
 
                 publishKeyDeliveryNotification(playerId, keyId, amount, origin);
             }
+            else {
+                this.redirectDelivery("GIVE_PHYSICAL_KEY_WITH_UUID", data);
+            }
         });
     }
 
@@ -625,6 +864,9 @@ Lang.COMMAND_KEY_GIVE_NOTIFY.message().send(player, replacer -> replacer
                 );
                 this.plugin.info("Gave crate '" + crateId + "' x" + amount + " to " + player.getName() + " via Redis request from " + origin + ".");
             }
+            else {
+                this.redirectDelivery("GIVE_CRATE_ITEM", data);
+            }
         });
     }
 
@@ -647,6 +889,9 @@ Lang.COMMAND_KEY_GIVE_NOTIFY.message().send(player, replacer -> replacer
                 );
                 this.plugin.info("Gave crate '" + crateId + "' x" + amount + " to " + player.getName() + " via Redis-by-name request from " + origin + ".");
             }
+            else {
+                this.redirectDelivery("GIVE_CRATE_ITEM_BY_NAME", data);
+            }
         });
     }
 
@@ -665,56 +910,120 @@ Lang.COMMAND_KEY_GIVE_NOTIFY.message().send(player, replacer -> replacer
         });
     }
 
-    public void publishPlayerNames(@NotNull Set<String> playerNames) {
+    private void applyRewardBroadcast(@NotNull JsonObject data) {
+        String playerName = data.get("playerName").getAsString();
+        String displayName = data.get("displayName").getAsString();
+        String crateId = data.get("crateId").getAsString();
+
+        Map<String, Integer> rewards = new LinkedHashMap<>();
+        data.getAsJsonObject("rewards").entrySet().forEach(entry -> rewards.put(entry.getKey(), entry.getValue().getAsInt()));
+
+        this.plugin.runTask(task -> {
+            Crate crate = this.plugin.getCrateManager().getCrateById(crateId);
+            if (crate == null) return;
+
+            this.plugin.getRewardBroadcaster().broadcastRemote(playerName, displayName, crate, rewards);
+        });
+    }
+
+    /* =========================
+       Presence
+       ========================= */
+
+    public void publishPresenceJoin(@NotNull Player player) {
         if (!isActive()) return;
 
-        JsonObject data = new JsonObject();
-        JsonArray namesArray = new JsonArray();
-        playerNames.forEach(namesArray::add);
-        data.add("playerNames", namesArray);
-        data.addProperty("timestamp", System.currentTimeMillis());
+        JsonObject d = new JsonObject();
+        d.addProperty("playerId", player.getUniqueId().toString());
+        d.addProperty("playerName", player.getName());
+
+        publish("PRESENCE_JOIN", d);
+    }
+
+    public void publishPresenceQuit(@NotNull Player player) {
+        if (!isActive()) return;
+
+        JsonObject d = new JsonObject();
+        d.addProperty("playerId", player.getUniqueId().toString());
 
-        publish("PLAYER_NAMES_UPDATE", data);
+        publish("PRESENCE_QUIT", d);
     }
 
-    private void syncPlayerNames() {
+    /**
+     * Sends the full list of local players, either to a single node or to everyone.
+     */
+    private void publishPresenceSnapshot(@Nullable String targetNode) {
         if (!isActive()) return;
 
-        Set<String> localPlayerNames = new HashSet<>();
+        JsonArray players = new JsonArray();
         for (Player player : Bukkit.getOnlinePlayers()) {
-            localPlayerNames.add(player.getName());
+            JsonObject entry = new JsonObject();
+            entry.addProperty("id", player.getUniqueId().toString());
+            entry.addProperty("name", player.getName());
+            players.add(entry);
         }
 
-        if (!localPlayerNames.isEmpty()) {
-            publishPlayerNames(localPlayerNames);
-        }
+        JsonObject d = new JsonObject();
+        d.add("players", players);
+
+        publishTo(targetNode, "PRESENCE_SNAPSHOT", d);
     }
 
-    private void applyPlayerNamesUpdate(@NotNull JsonObject data) {
-        JsonArray namesArray = data.getAsJsonArray("playerNames");
+    private void heartbeat() {
+        if (!isActive()) return;
 
-        synchronized (this.crossServerPlayerNames) {
-            this.crossServerPlayerNames.clear();
+        JsonObject d = new JsonObject();
+        d.addProperty("count", Bukkit.getOnlinePlayers().size());
+        publish("PRESENCE_HEARTBEAT", d);
 
-            for (int i = 0; i < namesArray.size(); i++) {
-                String playerName = namesArray.get(i).getAsString();
-                this.crossServerPlayerNames.add(playerName);
-            }
+        int expired = this.presence.expire(Math.max(1L, Config.REDIS_PRESENCE_TTL.get()) * 1000L);
+        if (expired > 0) {
+            this.plugin.info("Removed " + expired + " Redis node(s) without heartbeat from player presence.");
         }
     }
 
-    @NotNull
-    public Set<String> getAllPlayerNames() {
-        Set<String> allNames = new HashSet<>();
+    private void applyPresenceJoin(@NotNull String origin, @NotNull JsonObject data) {
+        UUID playerId = UUID.fromString(data.get("playerId").getAsString());
+        String playerName = data.get("playerName").getAsString();
 
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            allNames.add(player.getName());
-        }
+        this.presence.join(origin, playerId, playerName);
+    }
+
+    private void applyPresenceQuit(@NotNull String origin, @NotNull JsonObject data) {
+        UUID playerId = UUID.fromString(data.get("playerId").getAsString());
 
-        synchronized (this.crossServerPlayerNames) {
-            allNames.addAll(this.crossServerPlayerNames);
+        this.presence.quit(origin, playerId);
+    }
+
+    private void applyPresenceHeartbeat(@NotNull String origin, @NotNull JsonObject data) {
+        int count = data.get("count").getAsInt();
+
+        if (this.presence.heartbeat(origin, count)) {
+            publishTo(origin, "PRESENCE_REQUEST", new JsonObject());
         }
+    }
+
+    private void applyPresenceSnapshot(@NotNull String origin, @NotNull JsonObject data) {
+        Map<UUID, String> players = new HashMap<>();
 
-        return allNames;
+        data.getAsJsonArray("players").forEach(element -> {
+            JsonObject entry = element.getAsJsonObject();
+            players.put(UUID.fromString(entry.get("id").getAsString()), entry.get("name").getAsString());
+        });
+
+        this.presence.snapshot(origin, players);
+    }
+
+    @NotNull
+    public PresenceRegistry getPresence() {
+        return this.presence;
+    }
+
+    /**
+     * Returns names of players online on other nodes that start with the given prefix.
+     */
+    @NotNull
+    public List<String> completePlayerNames(@NotNull String prefix, int limit) {
+        return this.presence.complete(prefix, limit);
     }
-}
\ No newline at end of file
+}
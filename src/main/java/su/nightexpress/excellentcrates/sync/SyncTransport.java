@@ -0,0 +1,12 @@
+package su.nightexpress.excellentcrates.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Delivers encoded sync messages to a channel. The plugin always uses Redis, other transports
+ * are used to run several nodes in a single process.
+ */
+interface SyncTransport {
+
+    void publish(@NotNull String channel, @NotNull String message) throws Exception;
+}
@@ -0,0 +1,200 @@
+package su.nightexpress.excellentcrates.util.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.nightcore.config.FileConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Writes config snapshots to disk on a dedicated thread. A snapshot is a detached config filled on the thread
+ * that owns the object, so serialization never reads live objects.
+ * <p>
+ * Snapshot values are written into the config loaded from the file, same as a regular save: paths removed from the snapshot
+ * are removed from the file, other keys and comments of the file are kept, including unknown keys inside written sections. Files are written to a temporary file first and then moved over the target,
+ * so a crash can not leave a half-written file. If a file is submitted again before it was written, only the newest
+ * snapshot is written. Writes of the same file never run at the same time and an older snapshot never replaces a newer one.
+ */
+public class AsyncConfigWriter {
+
+    private final CratesPlugin            plugin;
+    private final Map<Path, PendingWrite> pending;
+    private final Map<Path, FileState>    states;
+    private final BlockingQueue<Path>     queue;
+    private final AtomicLong              sequence;
+
+    private volatile boolean running;
+    private Thread           thread;
+
+    public AsyncConfigWriter(@NotNull CratesPlugin plugin) {
+        this.plugin = plugin;
+        this.pending = new ConcurrentHashMap<>();
+        this.states = new ConcurrentHashMap<>();
+        this.queue = new LinkedBlockingQueue<>();
+        this.sequence = new AtomicLong();
+    }
+
+    /**
+     * Creates an empty config bound to the given file, without reading it. Fill it and pass to {@link #submit}.
+     */
+    @NotNull
+    public static FileConfig createSnapshot(@NotNull Path path) {
+        return new SnapshotFileConfig(path.toFile(), Collections.emptyMap());
+    }
+
+    public void start() {
+        if (this.running) return;
+
+        this.running = true;
+        this.thread = new Thread(this::run, "ExcellentCrates-ConfigWriter");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stops the writer thread after all submitted snapshots are written.
+     */
+    public void shutdown() {
+        if (!this.running) return;
+
+        this.running = false;
+        try {
+            this.thread.join(10000L);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Thread did not finish in time or was not started properly, do not lose the data.
+        this.pending.keySet().forEach(this::writePending);
+    }
+
+    /**
+     * Queues the snapshot for writing. The callback is called on the writer thread with the result,
+     * it is dropped if the snapshot is replaced by a newer one before it was written.
+     */
+    public void submit(@NotNull Path path, @NotNull FileConfig snapshot, @Nullable Consumer<Boolean> callback) {
+        long order = this.sequence.incrementAndGet();
+        if (!this.running) {
+            boolean result = this.write(path, snapshot, order);
+            if (callback != null) callback.accept(result);
+            return;
+        }
+
+        if (this.pending.put(path, new PendingWrite(snapshot, callback, order)) == null) {
+            this.queue.offer(path);
+        }
+    }
+
+    /**
+     * Writes the snapshot on the calling thread, replacing a pending one if present. Waits if the writer thread
+     * is writing the same file at the moment.
+     */
+    public boolean writeNow(@NotNull Path path, @NotNull FileConfig snapshot) {
+        long order = this.sequence.incrementAndGet();
+        this.pending.remove(path);
+        return this.write(path, snapshot, order);
+    }
+
+    private void run() {
+        while (this.running || !this.queue.isEmpty()) {
+            Path path;
+            try {
+                path = this.queue.poll(1L, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (path == null) continue;
+
+            this.writePending(path);
+        }
+    }
+
+    private void writePending(@NotNull Path path) {
+        PendingWrite write = this.pending.remove(path);
+        if (write == null) return;
+
+        boolean result = this.write(path, write.snapshot, write.order);
+        if (write.callback != null) write.callback.accept(result);
+    }
+
+    /**
+     * @return False if the file could not be written. A snapshot older than the one already written is skipped
+     * and counts as written, as the file has newer data.
+     */
+    private boolean write(@NotNull Path path, @NotNull FileConfig snapshot, long order) {
+        FileState state = this.states.computeIfAbsent(path, k -> new FileState());
+        synchronized (state) {
+            if (order < state.writtenOrder) return true;
+
+            boolean result = this.writeFile(path, snapshot);
+            if (result) state.writtenOrder = order;
+            return result;
+        }
+    }
+
+    private boolean writeFile(@NotNull Path path, @NotNull FileConfig snapshot) {
+        try {
+            FileConfig config = FileConfig.load(path);
+            if (snapshot instanceof SnapshotFileConfig snapshotConfig) {
+                snapshotConfig.getRemovedPaths().forEach(removed -> config.set(removed, null));
+            }
+            for (String key : snapshot.getKeys(false)) {
+                copy(snapshot, config, key);
+            }
+
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.writeString(temp, config.saveToString(), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException exception) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        }
+        catch (IOException | RuntimeException exception) {
+            this.plugin.error("Could not save file '" + path + "': " + exception.getMessage());
+            return false;
+        }
+    }
+
+    private static void copy(@NotNull ConfigurationSection from, @NotNull ConfigurationSection to, @NotNull String key) {
+        Object value = from.get(key);
+        if (value instanceof ConfigurationSection section) {
+            // Existing section is kept, so its comments and keys the snapshot does not know about are not lost.
+            ConfigurationSection existing = to.getConfigurationSection(key);
+            ConfigurationSection target = existing == null ? to.createSection(key) : existing;
+            section.getKeys(false).forEach(child -> copy(section, target, child));
+        }
+        else {
+            to.set(key, value);
+        }
+    }
+
+    private record PendingWrite(@NotNull FileConfig snapshot, @Nullable Consumer<Boolean> callback, long order) {
+
+    }
+
+    private static class FileState {
+
+        private long writtenOrder;
+    }
+}
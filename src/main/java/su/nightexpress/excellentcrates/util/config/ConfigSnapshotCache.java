@@ -0,0 +1,281 @@
+package su.nightexpress.excellentcrates.util.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.nightcore.config.FileConfig;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary cache of parsed config files. Each entry holds the value tree of a file together with its modification
+ * time, size and content hash, so unchanged files can be loaded without YAML parsing.
+ * <p>
+ * Files with values other than sections, lists, strings, numbers and booleans are not cached.
+ */
+public class ConfigSnapshotCache {
+
+    private static final int MAGIC   = 0x45435343;
+    private static final int VERSION = 1;
+
+    private static final byte TYPE_NULL    = 0;
+    private static final byte TYPE_STRING  = 1;
+    private static final byte TYPE_INT     = 2;
+    private static final byte TYPE_LONG    = 3;
+    private static final byte TYPE_DOUBLE  = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+    private static final byte TYPE_LIST    = 6;
+    private static final byte TYPE_MAP     = 7;
+
+    private final CratesPlugin       plugin;
+    private final Path               path;
+    private final Map<String, Entry> entries;
+
+    private volatile boolean changed;
+
+    public ConfigSnapshotCache(@NotNull CratesPlugin plugin, @NotNull String name) {
+        this.plugin = plugin;
+        this.path = plugin.getDataFolder().toPath().resolve(".cache").resolve(name + ".bin");
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    public void read() {
+        this.entries.clear();
+        this.changed = false;
+        if (!Files.exists(this.path)) return;
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.path)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                this.changed = true;
+                return;
+            }
+
+            int count = input.readInt();
+            for (int index = 0; index < count; index++) {
+                String key = input.readUTF();
+                long modified = input.readLong();
+                long size = input.readLong();
+                long hash = input.readLong();
+                @SuppressWarnings("unchecked")
+                Map<String, Object> tree = (Map<String, Object>) readValue(input);
+
+                this.entries.put(key, new Entry(modified, size, hash, tree));
+            }
+        }
+        catch (IOException | RuntimeException exception) {
+            this.plugin.warn("Could not read config cache '" + this.path.getFileName() + "', it will be rebuilt: " + exception.getMessage());
+            this.entries.clear();
+            this.changed = true;
+        }
+    }
+
+    public void write() {
+        if (!this.changed) return;
+
+        Path temp = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(this.path.getParent());
+
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(this.entries.size());
+
+                for (Map.Entry<String, Entry> mapEntry : this.entries.entrySet()) {
+                    Entry entry = mapEntry.getValue();
+                    output.writeUTF(mapEntry.getKey());
+                    output.writeLong(entry.modified);
+                    output.writeLong(entry.size);
+                    output.writeLong(entry.hash);
+                    writeValue(output, entry.tree);
+                }
+            }
+
+            Files.move(temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.changed = false;
+        }
+        catch (IOException exception) {
+            this.plugin.warn("Could not write config cache '" + this.path.getFileName() + "': " + exception.getMessage());
+        }
+    }
+
+    /**
+     * @return Config filled from the cache, or null if the file is not cached or was changed since.
+     */
+    @Nullable
+    public FileConfig load(@NotNull File file) {
+        Entry entry = this.entries.get(this.getKey(file));
+        if (entry == null) return null;
+
+        try {
+            Path filePath = file.toPath();
+            if (Files.getLastModifiedTime(filePath).toMillis() != entry.modified || Files.size(filePath) != entry.size) return null;
+            if (hash(Files.readAllBytes(filePath)) != entry.hash) return null;
+        }
+        catch (IOException exception) {
+            return null;
+        }
+
+        return new SnapshotFileConfig(file, entry.tree);
+    }
+
+    /**
+     * Stores current contents of the config. Call it after the config was loaded (and possibly saved by migrations).
+     */
+    public void store(@NotNull File file, @NotNull FileConfig config) {
+        String key = this.getKey(file);
+
+        try {
+            Map<String, Object> tree = toTree(config);
+
+            Path filePath = file.toPath();
+            byte[] bytes = Files.readAllBytes(filePath);
+            long modified = Files.getLastModifiedTime(filePath).toMillis();
+
+            this.entries.put(key, new Entry(modified, bytes.length, hash(bytes), tree));
+        }
+        catch (IOException | UnsupportedOperationException exception) {
+            this.entries.remove(key);
+        }
+        this.changed = true;
+    }
+
+    /**
+     * Drops entries of files that are not in the given list (deleted or renamed).
+     */
+    public void retain(@NotNull Collection<File> files) {
+        Set<String> keys = new HashSet<>();
+        files.forEach(file -> keys.add(this.getKey(file)));
+
+        if (this.entries.keySet().retainAll(keys)) {
+            this.changed = true;
+        }
+    }
+
+    @NotNull
+    private String getKey(@NotNull File file) {
+        return this.plugin.getDataFolder().toPath().relativize(file.toPath()).toString();
+    }
+
+    private static long hash(byte[] bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    @NotNull
+    private static Map<String, Object> toTree(@NotNull ConfigurationSection section) {
+        Map<String, Object> tree = new LinkedHashMap<>();
+        section.getValues(false).forEach((key, value) -> tree.put(key, toTreeValue(value)));
+        return tree;
+    }
+
+    private static Object toTreeValue(Object value) {
+        if (value instanceof ConfigurationSection section) return toTree(section);
+        if (value instanceof List<?> list) {
+            List<Object> result = new ArrayList<>(list.size());
+            list.forEach(element -> result.add(toTreeValue(element)));
+            return result;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            map.forEach((key, element) -> result.put(String.valueOf(key), toTreeValue(element)));
+            return result;
+        }
+        if (value == null || value instanceof String || value instanceof Integer || value instanceof Long ||
+            value instanceof Double || value instanceof Boolean) {
+            return value;
+        }
+        throw new UnsupportedOperationException("Unsupported value type: " + value.getClass().getName());
+    }
+
+    private static void writeValue(@NotNull DataOutputStream output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(TYPE_NULL);
+        }
+        else if (value instanceof String string) {
+            // writeUTF is limited to 64 KB, Base64 item data can be longer.
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            output.writeByte(TYPE_STRING);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+        else if (value instanceof Integer number) {
+            output.writeByte(TYPE_INT);
+            output.writeInt(number);
+        }
+        else if (value instanceof Long number) {
+            output.writeByte(TYPE_LONG);
+            output.writeLong(number);
+        }
+        else if (value instanceof Double number) {
+            output.writeByte(TYPE_DOUBLE);
+            output.writeDouble(number);
+        }
+        else if (value instanceof Boolean bool) {
+            output.writeByte(TYPE_BOOLEAN);
+            output.writeBoolean(bool);
+        }
+        else if (value instanceof List<?> list) {
+            output.writeByte(TYPE_LIST);
+            output.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(output, element);
+            }
+        }
+        else if (value instanceof Map<?, ?> map) {
+            output.writeByte(TYPE_MAP);
+            output.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                output.writeUTF(String.valueOf(entry.getKey()));
+                writeValue(output, entry.getValue());
+            }
+        }
+        else throw new IOException("Unsupported value type: " + value.getClass().getName());
+    }
+
+    private static Object readValue(@NotNull DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_STRING -> {
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                yield new String(bytes, StandardCharsets.UTF_8);
+            }
+            case TYPE_INT -> input.readInt();
+            case TYPE_LONG -> input.readLong();
+            case TYPE_DOUBLE -> input.readDouble();
+            case TYPE_BOOLEAN -> input.readBoolean();
+            case TYPE_LIST -> {
+                int size = input.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int index = 0; index < size; index++) {
+                    list.add(readValue(input));
+                }
+                yield list;
+            }
+            case TYPE_MAP -> {
+                int size = input.readInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int index = 0; index < size; index++) {
+                    map.put(input.readUTF(), readValue(input));
+                }
+                yield map;
+            }
+            default -> throw new IOException("Unknown value type: " + type);
+        };
+    }
+
+    private record Entry(long modified, long size, long hash, @NotNull Map<String, Object> tree) {
+
+    }
+}
@@ -0,0 +1,133 @@
+package su.nightexpress.excellentcrates.util.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.config.Config;
+import su.nightexpress.nightcore.config.FileConfig;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Loads a set of config-backed objects using a bounded worker pool. Files are sorted by path and results are
+ * returned in the same order regardless of which worker finished first, so registration stays deterministic.
+ * Objects that failed to load are reported and left out.
+ */
+public class ParallelConfigLoader<T> {
+
+    private final CratesPlugin              plugin;
+    private final String                    type;
+    private final Function<File, T>         factory;
+    private final BiConsumer<T, FileConfig> loader;
+    private final ConfigSnapshotCache       cache;
+
+    public ParallelConfigLoader(@NotNull CratesPlugin plugin,
+                                @NotNull String type,
+                                @NotNull Function<File, T> factory,
+                                @NotNull BiConsumer<T, FileConfig> loader) {
+        this.plugin = plugin;
+        this.type = type;
+        this.factory = factory;
+        this.loader = loader;
+        this.cache = Config.CONFIG_SNAPSHOT_CACHE.get() ? new ConfigSnapshotCache(plugin, type.toLowerCase()) : null;
+    }
+
+    @NotNull
+    public List<T> loadAll(@NotNull List<File> source) {
+        List<File> files = new ArrayList<>(source);
+        files.sort(Comparator.comparing(File::getPath));
+
+        if (this.cache != null) this.cache.read();
+
+        List<T> loaded = new ArrayList<>(files.size());
+        int threads = Math.min(getThreads(), files.size());
+        boolean completed = true;
+
+        if (threads <= 1) {
+            files.forEach(file -> {
+                T object = this.loadFile(file);
+                if (object != null) loaded.add(object);
+            });
+        }
+        else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads, createThreadFactory(this.type));
+            try {
+                List<Future<T>> futures = new ArrayList<>(files.size());
+                files.forEach(file -> futures.add(executor.submit(() -> this.loadFile(file))));
+
+                for (int index = 0; index < futures.size(); index++) {
+                    try {
+                        T object = futures.get(index).get();
+                        if (object != null) loaded.add(object);
+                    }
+                    catch (ExecutionException exception) {
+                        // Errors are not caught by loadFile, other files are still loaded.
+                        this.plugin.error(this.type + " '" + files.get(index).getPath() + "' can not be loaded.");
+                        exception.getCause().printStackTrace();
+                    }
+                }
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                completed = false;
+            }
+            finally {
+                executor.shutdownNow();
+            }
+        }
+
+        // Do not drop cached files that were not loaded this time.
+        if (this.cache != null && completed) {
+            this.cache.retain(files);
+            this.cache.write();
+        }
+        return loaded;
+    }
+
+    @Nullable
+    private T loadFile(@NotNull File file) {
+        try {
+            T object = this.factory.apply(file);
+
+            FileConfig config = this.cache == null ? null : this.cache.load(file);
+            boolean cached = config != null;
+            if (config == null) config = FileConfig.load(file.toPath());
+
+            this.loader.accept(object, config);
+
+            if (this.cache != null && !cached) {
+                this.cache.store(file, config);
+            }
+            return object;
+        }
+        catch (RuntimeException exception) {
+            this.plugin.error(this.type + " '" + file.getPath() + "' can not be loaded.");
+            exception.printStackTrace();
+            return null;
+        }
+    }
+
+    private static int getThreads() {
+        int threads = Config.CONFIG_LOADER_THREADS.get();
+        if (threads > 0) return threads;
+
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    @NotNull
+    private static ThreadFactory createThreadFactory(@NotNull String type) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "ExcellentCrates-" + type + "-Loader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package su.nightexpress.excellentcrates.util.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.nightcore.config.FileConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * File config filled from a cached value tree instead of parsing YAML. Behaves as a regular {@link FileConfig}
+ * afterwards, later reloads read the file as usual.
+ */
+class SnapshotFileConfig extends FileConfig {
+
+    private final Set<String> removedPaths;
+
+    private boolean             constructed;
+    private Map<String, Object> snapshot;
+
+    SnapshotFileConfig(@NotNull File file, @NotNull Map<String, Object> snapshot) {
+        super(file); // Calls load() before fields are set, skipped below.
+        this.removedPaths = new LinkedHashSet<>();
+        this.constructed = true;
+        this.snapshot = snapshot;
+        this.load();
+        this.snapshot = null;
+    }
+
+    /**
+     * @return Paths removed from this config after it was created, in order of removal.
+     */
+    @NotNull
+    Set<String> getRemovedPaths() {
+        return this.removedPaths;
+    }
+
+    @Override
+    public boolean remove(@NotNull String path) {
+        if (this.constructed) this.removedPaths.add(path);
+        return super.remove(path);
+    }
+
+    @Override
+    public void set(@NotNull String path, Object value) {
+        if (value == null && this.constructed) this.removedPaths.add(path);
+        super.set(path, value);
+    }
+
+    @Override
+    public void load() {
+        if (!this.constructed) return;
+
+        if (this.snapshot != null) {
+            fill(this, this.snapshot);
+        }
+        // Resets the 'changed' flag set by filling, the file itself is not parsed (see below).
+        super.load();
+    }
+
+    @Override
+    public void load(@NotNull Reader reader) throws IOException, InvalidConfigurationException {
+        if (this.snapshot != null) return;
+
+        super.load(reader);
+    }
+
+    private static void fill(@NotNull ConfigurationSection section, @NotNull Map<String, Object> values) {
+        values.forEach((key, value) -> {
+            if (value instanceof Map<?, ?> map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> children = (Map<String, Object>) map;
+                fill(section.createSection(key), children);
+            }
+            else {
+                section.set(key, copy(value));
+            }
+        });
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(element -> copy.add(copy(element)));
+            return copy;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            map.forEach((key, element) -> copy.put(key, copy(element)));
+            return copy;
+        }
+        return value;
+    }
+}
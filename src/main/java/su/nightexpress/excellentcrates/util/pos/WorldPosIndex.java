@@ -0,0 +1,240 @@
+package su.nightexpress.excellentcrates.util.pos;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Block position to value index, split by world. Each world is stored as an immutable open-addressing table
+ * keyed by packed block coordinates, and published through a volatile field.
+ * <p>
+ * Lookups do not lock or allocate and can be done from any thread (e.g. Folia region threads).
+ * Changes only mark their worlds as outdated, tables are rebuilt once on the next lookup. So loading many positions
+ * one by one costs a single rebuild per world instead of one per position.
+ */
+public class WorldPosIndex<T> {
+
+    private final Map<String, Map<WorldPos, T>> entries;
+    private final Set<String>                   outdated;
+
+    private volatile Map<String, WorldTable<T>> worlds;
+    private volatile boolean                    dirty;
+
+    public WorldPosIndex() {
+        this.entries = new HashMap<>();
+        this.outdated = new HashSet<>();
+        this.worlds = Collections.emptyMap();
+    }
+
+    /**
+     * Packs block coordinates into a single long: 26 bits for X and Z, 12 bits for Y.
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static long packChunk(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    @Nullable
+    public T get(@NotNull Block block) {
+        return this.get(block.getWorld().getName(), block.getX(), block.getY(), block.getZ());
+    }
+
+    @Nullable
+    public T get(@NotNull Location location) {
+        World world = location.getWorld();
+        if (world == null) return null;
+
+        return this.get(world.getName(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    @Nullable
+    public T get(@NotNull WorldPos pos) {
+        return this.get(pos.getWorldName(), pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    @Nullable
+    public T get(@NotNull String worldName, int x, int y, int z) {
+        WorldTable<T> table = this.getTable(worldName);
+        return table == null ? null : table.values.get(pack(x, y, z));
+    }
+
+    /**
+     * @return Positions stored in the given chunk, empty list if there are none.
+     */
+    @NotNull
+    public List<WorldPos> getInChunk(@NotNull String worldName, int chunkX, int chunkZ) {
+        WorldTable<T> table = this.getTable(worldName);
+        if (table == null) return Collections.emptyList();
+
+        WorldPos[] positions = table.chunks.get(packChunk(chunkX, chunkZ));
+        return positions == null ? Collections.emptyList() : Arrays.asList(positions);
+    }
+
+    public boolean hasInChunk(@NotNull String worldName, int chunkX, int chunkZ) {
+        WorldTable<T> table = this.getTable(worldName);
+        return table != null && table.chunks.get(packChunk(chunkX, chunkZ)) != null;
+    }
+
+    public int size() {
+        if (this.dirty) this.rebuildOutdated();
+
+        return this.worlds.values().stream().mapToInt(table -> table.values.size).sum();
+    }
+
+    public synchronized void put(@NotNull WorldPos pos, @NotNull T value) {
+        this.getEntries(pos.getWorldName()).put(pos, value);
+        this.markOutdated(pos.getWorldName());
+    }
+
+    public synchronized void putAll(@NotNull Collection<WorldPos> positions, @NotNull T value) {
+        positions.forEach(pos -> {
+            this.getEntries(pos.getWorldName()).put(pos, value);
+            this.markOutdated(pos.getWorldName());
+        });
+    }
+
+    public synchronized void remove(@NotNull WorldPos pos) {
+        Map<WorldPos, T> entries = this.entries.get(pos.getWorldName());
+        if (entries == null || entries.remove(pos) == null) return;
+
+        this.markOutdated(pos.getWorldName());
+    }
+
+    public synchronized void removeAll(@NotNull Collection<WorldPos> positions) {
+        positions.forEach(this::remove);
+    }
+
+    /**
+     * Removes all positions that point to the given value (compared by reference).
+     */
+    public synchronized void removeValue(@NotNull T value) {
+        this.entries.forEach((worldName, entries) -> {
+            if (entries.values().removeIf(other -> other == value)) {
+                this.markOutdated(worldName);
+            }
+        });
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+        this.outdated.clear();
+        this.worlds = Collections.emptyMap();
+        this.dirty = false;
+    }
+
+    @Nullable
+    private WorldTable<T> getTable(@NotNull String worldName) {
+        if (this.dirty) this.rebuildOutdated();
+
+        return this.worlds.get(worldName);
+    }
+
+    @NotNull
+    private Map<WorldPos, T> getEntries(@NotNull String worldName) {
+        return this.entries.computeIfAbsent(worldName, k -> new HashMap<>());
+    }
+
+    private void markOutdated(@NotNull String worldName) {
+        this.outdated.add(worldName);
+        this.dirty = true;
+    }
+
+    private synchronized void rebuildOutdated() {
+        if (!this.dirty) return;
+
+        Map<String, WorldTable<T>> worlds = new HashMap<>(this.worlds);
+        this.outdated.forEach(worldName -> {
+            Map<WorldPos, T> entries = this.entries.get(worldName);
+            if (entries == null || entries.isEmpty()) {
+                this.entries.remove(worldName);
+                worlds.remove(worldName);
+            }
+            else {
+                worlds.put(worldName, createTable(entries));
+            }
+        });
+        this.outdated.clear();
+
+        this.worlds = worlds;
+        this.dirty = false;
+    }
+
+    @NotNull
+    private static <T> WorldTable<T> createTable(@NotNull Map<WorldPos, T> entries) {
+        LongTable<T> values = new LongTable<>(entries.size());
+        Map<Long, List<WorldPos>> chunks = new HashMap<>();
+
+        entries.forEach((pos, value) -> {
+            values.put(pack(pos.getX(), pos.getY(), pos.getZ()), value);
+            chunks.computeIfAbsent(packChunk(pos.getX() >> 4, pos.getZ() >> 4), k -> new ArrayList<>()).add(pos);
+        });
+
+        LongTable<WorldPos[]> chunkTable = new LongTable<>(chunks.size());
+        chunks.forEach((key, list) -> chunkTable.put(key, list.toArray(new WorldPos[0])));
+
+        return new WorldTable<>(values, chunkTable);
+    }
+
+    private record WorldTable<T>(@NotNull LongTable<T> values, @NotNull LongTable<WorldPos[]> chunks) {
+
+    }
+
+    /**
+     * Minimal open-addressing long to object map with linear probing. Filled once on creation, then only read.
+     */
+    private static class LongTable<V> {
+
+        private final long[]   keys;
+        private final Object[] values;
+        private final int      mask;
+
+        private int size;
+
+        LongTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected * 2 - 1)) << 1;
+
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private static int mix(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32));
+        }
+
+        void put(long key, @NotNull V value) {
+            int index = mix(key) & this.mask;
+            while (this.values[index] != null) {
+                if (this.keys[index] == key) {
+                    this.values[index] = value;
+                    return;
+                }
+                index = (index + 1) & this.mask;
+            }
+
+            this.keys[index] = key;
+            this.values[index] = value;
+            this.size++;
+        }
+
+        @Nullable
+        @SuppressWarnings("unchecked")
+        V get(long key) {
+            int index = mix(key) & this.mask;
+            Object value;
+            while ((value = this.values[index]) != null) {
+                if (this.keys[index] == key) return (V) value;
+                index = (index + 1) & this.mask;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package su.nightexpress.excellentcrates.simulation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * JDBC driver that wraps the SQLite driver and counts executed statements, including every entry of a batch.
+ * Installed in place of the original driver, so the plugin's connection pool picks it for SQLite URLs.
+ */
+public class CountingDriver implements Driver {
+
+    private static final String      URL_PREFIX = "jdbc:sqlite:";
+    private static final Set<String> EXECUTE    = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+    private final Driver     delegate;
+    private final AtomicLong statements;
+
+    private CountingDriver(@NotNull Driver delegate) {
+        this.delegate = delegate;
+        this.statements = new AtomicLong();
+    }
+
+    @NotNull
+    public static CountingDriver install() throws SQLException {
+        Driver original = DriverManager.getDriver(URL_PREFIX);
+        DriverManager.deregisterDriver(original);
+
+        CountingDriver driver = new CountingDriver(original);
+        DriverManager.registerDriver(driver);
+        return driver;
+    }
+
+    public long getStatements() {
+        return this.statements.get();
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        Connection connection = this.delegate.connect(url, info);
+        if (connection == null) return null;
+
+        return this.wrap(Connection.class, connection, (method, result, args) -> {
+            if (result instanceof Statement statement) {
+                Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class :
+                    statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return this.wrap(type, statement, this::countStatement);
+            }
+            return result;
+        });
+    }
+
+    private Object countStatement(@NotNull String method, Object result, Object[] args) {
+        if (EXECUTE.contains(method)) {
+            this.statements.incrementAndGet();
+        }
+        else if (method.equals("executeBatch") || method.equals("executeLargeBatch")) {
+            this.statements.addAndGet(result instanceof int[] counts ? counts.length : ((long[]) result).length);
+        }
+        return result;
+    }
+
+    @NotNull
+    private <T> T wrap(@NotNull Class<T> type, @NotNull T target, @NotNull ResultMapper mapper) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return mapper.map(method.getName(), method.invoke(target, args), args);
+            }
+            catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @Override
+    public boolean acceptsURL(String url) throws SQLException {
+        return this.delegate.acceptsURL(url);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) throws SQLException {
+        return this.delegate.getPropertyInfo(url, info);
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return this.delegate.getMajorVersion();
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return this.delegate.getMinorVersion();
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return this.delegate.jdbcCompliant();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return this.delegate.getParentLogger();
+    }
+
+    private interface ResultMapper {
+
+        Object map(@NotNull String method, Object result, Object[] args);
+    }
+}
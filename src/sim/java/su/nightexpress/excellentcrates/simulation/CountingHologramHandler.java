@@ -0,0 +1,40 @@
+package su.nightexpress.excellentcrates.simulation;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.hologram.HologramHandler;
+import su.nightexpress.excellentcrates.hologram.entity.FakeEntity;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hologram handler that counts packets instead of sending them, as there is no packet library on MockBukkit.
+ * Counts match the amount of packets a real handler would write: spawn and metadata, or metadata only.
+ */
+public class CountingHologramHandler implements HologramHandler {
+
+    private final AtomicLong spawnPackets   = new AtomicLong();
+    private final AtomicLong updatePackets  = new AtomicLong();
+    private final AtomicLong destroyPackets = new AtomicLong();
+
+    @Override
+    public void sendHologramPackets(@NotNull Player player, @NotNull FakeEntity entity, boolean needSpawn, @NotNull String textLine) {
+        if (needSpawn) this.spawnPackets.incrementAndGet();
+        this.updatePackets.incrementAndGet();
+    }
+
+    @Override
+    public void sendDestroyEntityPacket(@NotNull Player player, @NotNull Set<Integer> idList) {
+        this.destroyPackets.incrementAndGet();
+    }
+
+    @Override
+    public void shutdown() {
+
+    }
+
+    public long getPackets() {
+        return this.spawnPackets.get() + this.updatePackets.get() + this.destroyPackets.get();
+    }
+}
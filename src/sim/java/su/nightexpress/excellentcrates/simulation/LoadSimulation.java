@@ -0,0 +1,256 @@
+package su.nightexpress.excellentcrates.simulation;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.ServicePriority;
+import org.jetbrains.annotations.NotNull;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.api.crate.Reward;
+import su.nightexpress.excellentcrates.api.event.CrateOpenEvent;
+import su.nightexpress.excellentcrates.crate.CrateManager;
+import su.nightexpress.excellentcrates.crate.impl.Crate;
+import su.nightexpress.excellentcrates.crate.impl.CrateSource;
+import su.nightexpress.excellentcrates.crate.impl.OpenOptions;
+import su.nightexpress.excellentcrates.crate.impl.Rarity;
+import su.nightexpress.excellentcrates.crate.limit.CooldownMode;
+import su.nightexpress.excellentcrates.crate.limit.LimitValues;
+import su.nightexpress.excellentcrates.crate.reward.impl.CommandReward;
+import su.nightexpress.excellentcrates.hologram.HologramHandler;
+import su.nightexpress.excellentcrates.sync.LoopbackTransport;
+import su.nightexpress.nightcore.NightCore;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the real plugin on MockBukkit under simulated player load and reports tick times and per-opening costs.
+ * <p>
+ * Every tick each player that is not in an opening starts one with the given chance, some of them as mass openings.
+ * All players stand near a crate block, so holograms are shown to and refreshed for everyone. Data is stored in SQLite,
+ * sync runs over {@link LoopbackTransport} with a remote node sending user updates.
+ */
+public class LoadSimulation {
+
+    private static final long   SEED         = 42L;
+    private static final int    WARMUP_TICKS = 200;
+    private static final int    DRAIN_TICKS  = 600;
+    private static final int    REWARDS      = 50;
+    private static final String CRATE_ID     = "simulation";
+
+    private final SimulationSettings settings;
+    private final Random             random;
+    private final AtomicLong         openings;
+
+    public LoadSimulation(@NotNull SimulationSettings settings) {
+        this.settings = settings;
+        this.random = new Random(SEED);
+        this.openings = new AtomicLong();
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimulationSettings settings = SimulationSettings.fromSystemProperties();
+        SimulationResult result = new LoadSimulation(settings).run();
+
+        result.print(System.out);
+        if (settings.output() != null) {
+            result.write(Path.of(settings.output()));
+        }
+        // Connection pool and scheduler threads of the plugin are not always daemon threads.
+        System.exit(0);
+    }
+
+    @NotNull
+    public SimulationResult run() throws Exception {
+        CountingDriver database = CountingDriver.install();
+        CountingHologramHandler holograms = new CountingHologramHandler();
+
+        ServerMock server = MockBukkit.mock();
+        World world = server.addSimpleWorld("world");
+
+        NightCore core = MockBukkit.load(NightCore.class);
+        server.getServicesManager().register(HologramHandler.class, holograms, core, ServicePriority.Normal);
+        server.getPluginManager().registerEvents(new OpeningCounter(), core);
+
+        CratesPlugin plugin = MockBukkit.load(CratesPlugin.class);
+        LoopbackTransport transport = new LoopbackTransport(plugin, plugin.getRedisSyncManager().orElseThrow());
+        transport.connect();
+
+        this.awaitDataLoaded(server, plugin);
+
+        Crate crate = this.createCrate(plugin, world);
+        List<PlayerMock> players = this.createPlayers(server, crate);
+
+        for (int tick = 0; tick < WARMUP_TICKS; tick++) {
+            this.tick(server, plugin, transport, crate, players, null);
+        }
+
+        this.openings.set(0L);
+        long dbStart = database.getStatements();
+        long publishedStart = transport.getPublished();
+        long receivedStart = transport.getReceived();
+        long packetsStart = holograms.getPackets();
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedStart = threads.getThreadAllocatedBytes(threadId);
+        AllocationCounter openAllocations = new AllocationCounter(threads, threadId);
+
+        long[] tickNanos = new long[this.settings.ticks()];
+        for (int tick = 0; tick < tickNanos.length; tick++) {
+            long started = System.nanoTime();
+            this.tick(server, plugin, transport, crate, players, openAllocations);
+            tickNanos[tick] = System.nanoTime() - started;
+        }
+
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedStart;
+        long openings = this.openings.get();
+
+        // Let started openings finish, so their data writes are counted too.
+        for (int tick = 0; tick < DRAIN_TICKS && !plugin.getOpeningManager().getOpenings().isEmpty(); tick++) {
+            server.getScheduler().performOneTick();
+        }
+
+        long dbStatements = database.getStatements() - dbStart;
+        long published = transport.getPublished() - publishedStart;
+        long received = transport.getReceived() - receivedStart;
+        long packets = holograms.getPackets() - packetsStart;
+
+        transport.shutdown();
+        MockBukkit.unmock();
+
+        long dbStatementsWithShutdown = database.getStatements() - dbStart;
+
+        return new SimulationResult(this.settings, openings, tickNanos, allocated, openAllocations.get(),
+            dbStatements, dbStatementsWithShutdown, published, received, packets);
+    }
+
+    private void awaitDataLoaded(@NotNull ServerMock server, @NotNull CratesPlugin plugin) throws InterruptedException {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            if (plugin.getDataManager().isDataLoaded()) return;
+
+            server.getScheduler().performOneTick();
+            Thread.sleep(10L);
+        }
+        throw new IllegalStateException("Plugin data was not loaded in time.");
+    }
+
+    @NotNull
+    private Crate createCrate(@NotNull CratesPlugin plugin, @NotNull World world) {
+        CrateManager crateManager = plugin.getCrateManager();
+        crateManager.createCrate(CRATE_ID);
+
+        Crate crate = crateManager.getCrateById(CRATE_ID);
+        if (crate == null) throw new IllegalStateException("Could not create simulation crate.");
+
+        List<Rarity> rarities = new ArrayList<>(crateManager.getRarities());
+        List<Reward> rewards = new ArrayList<>(REWARDS);
+        for (int index = 0; index < REWARDS; index++) {
+            CommandReward reward = new CommandReward(plugin, crate, "reward_" + index, rarities.get(index % rarities.size()));
+            reward.setWeight(1 + this.random.nextInt(100));
+            if (index % 4 == 0) {
+                reward.setLimits(new LimitValues(true, CooldownMode.CUSTOM, -1, 5, 0L, 3600L));
+            }
+            rewards.add(reward);
+        }
+        crate.setRewards(rewards);
+
+        Location location = new Location(world, 0, 64, 0);
+        world.getBlockAt(location).setType(Material.CHEST);
+        crate.addBlockPosition(location);
+        crate.recreateHologram();
+        return crate;
+    }
+
+    @NotNull
+    private List<PlayerMock> createPlayers(@NotNull ServerMock server, @NotNull Crate crate) {
+        Location center = crate.getBlockPositions().iterator().next().toLocation();
+        if (center == null) throw new IllegalStateException("Simulation crate has no valid position.");
+
+        List<PlayerMock> players = new ArrayList<>(this.settings.players());
+        for (int index = 0; index < this.settings.players(); index++) {
+            PlayerMock player = server.addPlayer();
+            player.teleport(center.clone().add(this.random.nextInt(13) - 6, 1, this.random.nextInt(13) - 6));
+            players.add(player);
+        }
+        return players;
+    }
+
+    private void tick(@NotNull ServerMock server,
+                      @NotNull CratesPlugin plugin,
+                      @NotNull LoopbackTransport transport,
+                      @NotNull Crate crate,
+                      @NotNull List<PlayerMock> players,
+                      AllocationCounter allocations) {
+        CrateManager crateManager = plugin.getCrateManager();
+        CrateSource source = new CrateSource(crate);
+
+        for (PlayerMock player : players) {
+            if (this.random.nextDouble() >= this.settings.openChance()) continue;
+            if (!plugin.getOpeningManager().isOpeningAvailable(player)) continue;
+
+            if (allocations != null) allocations.start();
+            if (this.settings.multiOpen() > 1 && this.random.nextInt(4) == 0) {
+                crateManager.multiOpenCrate(player, source, OpenOptions.ignoreRestrictions(), null, this.settings.multiOpen());
+            }
+            else {
+                crateManager.openCrate(player, source, OpenOptions.ignoreRestrictions(), null);
+            }
+            if (allocations != null) allocations.stop();
+        }
+
+        for (int index = 0; index < this.settings.remoteMessages(); index++) {
+            PlayerMock player = players.get(this.random.nextInt(players.size()));
+            transport.sendUserUpdate(plugin.getUserManager().getOrFetch(player));
+        }
+
+        server.getScheduler().performOneTick();
+    }
+
+    /**
+     * Counts openings that passed all checks and were started.
+     */
+    private class OpeningCounter implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onCrateOpen(CrateOpenEvent event) {
+            openings.incrementAndGet();
+        }
+    }
+
+    private static class AllocationCounter {
+
+        private final com.sun.management.ThreadMXBean threads;
+        private final long                            threadId;
+
+        private long total;
+        private long started;
+
+        AllocationCounter(@NotNull com.sun.management.ThreadMXBean threads, long threadId) {
+            this.threads = threads;
+            this.threadId = threadId;
+        }
+
+        void start() {
+            this.started = this.threads.getThreadAllocatedBytes(this.threadId);
+        }
+
+        void stop() {
+            this.total += this.threads.getThreadAllocatedBytes(this.threadId) - this.started;
+        }
+
+        long get() {
+            return this.total;
+        }
+    }
+}
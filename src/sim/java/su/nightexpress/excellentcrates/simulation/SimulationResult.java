@@ -0,0 +1,86 @@
+package su.nightexpress.excellentcrates.simulation;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Results of a single simulation run. Allocations are measured on the main thread only.
+ */
+public record SimulationResult(@NotNull SimulationSettings settings,
+                               long openings,
+                               long[] tickNanos,
+                               long allocatedBytes,
+                               long openAllocatedBytes,
+                               long dbStatements,
+                               long dbStatementsWithShutdown,
+                               long redisPublished,
+                               long redisReceived,
+                               long hologramPackets) {
+
+    public double tickMillis(double percentile) {
+        long[] sorted = this.tickNanos.clone();
+        Arrays.sort(sorted);
+        if (sorted.length == 0) return 0D;
+
+        int index = (int) Math.ceil(percentile / 100D * sorted.length) - 1;
+        return sorted[Math.clamp(index, 0, sorted.length - 1)] / 1_000_000D;
+    }
+
+    public double perOpening(long value) {
+        return this.openings == 0L ? 0D : (double) value / this.openings;
+    }
+
+    public double perTick(long value) {
+        return this.tickNanos.length == 0 ? 0D : (double) value / this.tickNanos.length;
+    }
+
+    public void print(@NotNull PrintStream out) {
+        out.printf("Players: %d | Ticks: %d | Openings: %d%n", this.settings.players(), this.tickNanos.length, this.openings);
+        out.printf("Tick time (ms): p50 %.3f | p95 %.3f | p99 %.3f | max %.3f%n",
+            this.tickMillis(50), this.tickMillis(95), this.tickMillis(99), this.tickMillis(100));
+        out.printf("Allocated per opening (bytes): %.0f in open calls | %.0f of all main thread work%n",
+            this.perOpening(this.openAllocatedBytes), this.perOpening(this.allocatedBytes));
+        out.printf("DB statements per opening: %.2f | %.2f with shutdown save%n",
+            this.perOpening(this.dbStatements), this.perOpening(this.dbStatementsWithShutdown));
+        out.printf("Redis messages per opening: %.2f published | %d received from remote node%n",
+            this.perOpening(this.redisPublished), this.redisReceived);
+        out.printf("Hologram packets per tick: %.2f%n", this.perTick(this.hologramPackets));
+    }
+
+    public void write(@NotNull Path path) throws IOException {
+        JsonObject tickTime = new JsonObject();
+        tickTime.addProperty("p50", this.tickMillis(50));
+        tickTime.addProperty("p95", this.tickMillis(95));
+        tickTime.addProperty("p99", this.tickMillis(99));
+        tickTime.addProperty("max", this.tickMillis(100));
+
+        JsonObject perOpening = new JsonObject();
+        perOpening.addProperty("allocatedBytesOpen", this.perOpening(this.openAllocatedBytes));
+        perOpening.addProperty("allocatedBytesMainThread", this.perOpening(this.allocatedBytes));
+        perOpening.addProperty("dbStatements", this.perOpening(this.dbStatements));
+        perOpening.addProperty("dbStatementsWithShutdown", this.perOpening(this.dbStatementsWithShutdown));
+        perOpening.addProperty("redisPublished", this.perOpening(this.redisPublished));
+
+        JsonObject root = new JsonObject();
+        root.addProperty("players", this.settings.players());
+        root.addProperty("ticks", this.tickNanos.length);
+        root.addProperty("openChance", this.settings.openChance());
+        root.addProperty("multiOpen", this.settings.multiOpen());
+        root.addProperty("remoteMessages", this.settings.remoteMessages());
+        root.addProperty("openings", this.openings);
+        root.add("tickTimeMillis", tickTime);
+        root.add("perOpening", perOpening);
+        root.addProperty("redisReceived", this.redisReceived);
+        root.addProperty("hologramPacketsPerTick", this.perTick(this.hologramPackets));
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.writeString(path, new GsonBuilder().setPrettyPrinting().create().toJson(root));
+    }
+}
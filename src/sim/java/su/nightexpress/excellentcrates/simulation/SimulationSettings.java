@@ -0,0 +1,27 @@
+package su.nightexpress.excellentcrates.simulation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @param players        Amount of simulated players, all of them near the crate.
+ * @param ticks          Amount of measured ticks, after warmup.
+ * @param openChance     Chance for a player to start an opening each tick, if not in one.
+ * @param multiOpen      Amount of openings in a mass opening, every 4th opening is a mass one. Disabled if 1 or less.
+ * @param remoteMessages Amount of user updates sent by the remote node each tick.
+ * @param output         Path of the JSON report, or null to only print results.
+ */
+public record SimulationSettings(int players, int ticks, double openChance, int multiOpen, int remoteMessages, @Nullable String output) {
+
+    @NotNull
+    public static SimulationSettings fromSystemProperties() {
+        return new SimulationSettings(
+            Integer.getInteger("sim.players", 100),
+            Integer.getInteger("sim.ticks", 1200),
+            Double.parseDouble(System.getProperty("sim.openChance", "0.02")),
+            Integer.getInteger("sim.multiOpen", 5),
+            Integer.getInteger("sim.remoteMessages", 5),
+            System.getProperty("sim.output")
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package su.nightexpress.excellentcrates.sync;
+
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.NotNull;
+import su.nightexpress.excellentcrates.CratesPlugin;
+import su.nightexpress.excellentcrates.user.CrateUser;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stand-in for Redis with a single remote node. Messages published by the plugin are counted and dropped,
+ * messages of the remote node are delivered on a separate thread, like the Redis subscriber thread does.
+ * <p>
+ * Located in the sync package to use package-private transport methods of {@link RedisSyncManager}.
+ */
+public class LoopbackTransport {
+
+    private final RedisSyncManager local;
+    private final RedisSyncManager remote;
+    private final ExecutorService  subscriber;
+    private final AtomicLong       published;
+    private final AtomicLong       received;
+
+    public LoopbackTransport(@NotNull CratesPlugin plugin, @NotNull RedisSyncManager local) {
+        this.local = local;
+        // Never activated, only encodes messages under its own node ID.
+        this.remote = new RedisSyncManager(plugin);
+        this.subscriber = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Simulation-RemoteNode");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.published = new AtomicLong();
+        this.received = new AtomicLong();
+    }
+
+    public void connect() {
+        this.local.activate((channel, message) -> this.published.incrementAndGet());
+    }
+
+    public void shutdown() {
+        this.subscriber.shutdown();
+        try {
+            this.subscriber.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sends the user data as if it was changed on the remote node.
+     */
+    public void sendUserUpdate(@NotNull CrateUser user) {
+        JsonObject data = this.remote.writeUserData(user.getId(), user.getKeysMap(), user.getCrateDataMap());
+        String message = this.remote.encodeMessage(this.remote.createMessage("USER_UPDATE", data));
+
+        this.subscriber.execute(() -> {
+            this.local.handleIncoming(message);
+            this.received.incrementAndGet();
+        });
+    }
+
+    public long getPublished() {
+        return this.published.get();
+    }
+
+    public long getReceived() {
+        return this.received.get();
+    }
+}